@@ -9,6 +9,8 @@ rag/app.py
 
 [주요 기능]
 - POST /classify: 텍스트를 입력받아 담당 기관 분류 결과 반환
+- POST /classify_batch: 텍스트 여러 건을 한 번에 분류 (백엔드 마이크로 배치용, 요청 순서대로 반환)
+  한 건이 실패해도 나머지는 정상 반환, 실패 건은 error 필드에 사유를 담아 반환
 - GET /health: 서버 상태 확인
 
 [시스템 흐름]
@@ -23,11 +25,13 @@ rag/app.py
 from fastapi import FastAPI, HTTPException
 from fastapi.middleware.cors import CORSMiddleware
 from pydantic import BaseModel
+from typing import List, Optional
 from classification_service import classify_complaint
 from milvus_client import connect_milvus
 from logging_config import setup_logging
 import uvicorn
 import os
+import logging
 from fastapi import Response
 from prometheus_client import generate_latest, CONTENT_TYPE_LATEST, Counter, Histogram
 import time
@@ -38,6 +42,7 @@ from fastapi import Request
 
 # 로깅 설정 초기화
 setup_logging()
+logger = logging.getLogger(__name__)
 
 app = FastAPI()
 
@@ -99,6 +104,15 @@ class ComplaintResponse(BaseModel):
     reasoning: str = ""
     sources: list = []
     message: str = "Success"
+    # 배치 응답에서 해당 건 분류 실패 시 사유 (성공 시 None)
+    error: Optional[str] = None
+
+# 배치 입력/응답 모델 (results 는 texts 와 같은 순서)
+class BatchInput(BaseModel):
+    texts: List[str]
+
+class BatchResponse(BaseModel):
+    results: List[ComplaintResponse]
 
 @app.on_event("startup")
 async def startup_event():
@@ -106,12 +120,12 @@ async def startup_event():
     서버 시작 시 실행되는 이벤트 핸들러.
     Milvus 데이터베이스 연결을 시도합니다.
     """
-    print("Startup: Connecting to Milvus...")
+    logger.info("Startup: Connecting to Milvus...")
     try:
         connect_milvus()
-        print("Milvus Connected")
+        logger.info("Milvus Connected")
     except Exception as e:
-        print(f"Failed to connect to Milvus: {e}")
+        logger.error("Failed to connect to Milvus: %s", e)
         # Milvus 연결 실패해도 서버는 유지 (재시도 로직 등 고려 가능)
 
 @app.get("/health")
@@ -126,7 +140,7 @@ async def classify_text(input_data: ComplaintInput):
     """
     민원 텍스트를 입력받아 담당 기관을 분류하는 엔드포인트.
     """
-    print(f"Classification Request: {input_data.text}")
+    logger.info("Classification Request: %s", input_data.text)
     try:
         # 민원 분류 로직 실행
         result_data = classify_complaint(input_data.text)
@@ -141,10 +155,47 @@ async def classify_text(input_data: ComplaintInput):
             sources=result_data.get("sources", [])
         )
     except Exception as e:
-        print(f"Classification Error: {e}")
+        logger.exception("Classification Error: %s", e)
         raise HTTPException(status_code=500, detail=str(e))
 
 
+@app.post("/classify_batch", response_model=BatchResponse)
+def classify_batch(input_data: BatchInput):
+    """
+    민원 텍스트 여러 건을 한 번에 분류하는 엔드포인트.
+    - 백엔드가 동시 요청을 모아 보내므로 HTTP 왕복/직렬화 비용을 배치 단위로 한 번만 부담
+    - 동기 함수로 선언 → FastAPI 스레드풀에서 실행되어 이벤트 루프를 막지 않음
+    - 분류는 하이브리드 검색(BM25 + 벡터 + RRF) 단위라 건별로 수행, 실패는 건별로 격리
+      (한 건의 예외로 배치 전체가 500 이 되면 백엔드가 같은 배치의 다른 요청까지 실패 처리함)
+    """
+    logger.info("Batch Classification Request: %d texts", len(input_data.texts))
+    results = []
+    failed = 0
+    for index, text in enumerate(input_data.texts):
+        try:
+            result_data = classify_complaint(text)
+            results.append(ComplaintResponse(
+                agency_code=result_data["agency_code"],
+                agency_name=result_data["agency_name"],
+                category=result_data.get("category", "기타"),
+                confidence=result_data.get("confidence", 0.0),
+                reasoning=result_data.get("reasoning", ""),
+                sources=result_data.get("sources", [])
+            ))
+        except Exception as e:
+            failed += 1
+            logger.exception("Batch Classification Error: item %d", index)
+            results.append(ComplaintResponse(
+                agency_code=0,
+                agency_name="",
+                category="",
+                message="Error",
+                error=str(e) or type(e).__name__
+            ))
+    if failed:
+        logger.warning("Batch Classification: %d/%d items failed", failed, len(input_data.texts))
+    return BatchResponse(results=results)
+
 
 if __name__ == "__main__":
     uvicorn.run(app, host="0.0.0.0", port=8001)
\ No newline at end of file
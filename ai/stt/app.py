@@ -23,6 +23,11 @@ import tempfile
 from fastapi import Response
 from prometheus_client import generate_latest, CONTENT_TYPE_LATEST, Counter, Histogram
 import time
+import asyncio
+import json
+import numpy as np
+from concurrent.futures import ThreadPoolExecutor
+from fastapi.responses import StreamingResponse
 
 
 
@@ -238,6 +243,13 @@ class UnifiedComplaintManager:
         if not text or not text.strip():
             raise ValueError("음성인식을 다시해주세요.")
 
+        return self.classify_transcript(text)
+
+    def classify_transcript(self, text: str) -> dict:
+        """
+        인식된 텍스트 정리(전처리 + 환각 필터) 후 RAG 기관 분류
+        - 일괄 업로드(process_complaint)와 스트리밍(/stream_voice) 최종 단계 공용
+        """
         cleaned_text = self._preprocess(text)
         
         # 환각 텍스트 필터링
@@ -297,6 +309,11 @@ def metrics():
     return Response(generate_latest(), media_type=CONTENT_TYPE_LATEST)
 
 
+@app.get("/health")
+def health():
+    return {"status": "ok"}
+
+
 # CORS 설정 (React 프론트엔드 등에서의 접근 허용)
 app.add_middleware(
     CORSMiddleware,
@@ -416,6 +433,131 @@ async def upload_voice(
             os.remove(tmp_path)
             logging.info("원본 임시 파일 삭제 완료")
 
+# --- ** 스트리밍 STT (녹음 조각 → 부분 인식 결과 NDJSON) ** ---
+SAMPLE_RATE = 16000
+# 새 오디오가 이만큼 쌓일 때마다 미확정 구간을 다시 인식 (첫 결과까지의 시간을 좌우)
+STREAM_STEP_SEC = float(os.getenv("STT_STREAM_STEP_SEC", "0.8"))
+# 미확정 구간이 이보다 길어지면 마지막 문장을 제외한 앞부분을 확정 (재인식 비용 상한)
+STREAM_WINDOW_SEC = float(os.getenv("STT_STREAM_WINDOW_SEC", "12"))
+# Whisper 추론은 한 번에 하나씩 (모델 공유, 이벤트 루프 비차단)
+WHISPER_EXECUTOR = ThreadPoolExecutor(max_workers=1)
+
+
+def _transcribe_pcm(audio: np.ndarray, beam_size: int) -> list:
+    """16kHz mono float32 오디오 인식 → segments (start/end 는 audio 기준 초)"""
+    result = model.transcribe(
+        audio,
+        language="ko",
+        fp16=torch.cuda.is_available(),
+        beam_size=beam_size,
+        condition_on_previous_text=False,
+        no_speech_threshold=0.6,
+        logprob_threshold=-1.0
+    )
+    return result.get("segments", [])
+
+
+def _ndjson(event: dict) -> bytes:
+    return (json.dumps(event, ensure_ascii=False) + "\n").encode("utf-8")
+
+
+@app.post("/stream_voice")
+async def stream_voice(request: Request):
+    """
+    스트리밍 음성 인식 API (백엔드 SttStreamService 전용)
+    - 요청 본문: 녹음 조각(webm/ogg 등)을 chunked 로 계속 전송, 본문 종료 = 녹음 종료
+    - 조각은 ffmpeg 파이프(잡음 제거 + 16kHz mono PCM)로 바로 넘기고 파일로 모으지 않음
+    - 응답: NDJSON 한 줄씩
+      partial: 지금까지의 전체 텍스트(확정 + 미확정), segment: 새로 확정된 문장,
+      final: 최종 텍스트 + 기관 분류, error: 실패 사유
+    """
+    loop = asyncio.get_running_loop()
+    ffmpeg = await asyncio.create_subprocess_exec(
+        imageio_ffmpeg.get_ffmpeg_exe(),
+        "-loglevel", "error",
+        "-i", "pipe:0",
+        "-af", "afftdn",
+        "-f", "s16le", "-ac", "1", "-ar", str(SAMPLE_RATE),
+        "pipe:1",
+        stdin=asyncio.subprocess.PIPE,
+        stdout=asyncio.subprocess.PIPE
+    )
+
+    async def feed():
+        try:
+            async for chunk in request.stream():
+                if chunk:
+                    ffmpeg.stdin.write(chunk)
+                    await ffmpeg.stdin.drain()
+        finally:
+            ffmpeg.stdin.close()
+
+    async def events():
+        feeder = asyncio.create_task(feed())
+        pcm = bytearray()            # 미확정 구간 PCM (s16le)
+        committed = []               # 확정 문장
+        pending_samples = 0          # 마지막 인식 이후 새로 들어온 샘플 수
+        step = int(STREAM_STEP_SEC * SAMPLE_RATE)
+        try:
+            while True:
+                data = await ffmpeg.stdout.read(SAMPLE_RATE // 5 * 2)  # 약 200ms
+                if not data:
+                    break
+                pcm.extend(data)
+                pending_samples += len(data) // 2
+                if pending_samples < step:
+                    continue
+                pending_samples = 0
+
+                audio = np.frombuffer(bytes(pcm), np.int16).astype(np.float32) / 32768.0
+                # 부분 결과는 속도 우선 (greedy)
+                segments = await loop.run_in_executor(WHISPER_EXECUTOR, _transcribe_pcm, audio, 1)
+
+                if len(audio) > STREAM_WINDOW_SEC * SAMPLE_RATE and len(segments) > 1:
+                    for seg in segments[:-1]:
+                        text = seg["text"].strip()
+                        if text:
+                            committed.append(text)
+                            yield _ndjson({"type": "segment", "text": text})
+                    cut = int(segments[-1]["start"] * SAMPLE_RATE)
+                    del pcm[:cut * 2]
+                    segments = segments[-1:]
+
+                tentative = " ".join(seg["text"].strip() for seg in segments).strip()
+                yield _ndjson({"type": "partial", "text": " ".join(committed + [tentative]).strip()})
+
+            await feeder
+            # 남은 구간은 정확도 우선 (beam 5)
+            if len(pcm) > 0:
+                audio = np.frombuffer(bytes(pcm), np.int16).astype(np.float32) / 32768.0
+                segments = await loop.run_in_executor(WHISPER_EXECUTOR, _transcribe_pcm, audio, 5)
+                committed.extend(seg["text"].strip() for seg in segments if seg["text"].strip())
+
+            text = " ".join(committed)
+            logging.info(f"stream_stt_output: {len(text)} chars")
+            result = await loop.run_in_executor(None, manager.classify_transcript, text)
+            yield _ndjson({
+                "type": "final",
+                "stt_text": result["original_text"],
+                "original_text": result["original_text"],
+                "agency_id": result["agency_id"],
+                "agency": result["agency"],
+                "category": result["category"]
+            })
+        except ValueError as e:
+            yield _ndjson({"type": "error", "message": str(e)})
+        except Exception as e:
+            logging.error(f"스트리밍 인식 실패: {e}")
+            logging.error(traceback.format_exc())
+            yield _ndjson({"type": "error", "message": "음성 인식 처리 중 오류가 발생했습니다."})
+        finally:
+            feeder.cancel()
+            if ffmpeg.returncode is None:
+                ffmpeg.kill()
+
+    return StreamingResponse(events(), media_type="application/x-ndjson")
+
+
 if __name__ == '__main__':
     # 서버 실행 (uvicorn)
     uvicorn.run("app:app", host="127.0.0.1", port=8000, reload=True)
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.safeguard.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 활성화 (알림 재전송 버퍼 정리 등 주기 작업)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
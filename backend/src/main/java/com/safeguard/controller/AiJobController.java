@@ -0,0 +1,113 @@
+package com.safeguard.controller;
+
+import com.safeguard.dto.RagAnalysisRequest;
+import com.safeguard.dto.YoloResponse;
+import com.safeguard.security.CustomUserDetails;
+import com.safeguard.service.RagService;
+import com.safeguard.service.SttService;
+import com.safeguard.service.YoloService;
+import com.safeguard.service.ai.AiJob;
+import com.safeguard.service.ai.AiJobPriority;
+import com.safeguard.service.ai.AiJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 비동기 AI 분석 API
+ * - 접수 시 202 + 작업 정보(jobId, status) 반환, 결과는 GET /{jobId} 폴링 또는 GET /{jobId}/events (SSE)
+ * - 동기 API(/api/yolo/analyze, /api/rag/analyze, /api/stt/transcribe)와 같은 서비스 로직 사용
+ * - 우선순위는 로그인 사용자 역할로 서버가 결정 (AiJobPriority 참고, 클라이언트 지정 불가)
+ * - 동기 API 는 YOLO 분석 실패를 200 + '분석 실패' 로 응답하지만 작업은 FAILED 로 기록
+ */
+@RestController
+@RequestMapping("/api/ai/jobs")
+@RequiredArgsConstructor
+public class AiJobController {
+
+    private final AiJobService aiJobService;
+    private final YoloService yoloService;
+    private final RagService ragService;
+    private final SttService sttService;
+
+    @PostMapping("/yolo")
+    public ResponseEntity<AiJob> submitYolo(@RequestParam("image") MultipartFile image,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        // 업로드 임시 파일은 요청 종료 시 삭제되므로 바이트로 복사해 넘김
+        byte[] bytes = readBytes(image);
+        String filename = image.getOriginalFilename();
+        return accepted(aiJobService.submit("yolo", priorityOf(userDetails), bytes.length, () -> {
+            YoloResponse response = yoloService.analyzeImage(bytes, filename);
+            if (response.isFailed()) {
+                throw new IllegalStateException(response.getMessage());
+            }
+            return response;
+        }));
+    }
+
+    @PostMapping("/rag")
+    public ResponseEntity<AiJob> submitRag(@RequestBody RagAnalysisRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        String text = request.getText();
+        long size = text != null ? text.getBytes(StandardCharsets.UTF_8).length : 0;
+        return accepted(aiJobService.submit("rag", priorityOf(userDetails), size,
+                () -> ragService.analyzeText(text)));
+    }
+
+    @PostMapping("/stt")
+    public ResponseEntity<AiJob> submitStt(@RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        byte[] bytes = readBytes(file);
+        String filename = file.getOriginalFilename();
+        return accepted(aiJobService.submit("stt", priorityOf(userDetails), bytes.length,
+                () -> sttService.transcribe(bytes, filename)));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<AiJob> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(aiJobService.get(jobId));
+    }
+
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String jobId) {
+        return aiJobService.subscribe(jobId);
+    }
+
+    private ResponseEntity<AiJob> accepted(AiJob job) {
+        return ResponseEntity.accepted()
+                .header("Location", "/api/ai/jobs/" + job.getJobId())
+                .body(job);
+    }
+
+    private static AiJobPriority priorityOf(CustomUserDetails userDetails) {
+        if (userDetails == null) {
+            return AiJobPriority.LOW;
+        }
+        boolean citizen = userDetails.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_USER".equals(authority.getAuthority()));
+        return citizen ? AiJobPriority.HIGH : AiJobPriority.NORMAL;
+    }
+
+    private static byte[] readBytes(MultipartFile file) {
+        try {
+            return file.getBytes();
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "업로드 파일을 읽을 수 없습니다.");
+        }
+    }
+}
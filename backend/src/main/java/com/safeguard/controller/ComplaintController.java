@@ -2,15 +2,24 @@ package com.safeguard.controller;
 
 import com.safeguard.dto.ComplaintDTO;
 import com.safeguard.dto.ComplaintStatsDTO;
+import com.safeguard.dto.NearbyComplaintDto;
+import com.safeguard.dto.StoredImage;
+import com.safeguard.dto.UploadSessionRequest;
+import com.safeguard.dto.UploadSessionResponse;
 import com.safeguard.dto.UserDTO;
+import com.safeguard.enums.ComplaintProcessingState;
 import com.safeguard.enums.UserRole;
 import com.safeguard.mapper.ComplaintMapper;
 import com.safeguard.mapper.UserMapper;
 import com.safeguard.security.CustomUserDetails;
+import com.safeguard.service.ComplaintGisService;
 import com.safeguard.service.ComplaintService;
 import com.safeguard.service.FileService;
+import com.safeguard.service.complaint.ComplaintBulkIngestService;
+import com.safeguard.service.storage.UploadSessionService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -22,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +48,9 @@ public class ComplaintController {
     private final ComplaintService complaintService;
     private final FileService fileService;
     private final ObjectMapper objectMapper;
+    private final ComplaintGisService complaintGisService;
+    private final ComplaintBulkIngestService complaintBulkIngestService;
+    private final UploadSessionService uploadSessionService;
 
     /**
      * 민원 목록 조회 (페이징, 검색, 필터링 기능 제공)
@@ -101,6 +114,56 @@ public class ComplaintController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 접수 후 비동기 처리 상태 조회 (이미지 업로드/공간 정보/기관 매핑/보강 완료 여부)
+     * - 작성자, 배정 기관 담당자, 관리자만 조회 가능
+     */
+    @GetMapping("/{id}/processing-state")
+    public ResponseEntity<Map<String, Object>> getProcessingState(
+            @PathVariable Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        UserDTO user = userMapper.findByUserId(userDetails.getUsername())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+        String role = user.getRole() != null ? user.getRole().name() : null;
+
+        return ResponseEntity.ok(complaintService.getProcessingState(id, user.getUserNo(), role,
+                user.getAgencyNo()));
+    }
+
+    /**
+     * 민원 대량 적재 (관리자 전용)
+     * - Content-Type: application/x-ndjson (한 줄에 JSON 하나) 또는 text/csv (첫 줄 헤더)
+     * - 필드: title, content, category 필수 / address, latitude, longitude, status, isPublic,
+     *   createdDate, completedDate, userNo(없으면 요청자), agencyNo, agencyName 선택
+     */
+    @PostMapping(value = "/bulk", consumes = { "application/x-ndjson", "text/csv" })
+    public ResponseEntity<?> bulkIngest(
+            HttpServletRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        UserDTO user = userMapper.findByUserId(userDetails.getUsername())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+        if (user.getRole() != UserRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "관리자만 대량 적재할 수 있습니다."));
+        }
+
+        try {
+            return ResponseEntity.ok(complaintBulkIngestService.ingest(request.getInputStream(),
+                    ComplaintBulkIngestService.Format.fromContentType(request.getContentType()),
+                    user.getUserNo()));
+        } catch (IOException e) {
+            log.error("[BulkIngest] 입력 스트림 처리 실패", e);
+            return ResponseEntity.badRequest().body(Map.of("error", "Bulk ingest failed: " + e.getMessage()));
+        }
+    }
+
     /**
      * 특정 민원 상세 정보 조회 (내 반응/내 글 여부 포함)
      */
@@ -301,7 +364,29 @@ public class ComplaintController {
 
         return ResponseEntity.ok(Map.of(
                 "complaintNo", complaintNo,
-                "message", "민원이 성공적으로 접수되었습니다."));
+                "processingState", ComplaintProcessingState.ACCEPTED.name(),
+                "message", "민원이 성공적으로 접수되었습니다.",
+                "nearbyComplaints", findNearbyComplaints(complaintNo, data)));
+    }
+
+    /**
+     * 등록된 민원 주변의 미처리 민원 조회 (중복 민원 안내용)
+     * - 지연 예산 초과/오류 시 등록 응답에 영향을 주지 않도록 빈 목록 반환
+     */
+    private List<NearbyComplaintDto> findNearbyComplaints(Long complaintNo, Map<String, Object> data) {
+        Object locationObj = data.get("location");
+        if (!(locationObj instanceof Map<?, ?> location)
+                || location.get("lat") == null || location.get("lng") == null) {
+            return List.of();
+        }
+        try {
+            double lat = Double.parseDouble(location.get("lat").toString());
+            double lng = Double.parseDouble(location.get("lng").toString());
+            return complaintGisService.findNearbyForNewComplaint(complaintNo, lat, lng);
+        } catch (Exception e) {
+            log.warn("주변 민원 조회 생략 - ID: {}, 사유: {}", complaintNo, e.getMessage());
+            return List.of();
+        }
     }
 
     /**
@@ -373,11 +458,13 @@ public class ComplaintController {
     public ResponseEntity<Map<String, String>> uploadImage(
             @RequestParam("image") MultipartFile file) {
         try {
-            String imagePath = fileService.storeFile(file);
-            // String imagePath = "/uploads/" + fileName; // S3 Migration: storeFile returns
-            // full URL
+            // 원본 + 상세/썸네일 축소본 (민원 등록 시 세 경로 모두 전달)
+            StoredImage stored = fileService.storeImage(file.getBytes(), file.getOriginalFilename(),
+                    file.getContentType());
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(Map.of("imagePath", imagePath));
+                    .body(Map.of("imagePath", stored.getImagePath(),
+                            "detailPath", stored.getDetailPath(),
+                            "thumbnailPath", stored.getThumbnailPath()));
         } catch (Exception e) {
             log.error("Image upload failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -385,6 +472,29 @@ public class ComplaintController {
         }
     }
 
+    /**
+     * 브라우저 직접 업로드 세션 발급 (presigned PUT, 이미 저장된 내용이면 경로 바로 반환)
+     */
+    @PostMapping("/images/sessions")
+    public ResponseEntity<UploadSessionResponse> createUploadSession(
+            @RequestBody UploadSessionRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        Long userNo = (userDetails != null) ? userDetails.getUserNo() : null;
+        UploadSessionResponse session = uploadSessionService.create(request, userNo);
+        return ResponseEntity.status(HttpStatus.CREATED).body(session);
+    }
+
+    /**
+     * 직접 업로드 완료 확인 (크기/체크섬 검증 후 민원에 첨부할 경로 반환)
+     */
+    @PostMapping("/images/sessions/{uploadId}/complete")
+    public ResponseEntity<UploadSessionResponse> completeUploadSession(
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        Long userNo = (userDetails != null) ? userDetails.getUserNo() : null;
+        return ResponseEntity.ok(uploadSessionService.complete(uploadId, userNo));
+    }
+
     /*
      * ===============================
      * 통계 (대시보드 요약)
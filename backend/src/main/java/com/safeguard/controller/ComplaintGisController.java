@@ -78,4 +78,36 @@ public class ComplaintGisController {
         enforceAgency(req);
         return complaintGisService.listComplaints(req, page, size);
     }
+
+    /**
+     * 오른쪽 목록(커서 기반 무한 스크롤)
+     * - 첫 요청은 cursor 없이, 이후 응답의 nextCursor 를 그대로 전달
+     * - totalElements 는 첫 페이지에서만 cap(기본 1000)까지 계산 ("1000+" 표시용 totalCapped)
+     *
+     * 호출 예:
+     * /api/gis/complaints/cursor?swLat=..&swLng=..&neLat=..&neLng=..&size=20&cursor=...
+     */
+    @GetMapping("/complaints/cursor")
+    public CursorPageResponse<ComplaintListItemDto> listByCursor(
+            @ModelAttribute MapSearchRequest req,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        enforceAgency(req);
+        return complaintGisService.listComplaintsByCursor(req, cursor, size);
+    }
+
+    /**
+     * 주변 미처리 민원 (중복 민원 안내용, KNN)
+     *
+     * 호출 예:
+     * /api/gis/nearby?lat=37.56&lng=126.97&k=5&radius=200
+     */
+    @GetMapping("/nearby")
+    public List<NearbyComplaintDto> nearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) Integer k,
+            @RequestParam(required = false) Integer radius) {
+        return complaintGisService.getNearbyComplaints(lat, lng, k, radius);
+    }
 }
@@ -21,8 +21,23 @@ public class NotificationController {
     private final JwtTokenProvider jwtTokenProvider;
 
     @GetMapping("/subscribe")
-    public SseEmitter subscribe(@RequestParam String token) {
-        return notificationService.subscribe(token);
+    public SseEmitter subscribe(@RequestParam String token,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        // EventSource 자동 재연결은 헤더로, 수동 재연결(새 EventSource)은 쿼리 파라미터로 전달
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return notificationService.subscribe(token, parseEventId(lastEventId));
+    }
+
+    private Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     @GetMapping
@@ -46,6 +61,18 @@ public class NotificationController {
         }
     }
 
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Object>> getUnreadCount(Authentication authentication) {
+        if (authentication == null)
+            return ResponseEntity.status(403).body(Map.of("unreadCount", 0));
+        try {
+            Long userNo = Long.parseLong(authentication.getName());
+            return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(userNo)));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.status(403).body(Map.of("unreadCount", 0));
+        }
+    }
+
     @PatchMapping("/{id}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long id, Authentication authentication) {
         if (authentication == null)
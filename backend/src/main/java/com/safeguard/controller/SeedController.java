@@ -6,6 +6,7 @@ import com.safeguard.dto.UserDTO;
 import com.safeguard.entity.Agency;
 import com.safeguard.mapper.ComplaintMapper;
 import com.safeguard.mapper.UserMapper;
+import com.safeguard.service.seed.SyntheticDataGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -29,8 +30,10 @@ public class SeedController {
     private final ComplaintMapper complaintMapper;
     private final UserMapper userMapper;
     private final com.safeguard.mapper.AgencyMapper agencyMapper;
+    private final com.safeguard.service.agency.AgencyDirectory agencyDirectory;
     private final PasswordEncoder passwordEncoder;
     private final JdbcTemplate jdbcTemplate;
+    private final SyntheticDataGenerator syntheticDataGenerator;
 
     @PostMapping("/migrate-schema")
     public ResponseEntity<Map<String, String>> migrateSchema() {
@@ -155,6 +158,22 @@ public class SeedController {
         }
     }
 
+    /**
+     * 대용량 합성 데이터 생성 시작 (백그라운드, seed.synthetic.enabled=true 필요)
+     * - scale: 민원 수 (예: 1M, 10M, 50M), 진행 상황은 GET /api/seed/synthetic
+     */
+    @PostMapping("/synthetic")
+    public ResponseEntity<SyntheticDataGenerator.Job> generateSynthetic(
+            @RequestParam(defaultValue = "1M") String scale) {
+        return ResponseEntity.accepted().body(syntheticDataGenerator.start(scale));
+    }
+
+    @GetMapping("/synthetic")
+    public ResponseEntity<SyntheticDataGenerator.Job> syntheticStatus() {
+        SyntheticDataGenerator.Job job = syntheticDataGenerator.status();
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/reset")
     public ResponseEntity<Map<String, String>> resetData() {
         complaintMapper.deleteAllLikes();
@@ -186,7 +205,7 @@ public class SeedController {
                 agency.setAgencyName(data[0]);
                 agency.setRegionCode(data[1]);
                 agency.setAgencyType("LOCAL");
-                agencyMapper.insertAgency(agency);
+                agencyDirectory.insertAgency(agency);
                 count++;
             }
         }
@@ -205,7 +224,7 @@ public class SeedController {
                 agency.setAgencyName(name);
                 agency.setRegionCode(null);
                 agency.setAgencyType("CENTRAL");
-                agencyMapper.insertAgency(agency);
+                agencyDirectory.insertAgency(agency);
                 count++;
             }
         }
@@ -451,6 +470,7 @@ public class SeedController {
                 agencies = agencyMapper.selectAgencyList();
             }
 
+            List<ComplaintDTO> seeded = new ArrayList<>(500);
             for (int i = 0; i < 500; i++) {
                 UserDTO randomUser = users.get(random.nextInt(users.size()));
                 String category = categories[random.nextInt(categories.length)];
@@ -496,9 +516,11 @@ public class SeedController {
                         .analysisResult("{\"keywords\": [\"" + category + "\", \"민원\"]}")
                         .build();
 
-                complaintMapper.insertComplaintDto(complaint);
-                complaintCount++;
+                seeded.add(complaint);
             }
+            // 행 단위 INSERT 500회 대신 multi-row INSERT 한 번
+            complaintMapper.insertComplaintBatch(seeded);
+            complaintCount = seeded.size();
 
             return ResponseEntity.ok(Map.of(
                     "message", "Bulk seed completed",
@@ -0,0 +1,111 @@
+package com.safeguard.controller;
+
+import com.safeguard.service.storage.LocalBlobStore;
+import com.safeguard.service.storage.S3StorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 업로드 파일 제공 (/uploads/**, 배포 환경에서는 nginx 가 먼저 직접 제공하고 없는 파일만 여기로 옴)
+ *
+ * - 내용 해시 키는 내용이 바뀌지 않으므로 강한 ETag(해시) + 1년 immutable 캐시
+ * - Tomcat sendfile 지원 시 응답 본문을 커널이 파일에서 소켓으로 직접 전송 (JVM 힙 복사 없음)
+ * - 로컬에 없는 내용 해시 키는 S3 로 이전된 것으로 보고 S3 URL 로 리다이렉트 (이전 경로를 가진 화면/캐시 대응)
+ */
+@RestController
+@RequiredArgsConstructor
+public class UploadController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalBlobStore localBlobStore;
+    private final S3StorageService s3StorageService;
+
+    @RequestMapping(value = "/uploads/**", method = { RequestMethod.GET, RequestMethod.HEAD })
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = LocalBlobStore.keyOf(path);
+        Path file = localBlobStore.locate(path);
+        if (file == null) {
+            if (LocalBlobStore.isContentAddressed(key)) {
+                response.sendRedirect(s3StorageService.urlFor(key));
+            } else {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            }
+            return;
+        }
+
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attrs.size();
+        String etag = LocalBlobStore.etagOf(key);
+        if (etag == null) {
+            // 이전 UUID 파일: 크기/수정 시각 기반 약한 ETag
+            etag = "W/\"" + Long.toHexString(size) + "-" + Long.toHexString(attrs.lastModifiedTime().toMillis())
+                    + "\"";
+        }
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, attrs.lastModifiedTime().toMillis());
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString());
+        response.setContentLengthLong(size);
+        if ("HEAD".equals(request.getMethod()) || size == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 컨테이너가 핸들러 반환 후 sendfile 로 전송
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || (value.startsWith("W/") ? value.substring(2) : value).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.safeguard.controller;
+
+import com.safeguard.service.ai.SttStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * 스트리밍 음성 인식 API
+ * - /api/stt/** 는 게이트웨이에서 STT 서버로 직접 프록시되므로 백엔드 경로를 분리
+ * 1) POST /api/voice/stream            세션 생성
+ * 2) GET  /api/voice/stream/{id}/events 부분/최종 인식 결과 SSE (partial, segment, final, error)
+ * 3) POST /api/voice/stream/{id}/chunks?seq=0&last=false  녹음 조각 (MediaRecorder timeslice 단위)
+ */
+@RestController
+@RequestMapping("/api/voice/stream")
+@RequiredArgsConstructor
+public class VoiceStreamController {
+
+    private final SttStreamService sttStreamService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, String>> open(
+            @RequestParam(value = "contentType", required = false) String contentType) {
+        return ResponseEntity.ok(Map.of("sessionId", sttStreamService.open(contentType)));
+    }
+
+    @GetMapping(value = "/{sessionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String sessionId) {
+        return sttStreamService.subscribe(sessionId);
+    }
+
+    @PostMapping("/{sessionId}/chunks")
+    public ResponseEntity<Void> appendChunk(@PathVariable String sessionId,
+            @RequestParam("seq") int seq,
+            @RequestParam(value = "last", defaultValue = "false") boolean last,
+            @RequestBody(required = false) byte[] chunk) {
+        sttStreamService.appendChunk(sessionId, seq, last, chunk);
+        return ResponseEntity.accepted().build();
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> cancel(@PathVariable String sessionId) {
+        sttStreamService.cancel(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -22,6 +22,9 @@ public class ComplaintDTO {
     private Double latitude;
     private Double longitude;
     private String imagePath;
+    // 축소본 (없으면 조회 시 image_path 로 대체)
+    private String detailPath;
+    private String thumbnailPath;
     private String analysisResult;
     private com.safeguard.enums.ComplaintStatus status;
     private Boolean isPublic;
@@ -0,0 +1,21 @@
+package com.safeguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 기반 페이지 응답
+ * - totalElements 는 첫 페이지에서만 계산되며 countCap 을 넘으면 cap 값 + totalCapped=true ("1000+")
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor; // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+    private boolean hasNext;
+    private Long totalElements; // 첫 페이지가 아니면 null
+    private boolean totalCapped;
+}
@@ -0,0 +1,22 @@
+package com.safeguard.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class NearbyComplaintDto {
+    private Long complaintNo;
+    private String title;
+    private String category;
+    private String status;
+    private OffsetDateTime createdDate;
+    private String address;
+    private Double lat;
+    private Double lng;
+    private Double distance; // 기준 좌표로부터의 거리 (m)
+}
@@ -29,4 +29,7 @@ public class RagAnalysisResponse {
     private List<String> sources;
 
     private String message;
+
+    // /classify_batch 에서 해당 건만 실패한 경우의 사유 (성공 시 null)
+    private String error;
 }
@@ -0,0 +1,17 @@
+package com.safeguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// RagBatchRequest.java : RAG 서버 /classify_batch 요청 객체 (텍스트 여러 건)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RagBatchRequest {
+    private List<String> texts;
+}
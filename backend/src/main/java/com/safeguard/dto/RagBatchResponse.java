@@ -0,0 +1,17 @@
+package com.safeguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// RagBatchResponse.java : RAG 서버 /classify_batch 응답 객체 (요청 texts 와 같은 순서)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RagBatchResponse {
+    private List<RagAnalysisResponse> results;
+}
@@ -0,0 +1,17 @@
+package com.safeguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// StoredImage.java : 업로드 이미지 저장 결과 (원본 + 상세/썸네일, 가공 불가 형식이면 세 경로 모두 원본)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredImage {
+    private String imagePath;
+    private String detailPath;
+    private String thumbnailPath;
+}
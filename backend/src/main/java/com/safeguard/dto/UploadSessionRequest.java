@@ -0,0 +1,12 @@
+package com.safeguard.dto;
+
+import lombok.Data;
+
+// UploadSessionRequest.java : 직접 업로드 세션 생성 요청 (sha256 은 브라우저가 계산한 원본 해시, hex 64자)
+@Data
+public class UploadSessionRequest {
+    private String filename;
+    private String contentType;
+    private Long size;
+    private String sha256;
+}
@@ -0,0 +1,29 @@
+package com.safeguard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+// UploadSessionResponse.java : 업로드 세션 (UPLOAD: uploadUrl 로 PUT 후 complete 호출, STORED: 이미 저장됨 → 경로 바로 사용)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionResponse {
+    private String uploadId;
+    private String status;
+
+    private String uploadUrl;
+    private String method;
+    // PUT 요청에 그대로 실어야 하는 서명된 헤더 (Content-Type, x-amz-checksum-sha256 등)
+    private Map<String, String> headers;
+    private OffsetDateTime expiresAt;
+
+    private String imagePath;
+    private String detailPath;
+    private String thumbnailPath;
+}
@@ -1,5 +1,6 @@
 package com.safeguard.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,4 +14,12 @@ public class YoloResponse {
     private String type;    // 분석 유형 (한글)
     private String agency;  // 담당 기관 (한글)
     private String message; // 메시지 (성공/실패)
+
+    // 분석 실패 시 type 값 (동기 API 는 실패도 200 + 이 값으로 응답)
+    public static final String FAILED_TYPE = "분석 실패";
+
+    @JsonIgnore
+    public boolean isFailed() {
+        return FAILED_TYPE.equals(type);
+    }
 }
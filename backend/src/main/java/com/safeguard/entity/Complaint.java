@@ -1,5 +1,6 @@
 package com.safeguard.entity;
 
+import com.safeguard.enums.ComplaintProcessingState;
 import com.safeguard.enums.ComplaintStatus;
 import lombok.Data;
 
@@ -24,8 +25,21 @@ public class Complaint {
     private Long userNo;
     private Long agencyNo;
     private String imagePath;
+    private String detailPath;
+    private String thumbnailPath;
 
     private String address;
     private Double latitude;
     private Double longitude;
+
+    private ComplaintProcessingState processingState;
+    private String processingError;
+
+    // 접수 시 AI 분석 결과 (analysis_result 에 저장 → 복구 시 기관 매핑 입력)
+    private Long aiAgencyCode;
+    private String aiAgencyName;
+    // 첨부 이미지가 아직 업로드되지 않음
+    private Boolean imagePending;
+    // 업로드 전까지 첨부 바이트를 보관한 로컬 경로 (재시작 후 복구 시 업로드 입력)
+    private String imageStagingPath;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.safeguard.entity;
+
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+@Data
+public class StoredObject {
+    private String contentHash;
+    private String objectKey;
+
+    private String imagePath;
+    private String detailPath;
+    private String thumbnailPath;
+
+    private Long sizeBytes;
+    private Integer refCount;
+
+    private OffsetDateTime createdAt;
+    private OffsetDateTime lastUploadedAt;
+}
@@ -0,0 +1,22 @@
+package com.safeguard.entity;
+
+import com.safeguard.enums.UploadSessionStatus;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+@Data
+public class UploadSession {
+    private String uploadId;
+    private Long userNo;
+
+    private String contentHash;
+    private String objectKey;
+    private String contentType;
+    private Long sizeBytes;
+
+    private UploadSessionStatus status;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime expiresAt;
+    private OffsetDateTime completedAt;
+}
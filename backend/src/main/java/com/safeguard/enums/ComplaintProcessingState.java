@@ -0,0 +1,11 @@
+package com.safeguard.enums;
+
+/**
+ * 민원 접수 후 비동기 처리 단계 상태 (이미지 업로드, 공간 정보, 기관 매핑, 보강)
+ */
+public enum ComplaintProcessingState {
+    ACCEPTED,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.safeguard.enums;
+
+/**
+ * 브라우저 직접 업로드 세션 상태 (PENDING: URL 발급됨, COMPLETED: 업로드 확인 후 저장소 등록)
+ */
+public enum UploadSessionStatus {
+    PENDING,
+    COMPLETED
+}
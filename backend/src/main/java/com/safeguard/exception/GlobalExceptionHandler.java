@@ -3,6 +3,7 @@ package com.safeguard.exception;
 import com.safeguard.common.CommonResponse;
 import com.safeguard.dto.ErrorLogDTO;
 import com.safeguard.service.ErrorLogService;
+import com.safeguard.service.ai.AiServiceException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.io.PrintWriter;
@@ -23,6 +25,28 @@ public class GlobalExceptionHandler {
 
     private final ErrorLogService errorLogService;
 
+    /**
+     * AI 서버 한도 초과/차단/타임아웃 → 503 (클라이언트가 잠시 후 재시도)
+     */
+    @ExceptionHandler(AiServiceException.class)
+    public ResponseEntity<CommonResponse<Void>> handleAiServiceException(AiServiceException e) {
+        log.warn("[AiService] {} {}: {}", e.getService(), e.getReason(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(CommonResponse.fail("AI_" + e.getReason().name(), "AI 서버가 혼잡합니다. 잠시 후 다시 시도해주세요."));
+    }
+
+    /**
+     * 의도한 상태 코드로 던진 예외 (검증 실패 등) → 해당 상태 그대로 (500 으로 바꾸지 않음)
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<CommonResponse<Void>> handleResponseStatusException(ResponseStatusException e) {
+        HttpStatus status = HttpStatus.resolve(e.getStatusCode().value());
+        log.warn("[ResponseStatus] {}: {}", e.getStatusCode(), e.getReason());
+        return ResponseEntity.status(e.getStatusCode())
+                .body(CommonResponse.fail(status != null ? status.name() : "ERROR", e.getReason()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<CommonResponse<Void>> handleException(Exception e, HttpServletRequest request) {
         String traceId = UUID.randomUUID().toString();
@@ -5,9 +5,11 @@ import com.safeguard.dto.MapClusterDto;
 import com.safeguard.dto.MapHotspotDto;
 import com.safeguard.dto.MapItemDto;
 import com.safeguard.dto.MapSearchRequest;
+import com.safeguard.dto.NearbyComplaintDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Mapper
@@ -41,4 +43,28 @@ public interface ComplaintGisMapper {
 
     // 목록 total count
     long countComplaintMapList(@Param("req") MapSearchRequest req);
+
+    // 목록 (keyset: created_date DESC, complaint_no DESC)
+    List<ComplaintListItemDto> selectComplaintMapListAfter(
+            @Param("req") MapSearchRequest req,
+            @Param("cursorCreatedDate") OffsetDateTime cursorCreatedDate,
+            @Param("cursorComplaintNo") Long cursorComplaintNo,
+            @Param("limit") int limit);
+
+    // 목록 count (cap 건까지만 계산)
+    long countComplaintMapListCapped(
+            @Param("req") MapSearchRequest req,
+            @Param("cap") int cap);
+
+    // 주변 미처리 민원 (KNN, GiST 인덱스 기반)
+    List<NearbyComplaintDto> selectNearbyComplaints(
+            @Param("lat") double lat,
+            @Param("lng") double lng,
+            @Param("radius") double radius,
+            @Param("radiusDeg") double radiusDeg,
+            @Param("k") int k,
+            @Param("excludeComplaintNo") Long excludeComplaintNo);
+
+    // 현재 트랜잭션 한정 statement_timeout 설정 (SET LOCAL)
+    String setLocalStatementTimeout(@Param("timeoutMs") String timeoutMs);
 }
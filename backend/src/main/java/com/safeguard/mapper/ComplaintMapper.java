@@ -2,7 +2,9 @@ package com.safeguard.mapper;
 
 import com.safeguard.dto.ComplaintDTO;
 import com.safeguard.dto.ComplaintStatsDTO;
+import com.safeguard.dto.StoredImage;
 import com.safeguard.entity.Complaint;
+import com.safeguard.entity.ComplaintAgency;
 import com.safeguard.entity.SpatialFeature;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -95,6 +97,34 @@ public interface ComplaintMapper {
         void insertComplaintAgency(@Param("complaintNo") Long complaintNo,
                         @Param("agencyNo") Long agencyNo);
 
+        // =========================
+        // 대량 적재 (ComplaintBulkIngestService) - multi-row INSERT
+        // =========================
+        void insertComplaintBatch(@Param("complaints") List<ComplaintDTO> complaints);
+
+        void insertSpatialPointBatch(@Param("complaints") List<ComplaintDTO> complaints);
+
+        void insertComplaintAgencyBatch(@Param("mappings") List<ComplaintAgency> mappings);
+
+        // =========================
+        // 접수 후 비동기 처리 (ComplaintPipeline)
+        // =========================
+        void updateImagePaths(@Param("complaintNo") Long complaintNo, @Param("image") StoredImage image);
+
+        void updateAnalysisEnrichment(@Param("complaintNo") Long complaintNo,
+                        @Param("agencyNosJson") String agencyNosJson,
+                        @Param("region") String region);
+
+        void updateProcessingState(@Param("complaintNo") Long complaintNo,
+                        @Param("state") String state,
+                        @Param("error") String error);
+
+        Map<String, Object> selectProcessingState(@Param("complaintNo") Long complaintNo,
+                        @Param("viewerAgencyNo") Long viewerAgencyNo);
+
+        List<Complaint> claimStuckComplaints(@Param("stuckAfterSeconds") long stuckAfterSeconds,
+                        @Param("limit") int limit);
+
         /**
          * 사용자가 작성한 민원 목록 조회 (마이페이지용)
          *
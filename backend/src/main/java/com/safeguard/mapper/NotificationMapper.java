@@ -6,14 +6,39 @@ import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface NotificationMapper {
     void insertNotification(NotificationDTO notification);
 
+    void insertNotifications(@Param("notifications") List<NotificationDTO> notifications);
+
     List<NotificationDTO> selectNotificationsByUser(@Param("userNo") Long userNo);
 
+    // createdAt(파티션 키)을 알면 해당 파티션만 조회
+    NotificationDTO selectNotificationById(@Param("notificationId") Long notificationId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    Long selectMaxNotificationId(@Param("userNo") Long userNo);
+
+    List<NotificationDTO> selectNotificationsAfter(@Param("userNo") Long userNo,
+            @Param("lastNotificationId") Long lastNotificationId,
+            @Param("horizonMs") long horizonMs,
+            @Param("limit") int limit);
+
     int countUnread(@Param("userNo") Long userNo);
 
     void markAsRead(@Param("notificationId") Long notificationId, @Param("userNo") Long userNo);
+
+    // 미확인 수 요약 (notification_unread_summary)
+    Integer selectUnreadSummary(@Param("userNo") Long userNo);
+
+    void insertUnreadSummaryIfAbsent(@Param("userNo") Long userNo);
+
+    List<Map<String, Object>> incrementUnreadSummary(@Param("deltas") Map<Long, Integer> deltas);
+
+    Integer markAsReadAndDecrement(@Param("notificationId") Long notificationId, @Param("userNo") Long userNo);
+
+    int reconcileUnreadSummary();
 }
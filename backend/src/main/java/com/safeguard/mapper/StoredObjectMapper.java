@@ -0,0 +1,48 @@
+package com.safeguard.mapper;
+
+import com.safeguard.dto.StoredImage;
+import com.safeguard.entity.StoredObject;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface StoredObjectMapper {
+
+    // 중복 업로드 확인 (있으면 last_uploaded_at 갱신 → 정리 대상에서 유예)
+    StoredObject touchByHash(@Param("contentHash") String contentHash);
+
+    // 동시 업로드 경합 시 먼저 들어간 행 유지
+    int insertIfAbsent(StoredObject object);
+
+    int incrementRefCount(@Param("imagePath") String imagePath);
+
+    // 민원 첨부 시 저장소 기록 잠금 (FOR UPDATE, 첨부 트랜잭션이 끝날 때까지 정리 대상에서 제외)
+    StoredObject lockByImagePath(@Param("imagePath") String imagePath);
+
+    // complaint.image_path 기준 재계산 (보정된 행 수)
+    int reconcileRefCounts();
+
+    List<StoredObject> selectUnreferenced(@Param("graceHours") int graceHours, @Param("limit") int limit);
+
+    // 정리 직전 잠금 (첨부 중이라 잠겨 있으면 건너뜀 → null)
+    StoredObject lockUnreferenced(@Param("contentHash") String contentHash, @Param("graceHours") int graceHours);
+
+    // 정리 직전 재확인 후 삭제 (삭제되면 1)
+    int deleteIfUnreferenced(@Param("contentHash") String contentHash, @Param("graceHours") int graceHours);
+
+    List<StoredObject> selectLocal(@Param("limit") int limit);
+
+    // 축소본 없이 등록된 객체(직접 업로드)에 축소본 경로 채움 (이미 채워졌으면 0)
+    int fillVariants(@Param("contentHash") String contentHash, @Param("detailPath") String detailPath,
+            @Param("thumbnailPath") String thumbnailPath);
+
+    // 축소본 생성 전에 첨부된 민원에도 같은 축소본 경로 반영
+    int fillComplaintVariants(@Param("imagePath") String imagePath, @Param("detailPath") String detailPath,
+            @Param("thumbnailPath") String thumbnailPath);
+
+    int updatePaths(@Param("contentHash") String contentHash, @Param("image") StoredImage image);
+
+    int relinkComplaints(@Param("from") StoredImage from, @Param("to") StoredImage to);
+}
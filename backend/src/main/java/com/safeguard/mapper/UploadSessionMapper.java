@@ -0,0 +1,28 @@
+package com.safeguard.mapper;
+
+import com.safeguard.entity.UploadSession;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface UploadSessionMapper {
+
+    int insertUploadSession(UploadSession session);
+
+    UploadSession selectByUploadId(@Param("uploadId") String uploadId);
+
+    // PENDING → COMPLETED (이미 완료된 세션이면 0)
+    int markCompleted(@Param("uploadId") String uploadId);
+
+    // URL 만료 후 graceMinutes 가 지나도 완료되지 않은 세션
+    List<UploadSession> selectAbandoned(@Param("graceMinutes") int graceMinutes, @Param("limit") int limit);
+
+    // 같은 내용이 저장소에 등록됐거나 다른 세션이 아직 업로드 중이면 true (객체를 지우면 안 됨)
+    boolean isObjectInUse(@Param("contentHash") String contentHash, @Param("uploadId") String uploadId);
+
+    int deleteUploadSession(@Param("uploadId") String uploadId);
+
+    int deleteCompletedBefore(@Param("retentionHours") int retentionHours);
+}
@@ -0,0 +1,20 @@
+package com.safeguard.mapper;
+
+import com.safeguard.dto.YoloResponse;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface YoloResultCacheMapper {
+
+    YoloResponse selectResult(@Param("imageHash") String imageHash,
+            @Param("modelVersion") String modelVersion,
+            @Param("ttlDays") int ttlDays);
+
+    void upsertResult(@Param("imageHash") String imageHash,
+            @Param("modelVersion") String modelVersion,
+            @Param("type") String type,
+            @Param("agency") String agency);
+
+    int deleteExpired(@Param("ttlDays") int ttlDays);
+}
@@ -12,4 +12,26 @@ public interface ComplaintGisService {
     List<MapDistrictDto> getDistrictCounts(MapSearchRequest req);
 
     PageResponse<ComplaintListItemDto> listComplaints(MapSearchRequest req, int page, int size);
+
+    /**
+     * 지도 사이드 목록을 커서(keyset) 방식으로 조회한다.
+     * - 정렬: created_date DESC, complaint_no DESC
+     * - 전체 건수는 첫 페이지(cursor == null)에서만 cap 까지 계산
+     */
+    CursorPageResponse<ComplaintListItemDto> listComplaintsByCursor(MapSearchRequest req, String cursor, int size);
+
+    /**
+     * 좌표 주변의 미처리(공개) 민원을 가까운 순으로 조회한다.
+     * (한글 기능 설명: 중복 민원 등록 방지를 위한 주변 민원 안내)
+     *
+     * @param k      최대 개수 (null 이면 기본값)
+     * @param radius 반경(m) (null 이면 기본값)
+     */
+    List<NearbyComplaintDto> getNearbyComplaints(double lat, double lng, Integer k, Integer radius);
+
+    /**
+     * 민원 등록 직후 주변 민원을 조회한다.
+     * - 등록 응답 지연을 막기 위해 statement_timeout 예산 내에서만 조회 (초과 시 예외)
+     */
+    List<NearbyComplaintDto> findNearbyForNewComplaint(Long complaintNo, double lat, double lng);
 }
@@ -30,6 +30,11 @@ public interface ComplaintService {
      */
     java.util.Map<String, Object> getComplaintDetail(Long complaintNo, Long userNo, String role, Long agencyNo);
 
+    /**
+     * 접수 후 비동기 처리 상태 조회 (processingState, processingError) - 작성자/배정 기관/관리자만
+     */
+    java.util.Map<String, Object> getProcessingState(Long complaintNo, Long userNo, String role, Long agencyNo);
+
     /**
      * 민원 상태 변경 (AGENCY 권한 필수)
      */
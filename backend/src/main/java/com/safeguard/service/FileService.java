@@ -1,7 +1,52 @@
 package com.safeguard.service;
 
+import com.safeguard.dto.StoredImage;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+
 public interface FileService {
     String storeFile(MultipartFile file);
+
+    /**
+     * 요청 종료 후(비동기 단계)에도 저장할 수 있도록 미리 읽어 둔 바이트로 저장
+     */
+    String storeFile(byte[] content, String originalFilename, String contentType);
+
+    /**
+     * 이미지 원본과 함께 상세/썸네일 축소본을 내용 해시 키로 저장 ({sha256}{ext}, {sha256}_detail.jpg, {sha256}_thumb.jpg)
+     * - 같은 내용이면 같은 키 → 이미 저장된 사진은 업로드 없이 기존 경로 재사용
+     * - StoredObjectJanitor 삭제와 LocalBlobStore.HASH_KEY(ETag) 가 이 키 형식에 의존
+     */
+    StoredImage storeImage(byte[] content, String originalFilename, String contentType);
+
+    /**
+     * 같은 내용(SHA-256)이 이미 저장되어 있으면 그 경로, 없으면 null
+     */
+    StoredImage findStored(String contentHash);
+
+    /**
+     * 브라우저가 직접 올린 객체를 저장소에 등록 (축소본은 fillVariants 전까지 없음 → 상세/썸네일도 원본 경로)
+     */
+    StoredImage registerUploaded(String contentHash, String objectKey, long size);
+
+    /**
+     * 축소본 없이 등록된 객체의 원본을 읽어 상세/썸네일 축소본 생성 (이미 있으면 무시, 요청 스레드 밖에서 호출)
+     */
+    void fillVariants(String contentHash);
+
+    /**
+     * 비동기 업로드 전까지 첨부 바이트를 로컬 저장소에 보관 (staged-{uuid}{ext}, 재시작 후 복구용 경로 반환)
+     */
+    String stageImage(byte[] content, String originalFilename) throws IOException;
+
+    /**
+     * stageImage 로 보관한 바이트 (파일이 없으면 null)
+     */
+    byte[] readStaged(String stagingPath) throws IOException;
+
+    /**
+     * 업로드가 끝났거나 접수가 취소된 보관본 삭제 (없으면 무시)
+     */
+    void discardStaged(String stagingPath);
 }
\ No newline at end of file
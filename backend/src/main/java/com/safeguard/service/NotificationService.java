@@ -3,16 +3,25 @@ package com.safeguard.service;
 import com.safeguard.dto.NotificationDTO;
 import com.safeguard.mapper.NotificationMapper;
 import com.safeguard.security.JwtTokenProvider;
+import com.safeguard.service.notification.NotificationBus;
+import com.safeguard.service.notification.NotificationCoalescer;
+import com.safeguard.service.notification.NotificationBusListener;
+import com.safeguard.service.notification.NotificationEvent;
+import com.safeguard.service.notification.NotificationReplayBuffer;
+import com.safeguard.service.notification.NotificationUnreadCounter;
+import com.safeguard.service.notification.NotificationWriter;
+import com.safeguard.service.notification.SseConnection;
+import com.safeguard.service.notification.SseConnectionManager;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -22,12 +31,65 @@ public class NotificationService {
     private final NotificationMapper notificationMapper;
     private final JwtTokenProvider jwtTokenProvider;
     private final com.safeguard.mapper.UserMapper userMapper;
+    private final SseConnectionManager sseConnectionManager;
+    private final NotificationBus notificationBus;
+    private final NotificationReplayBuffer replayBuffer;
+    private final NotificationWriter notificationWriter;
+    private final NotificationUnreadCounter unreadCounter;
+    private final NotificationCoalescer notificationCoalescer;
+
+    // 재연결 시 DB 에서 보충하는 최대 건수 (목록 API 와 동일한 50건)
+    @Value("${notification.replay.db-fallback-limit:50}")
+    private int replayDbFallbackLimit;
+
+    @Value("${notification.replay.commit-horizon-ms:5000}")
+    private long replayCommitHorizonMs;
+
+    @PostConstruct
+    void registerBusListener() {
+        notificationWriter.setOnPersisted(this::publishPersisted);
+
+        // 버스로 들어온 이벤트 중 이 노드에 연결된 사용자 것만 SSE 로 전달
+        notificationBus.subscribe(new NotificationBusListener() {
+            @Override
+            public boolean isInterested(Long userNo) {
+                // 연결이 잠시 끊긴 사용자도 재전송 버퍼에는 기록해야 함
+                return sseConnectionManager.hasConnections(userNo) || replayBuffer.isTracking(userNo);
+            }
 
-    // Use ConcurrentHashMap to manage emitters for each user
-    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+            @Override
+            public void onEvent(NotificationEvent event) {
+                if (event.getUnreadCount() != null) {
+                    unreadCounter.update(event.getUserNo(), event.getUnreadCount());
+                    sendUnreadCount(event.getUserNo(), event.getUnreadCount());
+                }
+                NotificationDTO dto = event.getNotification();
+                if (dto == null && event.getNotificationId() == null) {
+                    // 미확인 수 변경만 전달된 이벤트 (읽음 처리)
+                    return;
+                }
+                if (dto == null && event.getNotificationId() != null) {
+                    // payload 크기 초과로 참조만 전달된 경우 DB 재조회
+                    dto = notificationMapper.selectNotificationById(event.getNotificationId(),
+                            event.getCreatedAt());
+                    if (dto == null) {
+                        return;
+                    }
+                    dto.setType(mapToDtoType(dto.getType()));
+                }
+                replayBuffer.record(event.getUserNo(), dto);
+                sendToUser(event.getUserNo(), dto);
+            }
+        });
+    }
 
     // Subscribe to SSE
     public SseEmitter subscribe(String token) {
+        return subscribe(token, null);
+    }
+
+    // Subscribe to SSE, replaying notifications after lastEventId (browser Last-Event-ID on reconnect)
+    public SseEmitter subscribe(String token, Long lastEventId) {
         if (!jwtTokenProvider.validateToken(token)) {
             throw new IllegalArgumentException("Invalid Token");
         }
@@ -47,66 +109,77 @@ public class NotificationService {
                     });
         }
 
-        SseEmitter emitter = new SseEmitter(60 * 60 * 1000L); // 1 hour timeout
-
-        final Long finalUserNo = userNo;
-        final SseEmitter finalEmitter = emitter;
-
-        List<SseEmitter> userEmitters = emitters.computeIfAbsent(finalUserNo, k -> new ArrayList<>());
-        synchronized (userEmitters) {
-            userEmitters.add(finalEmitter);
+        // Jittered timeout + initial "connect" event with a jittered retry hint; heartbeats are shared
+        replayBuffer.attach(userNo);
+        SseConnection connection = sseConnectionManager.open(userNo);
+        if (lastEventId != null) {
+            replay(connection, userNo, lastEventId);
         }
-
-        finalEmitter.onCompletion(() -> removeEmitter(finalUserNo, finalEmitter));
-        finalEmitter.onTimeout(() -> {
-            finalEmitter.complete();
-            removeEmitter(finalUserNo, finalEmitter);
-        });
-        finalEmitter.onError((e) -> removeEmitter(finalUserNo, finalEmitter));
-
-        // Send initial dummy event to establish connection
-        try {
-            finalEmitter.send(SseEmitter.event().name("connect").data("connected"));
-        } catch (IOException e) {
-            removeEmitter(finalUserNo, finalEmitter);
-        }
-
-        return finalEmitter;
+        return connection.getEmitter();
     }
 
-    private void removeEmitter(Long userNo, SseEmitter emitter) {
-        List<SseEmitter> userEmitters = emitters.get(userNo);
-        if (userEmitters != null) {
-            synchronized (userEmitters) {
-                userEmitters.remove(emitter);
-                if (userEmitters.isEmpty()) {
-                    emitters.remove(userNo);
-                }
+    /**
+     * 재연결 시 누락분만 전송 (버퍼 우선, 버퍼가 공백을 덮지 못할 때만 DB 조회)
+     * - 버퍼/연결 등록 후에 재전송하므로 그 사이 실시간 알림과 겹칠 수 있음 → 연결 단위로 이벤트 id 중복 제거
+     * - 커밋 지연분을 위해 lastEventId 이전 알림 일부를 다시 보낼 수 있음 → 클라이언트는 notificationId 로 중복 제거
+     */
+    private void replay(SseConnection connection, Long userNo, long lastEventId) {
+        List<NotificationDTO> missed = replayBuffer.replayAfter(userNo, lastEventId);
+        if (missed == null) {
+            missed = notificationMapper.selectNotificationsAfter(userNo, lastEventId, replayCommitHorizonMs,
+                    replayDbFallbackLimit);
+            for (NotificationDTO n : missed) {
+                n.setType(mapToDtoType(n.getType()));
             }
+            log.debug("SSE 재전송 (DB) - userNo: {}, lastEventId: {}, count: {}", userNo, lastEventId, missed.size());
+        }
+        for (NotificationDTO n : missed) {
+            sseConnectionManager.send(connection, "notification", String.valueOf(n.getNotificationId()), n);
         }
     }
 
     // Create & Publish Notification
+    // Write-behind: queued after the caller's commit, batch-inserted (one row per event), then published once persisted
+    // (the realtime push is optionally merged per complaint within a short window)
     public void createNotification(Long userNo, Long complaintNo, String type, String message) {
-        String dtoType = mapToDtoType(type);
-
         NotificationDTO dto = NotificationDTO.builder()
                 .userNo(userNo)
                 .complaintNo(complaintNo)
-                .type(dtoType) // Mapped type for Frontend
+                .type(type) // Raw type for DB insert
                 .message(message) // Raw code message "STATUS_CHANGED: UNPROCESSED"
                 .isRead(false)
                 .build();
 
-        // 1. DB Insert
-        dto.setType(type); // Set raw type for DB insert
-        notificationMapper.insertNotification(dto);
+        notificationWriter.submit(dto);
+    }
 
-        // 2. Prepare for SSE (transform type)
-        dto.setType(dtoType);
+    // Called by NotificationWriter after each batch insert (notificationId assigned)
+    private void publishPersisted(List<NotificationDTO> batch) {
+        // Unread counters: one upsert per batch
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (NotificationDTO dto : batch) {
+            deltas.merge(dto.getUserNo(), 1, Integer::sum);
+        }
+        Map<Long, Integer> unreadCounts = Map.of();
+        try {
+            unreadCounts = unreadCounter.increment(deltas);
+        } catch (Exception e) {
+            // Counter drift is corrected by the periodic reconcile
+            log.warn("미확인 수 증가 실패 ({}명): {}", deltas.size(), e.getMessage());
+        }
 
-        // 3. Publish
-        sendToUser(userNo, dto);
+        for (NotificationDTO dto : batch) {
+            // Prepare for SSE (transform type)
+            dto.setType(mapToDtoType(dto.getType()));
+
+            // Publish (all nodes; the node holding the user's SSE connection delivers it)
+            notificationCoalescer.publish(NotificationEvent.builder()
+                    .userNo(dto.getUserNo())
+                    .notification(dto)
+                    .notificationId(dto.getNotificationId())
+                    .unreadCount(unreadCounts.get(dto.getUserNo()))
+                    .build());
+        }
     }
 
     private String mapToDtoType(String rawType) {
@@ -119,21 +192,16 @@ public class NotificationService {
         return "ANSWER"; // Fallback as requested
     }
 
+    // Non-blocking: only enqueues per-connection, safe to call inside a transaction
+    // Event id = notificationId (monotonic), so the browser reports it back as Last-Event-ID
     private void sendToUser(Long userNo, NotificationDTO dto) {
-        List<SseEmitter> userEmitters = emitters.get(userNo);
-        if (userEmitters != null) {
-            synchronized (userEmitters) {
-                List<SseEmitter> deadEmitters = new ArrayList<>();
-                for (SseEmitter emitter : userEmitters) {
-                    try {
-                        emitter.send(SseEmitter.event().name("notification").data(dto));
-                    } catch (IOException e) {
-                        deadEmitters.add(emitter);
-                    }
-                }
-                userEmitters.removeAll(deadEmitters);
-            }
-        }
+        String eventId = dto.getNotificationId() != null ? String.valueOf(dto.getNotificationId()) : null;
+        sseConnectionManager.sendToUser(userNo, "notification", eventId, dto);
+    }
+
+    // Badge update; no event id so it does not move the client's Last-Event-ID
+    private void sendUnreadCount(Long userNo, int unreadCount) {
+        sseConnectionManager.sendToUser(userNo, "unread", null, Map.of("unreadCount", unreadCount));
     }
 
     public Map<String, Object> getNotifications(Long userNo) {
@@ -144,11 +212,23 @@ public class NotificationService {
             n.setType(mapToDtoType(n.getType()));
         }
 
-        int unread = notificationMapper.countUnread(userNo);
+        int unread = unreadCounter.get(userNo);
         return Map.of("notifications", list, "unreadCount", unread);
     }
 
+    // Badge only: served from the maintained counter, no notification scan
+    public int getUnreadCount(Long userNo) {
+        return unreadCounter.get(userNo);
+    }
+
     public void markAsRead(Long notificationId, Long userNo) {
-        notificationMapper.markAsRead(notificationId, userNo);
+        Integer unread = unreadCounter.markAsRead(notificationId, userNo);
+        if (unread != null) {
+            // Other tabs / nodes update their badge
+            notificationBus.publish(NotificationEvent.builder()
+                    .userNo(userNo)
+                    .unreadCount(unread)
+                    .build());
+        }
     }
 }
@@ -5,4 +5,6 @@ import org.springframework.web.multipart.MultipartFile;
 
 public interface SttService {
     SttResponse transcribe(MultipartFile file);
+
+    SttResponse transcribe(byte[] bytes, String filename);
 }
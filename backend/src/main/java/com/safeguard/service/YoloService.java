@@ -5,4 +5,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 public interface YoloService {
     YoloResponse analyzeImage(MultipartFile file);
+
+    // 요청 스레드 밖(비동기 작업 큐)에서 호출할 때: 업로드 임시 파일 대신 복사한 바이트 사용
+    YoloResponse analyzeImage(byte[] bytes, String filename);
 }
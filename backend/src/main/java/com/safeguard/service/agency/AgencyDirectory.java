@@ -0,0 +1,293 @@
+package com.safeguard.service.agency;
+
+import com.safeguard.entity.Agency;
+import com.safeguard.mapper.AgencyMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 기관 디렉터리 (agency 테이블 메모리 스냅샷)
+ *
+ * - 기관번호/기관명 조회는 HashMap O(1), 기관명 접두사 조회(기존 LIKE 'name%')는 trie O(이름 길이)
+ * - 주소 첫 토큰 → 시/도 기관은 별칭 trie 의 최장 접두사 일치 ("서울", "서울시", "충북", "전라북도" 등)
+ * - 카테고리 → 중앙 부처 라우팅도 여기 한 곳에서 관리 (민원 접수, YOLO 분석 공용)
+ * - 스냅샷은 불변 객체로 통째로 교체 → 조회는 락 없이 volatile 읽기 한 번
+ * - 기관 등록은 insertAgency 를 통해서만 → 커밋 후 즉시 재적재, 다른 노드는 주기적 재적재로 반영
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AgencyDirectory {
+
+    // 카테고리 → 중앙 부처 (키는 normalizeCategory 적용: "행정·안전" / "행정안전" 모두 일치)
+    private static final Map<String, String> CATEGORY_AGENCY = Map.of(
+            "도로", "국토교통부",
+            "행정안전", "행정안전부",
+            "교통", "경찰청",
+            "주택건축", "행정안전부",
+            "환경", "기후에너지환경부");
+
+    // 기관명에서 자동으로 만들 수 없는 시/도 약칭·옛 명칭
+    private static final Map<String, String> EXTRA_REGION_ALIASES = Map.ofEntries(
+            Map.entry("충북", "충청북도"),
+            Map.entry("충남", "충청남도"),
+            Map.entry("전북", "전북특별자치도"),
+            Map.entry("전라북도", "전북특별자치도"),
+            Map.entry("전남", "전라남도"),
+            Map.entry("경북", "경상북도"),
+            Map.entry("경남", "경상남도"),
+            Map.entry("강원도", "강원특별자치도"),
+            Map.entry("제주도", "제주특별자치도"));
+
+    // 시/도 기관명 접미사 (긴 것부터) → 제거한 나머지를 별칭으로 등록 ("서울특별시" → "서울")
+    private static final List<String> REGION_SUFFIXES = List.of("특별자치시", "특별자치도", "특별시", "광역시", "도");
+
+    private final AgencyMapper agencyMapper;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    /**
+     * 다른 노드에서 등록된 기관 반영용 주기적 재적재
+     */
+    @Scheduled(fixedDelayString = "${agency.directory.refresh-interval-ms:300000}",
+            initialDelayString = "${agency.directory.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            List<Agency> agencies = agencyMapper.selectAgencyList();
+            snapshot = Snapshot.build(agencies);
+            log.debug("[AgencyDirectory] 기관 {}개 적재", agencies.size());
+        } catch (Exception e) {
+            // 기존 스냅샷 유지
+            log.warn("[AgencyDirectory] 기관 목록 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 기관 등록 (커밋 후 디렉터리 재적재)
+     */
+    public void insertAgency(Agency agency) {
+        agencyMapper.insertAgency(agency);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    public List<Agency> getAgencies() {
+        return snapshot.agencies;
+    }
+
+    public Agency getByNo(Long agencyNo) {
+        return agencyNo != null ? snapshot.byNo.get(agencyNo) : null;
+    }
+
+    /**
+     * 기관명 조회: 정확히 일치 → 없으면 접두사 일치 중 agency_no 가 가장 작은 기관
+     */
+    public Agency findByName(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        Snapshot s = snapshot;
+        Agency exact = s.byName.get(name);
+        return exact != null ? exact : s.namePrefixes.descendantOf(name);
+    }
+
+    /**
+     * 주소 첫 토큰(예: "서울", "충북", "경기도")으로 시/도 기관 조회
+     * - 별칭 최장 접두사 일치, 없으면 기관명 접두사 조회로 폴백
+     */
+    public Agency findRegion(String addressToken) {
+        if (addressToken == null || addressToken.isEmpty()) {
+            return null;
+        }
+        Snapshot s = snapshot;
+        Agency region = s.regionAliases.longestPrefixOf(addressToken);
+        return region != null ? region : findByName(addressToken);
+    }
+
+    /**
+     * 민원 담당 기관 목록 (중복 제거, 순서 유지)
+     * A. 직접적인 소관 부처: agencyNo → 없으면 agencyName → 없으면 카테고리 기반
+     * B. 관할 지자체: 주소 첫 토큰의 시/도
+     */
+    public List<Long> resolveComplaintAgencies(Long agencyNo, String agencyName, String category, String address) {
+        Set<Long> result = new LinkedHashSet<>(2);
+        if (agencyNo == null) {
+            Agency match = (agencyName == null || agencyName.isEmpty() || "-".equals(agencyName))
+                    ? centralAgencyForCategory(category)
+                    : findByName(agencyName);
+            if (match != null) {
+                agencyNo = match.getAgencyNo();
+            }
+        }
+        if (agencyNo != null) {
+            result.add(agencyNo);
+        }
+        if (address != null && !address.isEmpty()) {
+            Agency region = findRegion(address.split(" ")[0]);
+            if (region != null) {
+                result.add(region.getAgencyNo());
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * 카테고리 담당 중앙 부처명 (없으면 null)
+     */
+    public String centralAgencyNameForCategory(String category) {
+        return category != null ? CATEGORY_AGENCY.get(normalizeCategory(category)) : null;
+    }
+
+    public Agency centralAgencyForCategory(String category) {
+        String name = centralAgencyNameForCategory(category);
+        return name != null ? snapshot.byName.get(name) : null;
+    }
+
+    private static String normalizeCategory(String category) {
+        return category.replace("·", "").replace(" ", "");
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = build(List.of());
+
+        final List<Agency> agencies;
+        final Map<Long, Agency> byNo;
+        final Map<String, Agency> byName;
+        final Trie namePrefixes;
+        final Trie regionAliases;
+
+        private Snapshot(List<Agency> agencies, Map<Long, Agency> byNo, Map<String, Agency> byName,
+                Trie namePrefixes, Trie regionAliases) {
+            this.agencies = agencies;
+            this.byNo = byNo;
+            this.byName = byName;
+            this.namePrefixes = namePrefixes;
+            this.regionAliases = regionAliases;
+        }
+
+        static Snapshot build(List<Agency> agencies) {
+            Map<Long, Agency> byNo = new HashMap<>();
+            Map<String, Agency> byName = new HashMap<>();
+            Trie namePrefixes = new Trie();
+            Trie regionAliases = new Trie();
+
+            // agency_no 오름차순이므로 이름 중복 시 먼저 등록된 기관 유지
+            for (Agency agency : agencies) {
+                byNo.put(agency.getAgencyNo(), agency);
+                byName.putIfAbsent(agency.getAgencyName(), agency);
+                namePrefixes.putPrefixes(agency.getAgencyName(), agency);
+            }
+
+            for (Agency agency : agencies) {
+                if (!"LOCAL".equals(agency.getAgencyType())) {
+                    continue;
+                }
+                String name = agency.getAgencyName();
+                regionAliases.putTerminal(name, agency);
+                for (String suffix : REGION_SUFFIXES) {
+                    if (name.endsWith(suffix) && name.length() > suffix.length() + 1) {
+                        regionAliases.putTerminal(name.substring(0, name.length() - suffix.length()), agency);
+                        break;
+                    }
+                }
+            }
+            EXTRA_REGION_ALIASES.forEach((alias, canonical) -> {
+                Agency agency = byName.get(canonical);
+                if (agency != null) {
+                    regionAliases.putTerminal(alias, agency);
+                }
+            });
+
+            return new Snapshot(List.copyOf(agencies), byNo, byName,
+                    namePrefixes, regionAliases);
+        }
+    }
+
+    /**
+     * 문자 단위 trie (스냅샷 생성 후에는 읽기 전용)
+     * - terminal: 이 위치에서 끝나는 별칭의 기관
+     * - first: 이 접두사로 시작하는 기관 중 가장 먼저 등록된 기관
+     */
+    private static final class Trie {
+        private final Map<Character, Trie> children = new HashMap<>();
+        private Agency terminal;
+        private Agency first;
+
+        void putTerminal(String key, Agency agency) {
+            Trie node = this;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Trie());
+            }
+            if (node.terminal == null) {
+                node.terminal = agency;
+            }
+        }
+
+        void putPrefixes(String key, Agency agency) {
+            Trie node = this;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Trie());
+                if (node.first == null) {
+                    node.first = agency;
+                }
+            }
+        }
+
+        /**
+         * text 의 접두사 중 가장 긴 별칭의 기관
+         */
+        Agency longestPrefixOf(String text) {
+            Trie node = this;
+            Agency match = null;
+            for (int i = 0; i < text.length(); i++) {
+                node = node.children.get(text.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                if (node.terminal != null) {
+                    match = node.terminal;
+                }
+            }
+            return match;
+        }
+
+        /**
+         * prefix 로 시작하는 기관 중 가장 먼저 등록된 기관
+         */
+        Agency descendantOf(String prefix) {
+            Trie node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.get(prefix.charAt(i));
+                if (node == null) {
+                    return null;
+                }
+            }
+            return node.first;
+        }
+    }
+}
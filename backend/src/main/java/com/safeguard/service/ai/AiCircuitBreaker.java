@@ -0,0 +1,109 @@
+package com.safeguard.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * 최근 window 건 기준 실패율 차단기
+ *
+ * - CLOSED: 최근 호출 중 실패율이 failure-rate(%) 이상이면 OPEN (최소 minimum-calls 건 이후)
+ * - OPEN: open-ms 동안 호출 차단 → 이후 HALF_OPEN
+ * - HALF_OPEN: 시험 호출 1건만 허용, 성공하면 CLOSED / 실패하면 다시 OPEN
+ */
+class AiCircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureRatePercent;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final boolean[] outcomes;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    AiCircuitBreaker(int failureRatePercent, int window, int minimumCalls, long openMs) {
+        this.failureRatePercent = failureRatePercent;
+        this.minimumCalls = Math.min(minimumCalls, window);
+        this.openNanos = openMs * 1_000_000L;
+        this.outcomes = new boolean[window];
+    }
+
+    /**
+     * 호출 허용 여부 (HALF_OPEN 에서는 시험 호출 1건만)
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && failures * 100 >= failureRatePercent * recorded) {
+            open();
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        trialInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        trialInFlight = false;
+        Arrays.fill(outcomes, false);
+    }
+}
@@ -0,0 +1,262 @@
+package com.safeguard.service.ai;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * AI 서비스 하나에 대한 클라이언트 (AiClientFactory 에서 서비스별로 생성)
+ *
+ * - 호출 순서: bulkhead(동시 호출 한도) → 차단기 → 복제본 선택(최소 진행 요청) → 요청 (pooled keep-alive, connect/read 타임아웃)
+ * - 한도 초과/차단기 열림은 요청을 보내지 않고 바로 AiServiceException
+ * - 5xx/타임아웃/연결 실패만 차단기/복제본 실패로 기록 (4xx 는 요청 문제이므로 제외)
+ * - postHedged: 응답이 hedge.after-ms 안에 오지 않으면 다른 복제본에 같은 요청을 한 번 더 보내고 먼저 온 성공 응답 사용
+ *   (멱등 요청 전용, 전체 호출의 hedge.max-ratio 이내)
+ * - 메트릭: ai.client.requests(service, endpoint, outcome), ai.client.rejections(service, reason), ai.client.hedges(service, result)
+ */
+@Slf4j
+public class AiClient {
+
+    @Getter
+    private final String name;
+    private final AiEndpointPool endpoints;
+    private final RestTemplate restTemplate;
+    // 스트리밍 호출용 (RestTemplate 과 같은 연결 풀)
+    @Getter
+    private final HttpClient httpClient;
+    // 동시 호출 한도 (스트리밍처럼 호출 하나를 오래 점유하는 쪽이 자기 한도를 이보다 작게 잡는 데 사용)
+    @Getter
+    private final int maxConcurrent;
+    private final Semaphore bulkhead;
+    private final long acquireTimeoutMs;
+    private final AiCircuitBreaker breaker;
+    private final MeterRegistry meterRegistry;
+
+    // 헤징 (after-ms 0 이면 사용 안 함)
+    private final long hedgeAfterMs;
+    private final double hedgeMaxRatio;
+    private final Executor hedgeExecutor;
+    private final AtomicLong hedgeCalls = new AtomicLong();
+    private final AtomicLong hedgesSent = new AtomicLong();
+
+    AiClient(String name, AiEndpointPool endpoints, RestTemplate restTemplate, HttpClient httpClient,
+            int maxConcurrent, long acquireTimeoutMs, AiCircuitBreaker breaker, long hedgeAfterMs,
+            double hedgeMaxRatio, Executor hedgeExecutor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.endpoints = endpoints;
+        this.restTemplate = restTemplate;
+        this.httpClient = httpClient;
+        this.maxConcurrent = maxConcurrent;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.breaker = breaker;
+        this.hedgeAfterMs = hedgeAfterMs;
+        this.hedgeMaxRatio = hedgeMaxRatio;
+        this.hedgeExecutor = hedgeExecutor;
+        this.meterRegistry = meterRegistry;
+
+        meterRegistry.gauge("ai.client.inflight", Tags.of("service", name),
+                bulkhead, b -> maxConcurrent - b.availablePermits());
+        meterRegistry.gauge("ai.client.circuit.state", Tags.of("service", name),
+                breaker, b -> b.getState().ordinal());
+    }
+
+    /**
+     * 선택된 복제본 baseUrl + endpoint 로 POST (body 는 JSON 객체 또는 multipart HttpEntity)
+     */
+    public <T> T post(String endpoint, Object body, Class<T> responseType) {
+        return execute(endpoint, baseUrl -> restTemplate.postForObject(baseUrl + endpoint, body, responseType));
+    }
+
+    /**
+     * post + 느린 응답 헤징 (복제본이 하나뿐이거나 헤징을 끈 경우 post 와 같음)
+     */
+    public <T> T postHedged(String endpoint, Object body, Class<T> responseType) {
+        Function<String, T> call = baseUrl -> restTemplate.postForObject(baseUrl + endpoint, body, responseType);
+        if (hedgeAfterMs <= 0 || endpoints.size() < 2) {
+            return execute(endpoint, call);
+        }
+        hedgeCalls.incrementAndGet();
+        AtomicReference<AiEndpoint> primaryTarget = new AtomicReference<>();
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(
+                () -> invoke(endpoint, call, null, primaryTarget::set), hedgeExecutor);
+        try {
+            return primary.get(hedgeAfterMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 지연 → 아래에서 헤지 여부 판단
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AiServiceException(name, AiServiceException.Reason.UNAVAILABLE, name + " 호출 중단", e);
+        }
+
+        AiEndpoint avoid = primaryTarget.get();
+        if (avoid == null || !endpoints.hasAlternative(avoid)
+                || hedgesSent.get() + 1 > hedgeMaxRatio * hedgeCalls.get()) {
+            hedgeCounter("skipped");
+            return await(primary);
+        }
+        hedgesSent.incrementAndGet();
+        hedgeCounter("sent");
+        CompletableFuture<T> hedge = CompletableFuture.supplyAsync(
+                () -> invoke(endpoint, call, avoid, null), hedgeExecutor);
+
+        // 먼저 성공한 응답 사용, 둘 다 실패하면 나중 실패를 전달 (진 쪽은 응답까지 진행 후 버림)
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((result, error) -> settle(first, result, error, failures, "won_primary"));
+        hedge.whenComplete((result, error) -> settle(first, result, error, failures, "won_hedge"));
+        return await(first);
+    }
+
+    /**
+     * 직접 요청을 만드는 호출 (스트리밍 등), call 에는 선택된 복제본 baseUrl 이 전달됨
+     */
+    public <T> T execute(String endpoint, Function<String, T> call) {
+        return invoke(endpoint, call, null, null);
+    }
+
+    /**
+     * 배제된 복제본 헬스 체크 (AiClientFactory 스케줄러)
+     */
+    void probeEndpoints(Duration timeout) {
+        endpoints.probe(httpClient, timeout);
+    }
+
+    private <T> T invoke(String endpoint, Function<String, T> call, AiEndpoint avoid,
+            Consumer<AiEndpoint> onSelect) {
+        acquire(endpoint);
+        AiEndpoint target = endpoints.acquire(avoid);
+        if (onSelect != null) {
+            onSelect.accept(target);
+        }
+        log.debug("[AiClient] {} {}{} 호출 (진행 중 {}건)", name, target.url(), endpoint, target.inflight());
+        long start = System.nanoTime();
+        String outcome = "success";
+        boolean failed = false;
+        try {
+            T result = call.apply(target.url());
+            breaker.onSuccess();
+            return result;
+        } catch (HttpClientErrorException e) {
+            outcome = "client_error";
+            breaker.onSuccess();
+            throw e;
+        } catch (ResourceAccessException e) {
+            boolean timeout = isTimeout(e);
+            outcome = timeout ? "timeout" : "io_error";
+            failed = true;
+            breaker.onFailure();
+            throw new AiServiceException(name, timeout ? AiServiceException.Reason.TIMEOUT
+                    : AiServiceException.Reason.UNAVAILABLE, name + " 서버 응답 없음: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            outcome = "error";
+            failed = true;
+            breaker.onFailure();
+            throw e;
+        } finally {
+            endpoints.release(target, failed);
+            bulkhead.release();
+            Timer.builder("ai.client.requests")
+                    .tag("service", name)
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void acquire(String endpoint) {
+        boolean permitted;
+        try {
+            permitted = acquireTimeoutMs > 0
+                    ? bulkhead.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)
+                    : bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            reject("bulkhead_full");
+            throw new AiServiceException(name, AiServiceException.Reason.BULKHEAD_FULL,
+                    name + " 서버 동시 요청 한도 초과", null);
+        }
+        if (!breaker.tryAcquire()) {
+            bulkhead.release();
+            reject("circuit_open");
+            throw new AiServiceException(name, AiServiceException.Reason.CIRCUIT_OPEN,
+                    name + " 서버 일시 차단 중 (연속 실패)", null);
+        }
+    }
+
+    private <T> void settle(CompletableFuture<T> first, T result, Throwable error, AtomicInteger failures,
+            String winner) {
+        if (error == null) {
+            if (first.complete(result)) {
+                hedgeCounter(winner);
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(error);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AiServiceException(name, AiServiceException.Reason.UNAVAILABLE, name + " 호출 중단", e);
+        }
+    }
+
+    private RuntimeException unwrap(Throwable e) {
+        Throwable t = e;
+        while ((t instanceof ExecutionException || t instanceof CompletionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        return t instanceof RuntimeException r ? r
+                : new AiServiceException(name, AiServiceException.Reason.UNAVAILABLE, name + " 호출 실패", t);
+    }
+
+    private void hedgeCounter(String result) {
+        meterRegistry.counter("ai.client.hedges", "service", name, "result", result).increment();
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter("ai.client.rejections", "service", name, "reason", reason).increment();
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof HttpTimeoutException || t instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
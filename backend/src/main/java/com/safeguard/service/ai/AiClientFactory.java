@@ -0,0 +1,110 @@
+package com.safeguard.service.ai;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 서버별 AiClient 생성/공유 (yolo, rag, stt)
+ *
+ * - 서비스마다 별도 JDK HttpClient → 연결 풀(keep-alive)이 분리되어 한 서버 장애가 다른 서버 호출에 영향 없음
+ * - ai.&lt;name&gt;.url 은 쉼표로 여러 복제본 지정 가능 (외부 로드밸런서 없이 클라이언트에서 분산)
+ * - 설정: ai.&lt;name&gt;.url / connect-timeout-ms / read-timeout-ms / max-concurrent / acquire-timeout-ms
+ *   / breaker.failure-rate / breaker.window / breaker.minimum-calls / breaker.open-ms
+ *   / eject.consecutive-failures / eject.base-ms / eject.max-ms / health-path / hedge.after-ms / hedge.max-ratio
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiClientFactory {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AiClient> clients = new ConcurrentHashMap<>();
+
+    // 헤징 요청 전용 (동시 실행 수는 서비스별 bulkhead 가 제한)
+    private final AtomicInteger hedgeThreadSeq = new AtomicInteger();
+    private final ExecutorService hedgeExecutor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "ai-hedge-" + hedgeThreadSeq.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    public AiClient get(String name) {
+        return clients.computeIfAbsent(name, this::create);
+    }
+
+    /**
+     * 배제된 복제본 헬스 체크 (비동기 요청만 보내고 바로 반환)
+     */
+    @Scheduled(fixedDelayString = "${ai.health-check.interval-ms:5000}")
+    public void probeEjected() {
+        Duration timeout = Duration.ofMillis(environment.getProperty("ai.health-check.timeout-ms", Long.class, 2_000L));
+        clients.values().forEach(client -> client.probeEndpoints(timeout));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    private AiClient create(String name) {
+        String prefix = "ai." + name + ".";
+        List<String> urls = Arrays.stream(environment.getRequiredProperty(prefix + "url").split(","))
+                .map(String::trim)
+                .filter(u -> !u.isEmpty())
+                .toList();
+        if (urls.isEmpty()) {
+            throw new IllegalStateException(prefix + "url 이 비어 있습니다.");
+        }
+        long connectTimeoutMs = environment.getProperty(prefix + "connect-timeout-ms", Long.class, 2_000L);
+        long readTimeoutMs = environment.getProperty(prefix + "read-timeout-ms", Long.class, 10_000L);
+        int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class, 16);
+        long acquireTimeoutMs = environment.getProperty(prefix + "acquire-timeout-ms", Long.class, 100L);
+
+        AiCircuitBreaker breaker = new AiCircuitBreaker(
+                environment.getProperty(prefix + "breaker.failure-rate", Integer.class, 50),
+                environment.getProperty(prefix + "breaker.window", Integer.class, 20),
+                environment.getProperty(prefix + "breaker.minimum-calls", Integer.class, 10),
+                environment.getProperty(prefix + "breaker.open-ms", Long.class, 30_000L));
+
+        AiEndpointPool endpoints = new AiEndpointPool(name, urls,
+                environment.getProperty(prefix + "eject.consecutive-failures", Integer.class, 3),
+                environment.getProperty(prefix + "eject.base-ms", Long.class, 10_000L),
+                environment.getProperty(prefix + "eject.max-ms", Long.class, 120_000L),
+                environment.getProperty(prefix + "health-path", "/health"),
+                meterRegistry);
+        long hedgeAfterMs = environment.getProperty(prefix + "hedge.after-ms", Long.class, 0L);
+        double hedgeMaxRatio = environment.getProperty(prefix + "hedge.max-ratio", Double.class, 0.1);
+
+        // Python 서버(uvicorn/flask)와 h2c 업그레이드 협상을 피하기 위해 HTTP/1.1 고정
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        log.info("[AiClient] {} - url: {}, connect {}ms, read {}ms, 동시 {}건, 헤징 {}ms", name, urls,
+                connectTimeoutMs, readTimeoutMs, maxConcurrent, hedgeAfterMs);
+        return new AiClient(name, endpoints, new RestTemplate(requestFactory), httpClient, maxConcurrent,
+                acquireTimeoutMs, breaker, hedgeAfterMs, hedgeMaxRatio, hedgeExecutor, meterRegistry);
+    }
+}
@@ -0,0 +1,97 @@
+package com.safeguard.service.ai;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 서버 복제본 하나 (ai.&lt;name&gt;.url 목록의 한 항목) 의 부하/장애 상태
+ *
+ * - inflight: 이 복제본에 보내고 아직 응답을 받지 못한 요청 수 (최소 부하 선택 기준)
+ * - 연속 실패가 consecutive-failures 에 도달하면 배제, 배제 시간은 반복될수록 2배 (max-ms 상한)
+ * - 배제 시간이 지나고 헬스 체크가 성공해야 복귀 (헬스 경로가 없으면 시간만으로 복귀)
+ */
+class AiEndpoint {
+
+    private final String url;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private int consecutiveFailures;
+    private int ejections;
+    private boolean ejected;
+    private long ejectedUntil;
+    private boolean probePassed;
+
+    AiEndpoint(String url) {
+        this.url = url;
+    }
+
+    String url() {
+        return url;
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+
+    void begin() {
+        inflight.incrementAndGet();
+    }
+
+    void end() {
+        inflight.decrementAndGet();
+    }
+
+    synchronized boolean isAvailable() {
+        if (!ejected) {
+            return true;
+        }
+        if (probePassed && System.nanoTime() - ejectedUntil >= 0) {
+            readmit();
+            return true;
+        }
+        return false;
+    }
+
+    synchronized boolean isEjected() {
+        return ejected;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (!ejected) {
+            ejections = 0;
+        }
+    }
+
+    /**
+     * @return 이번 실패로 새로 배제되었으면 true
+     */
+    synchronized boolean onFailure(int threshold, long baseMs, long maxMs, boolean probeEnabled) {
+        consecutiveFailures++;
+        if (ejected || consecutiveFailures < threshold) {
+            return false;
+        }
+        long durationMs = Math.min(maxMs, baseMs << Math.min(ejections, 20));
+        ejections++;
+        ejected = true;
+        ejectedUntil = System.nanoTime() + durationMs * 1_000_000L;
+        probePassed = !probeEnabled;
+        return true;
+    }
+
+    /**
+     * @return 배제 중 처음으로 헬스 체크가 성공했으면 true
+     */
+    synchronized boolean onProbe(boolean healthy) {
+        if (!ejected) {
+            return false;
+        }
+        boolean recovered = healthy && !probePassed;
+        probePassed = healthy;
+        return recovered;
+    }
+
+    private void readmit() {
+        ejected = false;
+        consecutiveFailures = 0;
+    }
+}
@@ -0,0 +1,139 @@
+package com.safeguard.service.ai;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 서비스 하나의 복제본 목록 + 최소 진행 요청(least outstanding requests) 선택
+ *
+ * - 배제되지 않은 복제본 중 inflight 가 가장 적은 곳 (동률이면 무작위 → 첫 번째 복제본 쏠림 방지)
+ * - 모두 배제된 경우 전체 중에서 선택 (패닉 모드: 일부 오탐 배제로 서비스 전체가 멈추지 않도록, 서비스 차단기가 최종 판단)
+ * - 헬스 체크는 배제된 복제본만 비동기 GET (AiClientFactory 스케줄러가 주기 호출)
+ * - 메트릭: ai.client.endpoint.inflight / ai.client.endpoint.ejected (service, endpoint), ai.client.endpoint.ejections
+ */
+@Slf4j
+class AiEndpointPool {
+
+    private final String service;
+    private final List<AiEndpoint> endpoints;
+    private final int ejectThreshold;
+    private final long ejectBaseMs;
+    private final long ejectMaxMs;
+    private final String healthPath;
+    private final MeterRegistry meterRegistry;
+
+    AiEndpointPool(String service, List<String> urls, int ejectThreshold, long ejectBaseMs, long ejectMaxMs,
+            String healthPath, MeterRegistry meterRegistry) {
+        this.service = service;
+        this.endpoints = urls.stream().map(AiEndpoint::new).toList();
+        this.ejectThreshold = ejectThreshold;
+        this.ejectBaseMs = ejectBaseMs;
+        this.ejectMaxMs = ejectMaxMs;
+        this.healthPath = healthPath;
+        this.meterRegistry = meterRegistry;
+
+        for (AiEndpoint endpoint : endpoints) {
+            Tags tags = Tags.of("service", service, "endpoint", endpoint.url());
+            meterRegistry.gauge("ai.client.endpoint.inflight", tags, endpoint, AiEndpoint::inflight);
+            meterRegistry.gauge("ai.client.endpoint.ejected", tags, endpoint, e -> e.isEjected() ? 1 : 0);
+        }
+    }
+
+    int size() {
+        return endpoints.size();
+    }
+
+    /**
+     * 요청 보낼 복제본 선택 + inflight 증가 (호출자는 반드시 release)
+     *
+     * @param avoid 제외할 복제본 (헤징 시 1차 요청 복제본, 없으면 null)
+     */
+    AiEndpoint acquire(AiEndpoint avoid) {
+        AiEndpoint chosen = pick(avoid, true);
+        if (chosen == null) {
+            chosen = pick(avoid, false);
+        }
+        if (chosen == null) {
+            chosen = endpoints.get(0);
+        }
+        chosen.begin();
+        return chosen;
+    }
+
+    /**
+     * 헤징에 쓸 다른 정상 복제본이 있는지
+     */
+    boolean hasAlternative(AiEndpoint avoid) {
+        return pick(avoid, true) != null;
+    }
+
+    void release(AiEndpoint endpoint, boolean failed) {
+        endpoint.end();
+        if (!failed) {
+            endpoint.onSuccess();
+            return;
+        }
+        // 복제본이 하나뿐이면 배제하지 않음 (서비스 차단기가 담당)
+        if (endpoints.size() > 1
+                && endpoint.onFailure(ejectThreshold, ejectBaseMs, ejectMaxMs, !healthPath.isBlank())) {
+            meterRegistry.counter("ai.client.endpoint.ejections", "service", service, "endpoint", endpoint.url())
+                    .increment();
+            log.warn("[AiClient] {} 복제본 배제 (연속 실패 {}회): {}", service, ejectThreshold, endpoint.url());
+        }
+    }
+
+    /**
+     * 배제된 복제본 헬스 체크 (응답은 HttpClient 스레드에서 처리, 스케줄러 스레드를 막지 않음)
+     */
+    void probe(HttpClient httpClient, Duration timeout) {
+        if (healthPath.isBlank() || endpoints.size() < 2) {
+            return;
+        }
+        for (AiEndpoint endpoint : endpoints) {
+            if (!endpoint.isEjected()) {
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint.url() + healthPath))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        boolean healthy = error == null && response.statusCode() / 100 == 2;
+                        if (endpoint.onProbe(healthy)) {
+                            log.info("[AiClient] {} 복제본 헬스 체크 성공 (배제 시간 후 복귀): {}", service, endpoint.url());
+                        }
+                    });
+        }
+    }
+
+    private AiEndpoint pick(AiEndpoint avoid, boolean availableOnly) {
+        AiEndpoint best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        int ties = 0;
+        for (AiEndpoint endpoint : endpoints) {
+            if (endpoint == avoid || (availableOnly && !endpoint.isAvailable())) {
+                continue;
+            }
+            int load = endpoint.inflight();
+            if (load < bestLoad) {
+                best = endpoint;
+                bestLoad = load;
+                ties = 1;
+            } else if (load == bestLoad && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                // 동률 복제본 중 균등 선택 (reservoir sampling)
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+}
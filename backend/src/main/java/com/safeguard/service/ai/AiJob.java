@@ -0,0 +1,99 @@
+package com.safeguard.service.ai;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * AI 분석 작업 (AiJobService 에서 생성, 조회 API 응답으로 그대로 직렬화)
+ */
+@Getter
+public class AiJob implements Comparable<AiJob> {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    private final String jobId;
+    private final String model;
+    private final AiJobPriority priority;
+    private final Instant submittedAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Object result;
+    private volatile String error;
+
+    @Getter(AccessLevel.NONE)
+    private final long seq;
+    @Getter(AccessLevel.NONE)
+    private final long enqueuedNanos = System.nanoTime();
+    // 입력 크기 (큐 바이트 한도 계산용), 실행이 끝나면 task 를 비워 보관 중인 작업이 입력을 붙잡지 않게 함
+    @Getter(AccessLevel.NONE)
+    private final long payloadBytes;
+    @Getter(AccessLevel.NONE)
+    private volatile Supplier<Object> task;
+    @Getter(AccessLevel.NONE)
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    AiJob(String jobId, String model, AiJobPriority priority, long seq, long payloadBytes, Supplier<Object> task) {
+        this.jobId = jobId;
+        this.model = model;
+        this.priority = priority;
+        this.seq = seq;
+        this.payloadBytes = payloadBytes;
+        this.task = task;
+    }
+
+    public boolean isDone() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+
+    @Override
+    public int compareTo(AiJob other) {
+        int byPriority = priority.compareTo(other.priority);
+        return byPriority != 0 ? byPriority : Long.compare(seq, other.seq);
+    }
+
+    long waitedNanos() {
+        return System.nanoTime() - enqueuedNanos;
+    }
+
+    Supplier<Object> task() {
+        return task;
+    }
+
+    long payloadBytes() {
+        return payloadBytes;
+    }
+
+    void releaseTask() {
+        task = null;
+    }
+
+    List<SseEmitter> emitters() {
+        return emitters;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void succeeded(Object value) {
+        result = value;
+        finishedAt = Instant.now();
+        status = Status.SUCCEEDED;
+    }
+
+    void failed(String message) {
+        error = message;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+}
@@ -0,0 +1,11 @@
+package com.safeguard.service.ai;
+
+/**
+ * AI 작업 우선순위 (같은 우선순위는 접수 순, 클라이언트가 지정하지 않고 서버가 호출자로 결정)
+ * - HIGH: 작성 화면에서 결과를 기다리는 일반 사용자(USER)
+ * - NORMAL: 기관/관리자 화면 (AGENCY, ADMIN)
+ * - LOW: 비로그인 호출, 일괄 재분석 등 지연 허용 작업 (서버 내부 호출은 AiJobService.submit 에 직접 지정)
+ */
+public enum AiJobPriority {
+    HIGH, NORMAL, LOW
+}
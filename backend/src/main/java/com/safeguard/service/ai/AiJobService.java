@@ -0,0 +1,251 @@
+package com.safeguard.service.ai;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 비동기 AI 분석 작업 큐
+ *
+ * - 모델(yolo, rag, stt)마다 우선순위 큐 + 고정 워커 수 (ai.jobs.&lt;model&gt;.workers = 모델 서버 처리 능력)
+ * - 큐 크기 제한(queue-capacity) 또는 입력 바이트 한도(max-queued-bytes, 대기+실행 중 작업의 이미지/음성 합계) 초과 시 즉시 503
+ *   대기 시간이 max-queue-wait-ms 를 넘은 작업은 실행하지 않고 실패 처리
+ * - 요청 스레드는 접수만 하고 반환 → 추론 시간 동안 서블릿 스레드를 점유하지 않음
+ * - 결과는 폴링(GET /api/ai/jobs/{id}) 또는 SSE(/events)로 전달, 완료 후 retain-ms 동안 보관 (단일 인스턴스 메모리)
+ * - 메트릭: ai.jobs.queue.depth, ai.jobs.queue.bytes, ai.jobs.wait, ai.jobs.run, ai.jobs.rejected, ai.jobs.workers.busy
+ *   (태그 model)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiJobService {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.jobs.retain-ms:600000}")
+    private long retainMs;
+
+    @Value("${ai.jobs.max-queue-wait-ms:60000}")
+    private long maxQueueWaitMs;
+
+    private final class Lane {
+        final String model;
+        final PriorityBlockingQueue<AiJob> queue = new PriorityBlockingQueue<>();
+        final Semaphore capacity;
+        final long maxQueuedBytes;
+        final AtomicLong queuedBytes = new AtomicLong();
+        final AtomicInteger busy = new AtomicInteger();
+        final List<Thread> workers = new ArrayList<>();
+        final Timer waitTimer;
+
+        Lane(String model) {
+            this.model = model;
+            int workerCount = environment.getProperty("ai.jobs." + model + ".workers", Integer.class, 2);
+            int queueCapacity = environment.getProperty("ai.jobs." + model + ".queue-capacity", Integer.class, 100);
+            this.capacity = new Semaphore(queueCapacity);
+            this.maxQueuedBytes = environment.getProperty("ai.jobs." + model + ".max-queued-bytes", Long.class,
+                    64L * 1024 * 1024);
+            this.waitTimer = Timer.builder("ai.jobs.wait")
+                    .description("접수부터 실행 시작까지 대기 시간")
+                    .tag("model", model)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            meterRegistry.gauge("ai.jobs.queue.depth", Tags.of("model", model), queue, PriorityBlockingQueue::size);
+            meterRegistry.gauge("ai.jobs.queue.bytes", Tags.of("model", model), queuedBytes);
+            meterRegistry.gauge("ai.jobs.workers.busy", Tags.of("model", model), busy);
+
+            for (int i = 1; i <= workerCount; i++) {
+                Thread t = new Thread(this::work, "ai-job-" + model + "-" + i);
+                t.setDaemon(true);
+                t.start();
+                workers.add(t);
+            }
+            log.info("[AiJob] {} 작업 큐 시작 - 워커 {}개, 대기 한도 {}건 / {} bytes", model, workerCount,
+                    queueCapacity, maxQueuedBytes);
+        }
+
+        boolean reserveBytes(long bytes) {
+            if (queuedBytes.addAndGet(bytes) > maxQueuedBytes) {
+                queuedBytes.addAndGet(-bytes);
+                return false;
+            }
+            return true;
+        }
+
+        void work() {
+            while (!Thread.currentThread().isInterrupted()) {
+                AiJob job;
+                try {
+                    job = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                capacity.release();
+                busy.incrementAndGet();
+                try {
+                    run(this, job);
+                } finally {
+                    busy.decrementAndGet();
+                    queuedBytes.addAndGet(-job.payloadBytes());
+                    job.releaseTask();
+                }
+            }
+        }
+    }
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, AiJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong seq = new AtomicLong();
+
+    @PreDestroy
+    void shutdown() {
+        lanes.values().forEach(lane -> lane.workers.forEach(Thread::interrupt));
+    }
+
+    /**
+     * 작업 접수 (큐 건수/바이트 한도 초과 시 AiServiceException → 503)
+     *
+     * @param payloadBytes task 가 붙잡고 있는 입력 크기 (이미지/음성 바이트, 텍스트는 0 에 가까움)
+     */
+    public AiJob submit(String model, AiJobPriority priority, long payloadBytes, Supplier<Object> task) {
+        Lane lane = lanes.computeIfAbsent(model, Lane::new);
+        if (!lane.capacity.tryAcquire()) {
+            meterRegistry.counter("ai.jobs.rejected", "model", model, "reason", "queue_full").increment();
+            throw new AiServiceException(model, AiServiceException.Reason.BULKHEAD_FULL,
+                    model + " 분석 대기열이 가득 찼습니다.", null);
+        }
+        if (!lane.reserveBytes(payloadBytes)) {
+            lane.capacity.release();
+            meterRegistry.counter("ai.jobs.rejected", "model", model, "reason", "queue_bytes").increment();
+            throw new AiServiceException(model, AiServiceException.Reason.BULKHEAD_FULL,
+                    model + " 분석 대기열이 가득 찼습니다.", null);
+        }
+        AiJob job = new AiJob(UUID.randomUUID().toString(), model, priority, seq.incrementAndGet(), payloadBytes,
+                task);
+        jobs.put(job.getJobId(), job);
+        lane.queue.add(job);
+        return job;
+    }
+
+    public AiJob get(String jobId) {
+        AiJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "작업을 찾을 수 없습니다.");
+        }
+        return job;
+    }
+
+    /**
+     * 작업 상태 SSE (status: 실행 시작, done: 완료/실패 후 연결 종료)
+     */
+    public SseEmitter subscribe(String jobId) {
+        AiJob job = get(jobId);
+        SseEmitter emitter = new SseEmitter(maxQueueWaitMs + TimeUnit.MINUTES.toMillis(5));
+        synchronized (job) {
+            try {
+                emitter.send(SseEmitter.event().name(job.isDone() ? "done" : "status").data(job));
+                if (job.isDone()) {
+                    emitter.complete();
+                    return emitter;
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+            job.emitters().add(emitter);
+        }
+        emitter.onCompletion(() -> job.emitters().remove(emitter));
+        emitter.onTimeout(() -> job.emitters().remove(emitter));
+        return emitter;
+    }
+
+    /**
+     * 완료 후 보관 기간이 지난 작업 정리
+     */
+    @Scheduled(fixedDelayString = "${ai.jobs.sweep-interval-ms:60000}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minusMillis(retainMs);
+        jobs.values().removeIf(job -> job.isDone() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void run(Lane lane, AiJob job) {
+        long waited = job.waitedNanos();
+        lane.waitTimer.record(waited, TimeUnit.NANOSECONDS);
+        if (waited > TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs)) {
+            meterRegistry.counter("ai.jobs.rejected", "model", lane.model, "reason", "wait_timeout").increment();
+            finish(job, null, "대기 시간이 초과되었습니다. 다시 요청해 주세요.");
+            return;
+        }
+
+        synchronized (job) {
+            job.started();
+            notify(job, "status");
+        }
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            finish(job, job.task().get(), null);
+        } catch (AiServiceException e) {
+            outcome = "unavailable";
+            finish(job, null, "AI 서버가 혼잡합니다. 잠시 후 다시 시도해주세요.");
+        } catch (RuntimeException e) {
+            outcome = "error";
+            log.warn("[AiJob] {} 작업 {} 실패: {}", lane.model, job.getJobId(), e.getMessage());
+            finish(job, null, e.getMessage() != null ? e.getMessage() : "AI 분석 중 오류가 발생했습니다.");
+        } finally {
+            Timer.builder("ai.jobs.run")
+                    .tag("model", lane.model)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void finish(AiJob job, Object result, String error) {
+        synchronized (job) {
+            if (error == null) {
+                job.succeeded(result);
+            } else {
+                job.failed(error);
+            }
+            notify(job, "done");
+            job.emitters().forEach(SseEmitter::complete);
+            job.emitters().clear();
+        }
+    }
+
+    private void notify(AiJob job, String event) {
+        for (SseEmitter emitter : job.emitters()) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(job));
+            } catch (IOException | IllegalStateException e) {
+                job.emitters().remove(emitter);
+            }
+        }
+    }
+}
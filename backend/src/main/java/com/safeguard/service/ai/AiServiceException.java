@@ -0,0 +1,23 @@
+package com.safeguard.service.ai;
+
+import lombok.Getter;
+
+/**
+ * AI 서버 호출 실패 (동시 호출 한도 초과, 차단기 열림, 타임아웃, 연결 실패)
+ */
+@Getter
+public class AiServiceException extends RuntimeException {
+
+    public enum Reason {
+        BULKHEAD_FULL, CIRCUIT_OPEN, TIMEOUT, UNAVAILABLE
+    }
+
+    private final String service;
+    private final Reason reason;
+
+    public AiServiceException(String service, Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.service = service;
+        this.reason = reason;
+    }
+}
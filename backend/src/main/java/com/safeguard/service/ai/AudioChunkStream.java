@@ -0,0 +1,99 @@
+package com.safeguard.service.ai;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 녹음 조각 → 업스트림 요청 본문 연결 스트림
+ * - 컨트롤러 스레드가 조각을 넣고(offer), HTTP 클라이언트가 도착 순서대로 읽어 chunked 로 전송
+ * - 대기 조각 수 제한(capacity) → 전체 파일을 메모리에 모으지 않음, STT 서버가 느리면 offer 가 실패해 클라이언트가 재시도
+ * - 조각은 capacity 칸(slots)까지만 차지하고 큐의 마지막 한 칸은 EOF 용으로 남겨 둠 → 큐가 가득 차도 finish/abort 는 항상 들어감
+ */
+class AudioChunkStream extends InputStream {
+
+    private static final byte[] EOF = new byte[0];
+
+    private final int capacity;
+    // 조각용 칸 (읽는 쪽이 조각을 꺼낼 때 반환)
+    private final Semaphore slots;
+    // 조각 capacity 개 + EOF 표식용 한 칸
+    private final LinkedBlockingQueue<byte[]> chunks;
+    private byte[] current;
+    private int position;
+    private volatile boolean aborted;
+
+    AudioChunkStream(int capacity) {
+        this.capacity = capacity;
+        this.slots = new Semaphore(capacity);
+        this.chunks = new LinkedBlockingQueue<>(capacity + 1);
+    }
+
+    /**
+     * 조각 추가 (생산자는 세션당 하나, 순서 보장은 호출자 책임)
+     */
+    boolean offer(byte[] chunk, long timeoutMs) throws InterruptedException {
+        if (aborted || !slots.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        if (aborted) {
+            return false;
+        }
+        // 칸을 확보했으므로 EOF 칸을 남기고도 자리가 있음
+        return chunks.offer(chunk);
+    }
+
+    /**
+     * 마지막 조각 이후 호출 → 읽는 쪽은 -1 을 받고 요청 본문 종료
+     */
+    void finish() {
+        chunks.offer(EOF);
+    }
+
+    void abort() {
+        aborted = true;
+        chunks.clear();
+        chunks.offer(EOF);
+        // offer 대기 중인 생산자 해제
+        slots.release(capacity);
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n < 0 ? -1 : one[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (current == null || position == current.length) {
+            if (current == EOF) {
+                return -1;
+            }
+            try {
+                current = chunks.take();
+                if (current != EOF) {
+                    slots.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("audio stream interrupted");
+            }
+            position = 0;
+            if (aborted) {
+                throw new IOException("audio stream aborted");
+            }
+        }
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, n);
+        position += n;
+        return n;
+    }
+}
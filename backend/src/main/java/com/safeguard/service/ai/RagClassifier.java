@@ -0,0 +1,364 @@
+package com.safeguard.service.ai;
+
+import com.safeguard.dto.RagAnalysisRequest;
+import com.safeguard.dto.RagAnalysisResponse;
+import com.safeguard.dto.RagBatchRequest;
+import com.safeguard.dto.RagBatchResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * RAG 텍스트 분류 클라이언트 (마이크로 배치 + 결과 캐시)
+ *
+ * - 텍스트 정규화(NFKC, 공백 정리) 후 SHA-256 을 키로 메모리 LRU 캐시 조회
+ * - 미스는 큐에 넣고, 수집 스레드가 max-size 건이 모이거나 첫 요청 후 max-wait-ms 가 지나면 /classify_batch 한 번으로 전송
+ * - 동시에 보내는 배치 수는 max-inflight 로 제한 → 서버가 바쁠수록 다음 배치가 커짐
+ * - 같은 텍스트 동시 요청은 하나로 합침, 서버가 /classify_batch 를 모르면(404) 건별 /classify 로 전환
+ * - 배치 응답의 건별 실패(error)는 해당 호출자만 실패 처리하고 캐시하지 않음
+ * - 원문은 로그에 남기지 않음 (길이/해시만)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RagClassifier {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final AiClientFactory aiClientFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.rag.batch.enabled:true}")
+    private boolean batchEnabled;
+
+    @Value("${ai.rag.batch.max-size:16}")
+    private int maxBatchSize;
+
+    @Value("${ai.rag.batch.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${ai.rag.batch.max-inflight:4}")
+    private int maxInflight;
+
+    @Value("${ai.rag.batch.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // 큐 대기 + 배치 호출을 합친 호출자 대기 한도
+    @Value("${ai.rag.batch.caller-timeout-ms:20000}")
+    private long callerTimeoutMs;
+
+    @Value("${ai.rag.cache.memory-entries:5000}")
+    private int cacheEntries;
+
+    @Value("${ai.rag.cache.ttl-ms:3600000}")
+    private long cacheTtlMs;
+
+    // 모델/인덱스 교체 시 값을 바꾸면 이전 결과는 무시됨
+    @Value("${ai.rag.cache.model-version:v1}")
+    private String modelVersion;
+
+    private record Pending(String key, String text, CompletableFuture<RagAnalysisResponse> future, long enqueuedAt) {
+    }
+
+    private record Entry(RagAnalysisResponse result, long expiresAtNanos) {
+        boolean expired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+
+    private final Map<String, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > cacheEntries;
+        }
+    };
+
+    private final Map<String, CompletableFuture<RagAnalysisResponse>> inflight = new ConcurrentHashMap<>();
+
+    private AiClient aiClient;
+    private BlockingQueue<Pending> queue;
+    private Semaphore batchPermits;
+    private ExecutorService senders;
+    private Thread collector;
+    private volatile boolean running;
+    // /classify_batch 미지원 서버(구버전)면 false 로 전환
+    private volatile boolean batchSupported = true;
+
+    private DistributionSummary batchSize;
+    private Timer latency;
+
+    @PostConstruct
+    void init() {
+        aiClient = aiClientFactory.get("rag");
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchPermits = new Semaphore(maxInflight);
+
+        AtomicInteger seq = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(maxInflight, r -> {
+            Thread t = new Thread(r, "rag-batch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        batchSize = DistributionSummary.builder("ai.rag.batch.size")
+                .description("/classify_batch 한 번에 보낸 텍스트 수")
+                .register(meterRegistry);
+        latency = Timer.builder("ai.rag.classify.latency")
+                .description("큐 적재부터 결과 수신까지 (캐시 미스만)")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("ai.rag.batch.queue.depth", queue, BlockingQueue::size);
+
+        if (batchEnabled) {
+            running = true;
+            collector = new Thread(this::collectLoop, "rag-batch-collector");
+            collector.setDaemon(true);
+            collector.start();
+        }
+        log.info("[RagClassifier] 배치 {} (최대 {}건, 대기 {}ms, 동시 {}배치), 캐시 {}건", batchEnabled ? "사용" : "미사용",
+                maxBatchSize, maxWaitMs, maxInflight, cacheEntries);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        if (collector != null) {
+            collector.interrupt();
+        }
+        senders.shutdownNow();
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        AiServiceException e = new AiServiceException(aiClient.getName(), AiServiceException.Reason.UNAVAILABLE,
+                "서버 종료 중", null);
+        left.forEach(p -> fail(p, e));
+    }
+
+    public RagAnalysisResponse classify(String text) {
+        String normalized = normalize(text);
+        String digest = hash(normalized);
+        String key = modelVersion + ":" + digest;
+
+        RagAnalysisResponse cached = cacheGet(key);
+        if (cached != null) {
+            count("hit");
+            return cached;
+        }
+
+        CompletableFuture<RagAnalysisResponse> mine = new CompletableFuture<>();
+        CompletableFuture<RagAnalysisResponse> leader = inflight.putIfAbsent(key, mine);
+        if (leader != null) {
+            count("coalesced");
+            return await(leader);
+        }
+        count("miss");
+        log.debug("[RagClassifier] 분류 요청 - 길이 {}, 키 {}", normalized.length(), digest.substring(0, 12));
+
+        Pending pending = new Pending(key, normalized, mine, System.nanoTime());
+        if (!batchEnabled) {
+            send(List.of(pending));
+            return await(mine);
+        }
+        if (!queue.offer(pending)) {
+            AiServiceException e = new AiServiceException(aiClient.getName(), AiServiceException.Reason.BULKHEAD_FULL,
+                    "RAG 분류 대기열이 가득 찼습니다.", null);
+            fail(pending, e);
+            throw e;
+        }
+        return await(mine);
+    }
+
+    private void collectLoop() {
+        while (running) {
+            try {
+                // 보낼 자리가 생길 때까지 기다리는 동안 큐에 요청이 쌓여 다음 배치가 커짐
+                batchPermits.acquire();
+                List<Pending> batch;
+                try {
+                    batch = nextBatch();
+                } catch (InterruptedException | RuntimeException e) {
+                    batchPermits.release();
+                    throw e;
+                }
+                if (batch.isEmpty()) {
+                    batchPermits.release();
+                    continue;
+                }
+                senders.execute(() -> {
+                    try {
+                        send(batch);
+                    } finally {
+                        batchPermits.release();
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("[RagClassifier] 배치 수집 오류", e);
+            }
+        }
+    }
+
+    private List<Pending> nextBatch() throws InterruptedException {
+        Pending first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        long deadline = first.enqueuedAt() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void send(List<Pending> batch) {
+        if (batch.size() == 1 || !batchSupported) {
+            batch.forEach(this::sendSingle);
+            return;
+        }
+        batchSize.record(batch.size());
+        try {
+            List<String> texts = batch.stream().map(Pending::text).toList();
+            RagBatchResponse response = aiClient.post("/classify_batch", new RagBatchRequest(texts),
+                    RagBatchResponse.class);
+            if (response == null || response.getResults() == null || response.getResults().size() != batch.size()) {
+                throw new IllegalStateException("RAG 배치 응답 건수가 요청과 다릅니다.");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                RagAnalysisResponse result = response.getResults().get(i);
+                if (result != null && result.getError() != null) {
+                    meterRegistry.counter("ai.rag.batch.item.errors").increment();
+                    fail(batch.get(i), new AiServiceException(aiClient.getName(),
+                            AiServiceException.Reason.UNAVAILABLE, "RAG 분류 실패: " + result.getError(), null));
+                } else {
+                    complete(batch.get(i), result);
+                }
+            }
+        } catch (HttpClientErrorException.NotFound e) {
+            log.warn("[RagClassifier] /classify_batch 미지원 서버 → 건별 호출로 전환");
+            batchSupported = false;
+            batch.forEach(this::sendSingle);
+        } catch (RuntimeException e) {
+            batch.forEach(p -> fail(p, e));
+        }
+    }
+
+    private void sendSingle(Pending pending) {
+        batchSize.record(1);
+        try {
+            complete(pending, aiClient.post("/classify", new RagAnalysisRequest(pending.text()),
+                    RagAnalysisResponse.class));
+        } catch (RuntimeException e) {
+            fail(pending, e);
+        }
+    }
+
+    private void complete(Pending pending, RagAnalysisResponse result) {
+        if (result != null) {
+            cachePut(pending.key(), result);
+        }
+        latency.record(System.nanoTime() - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        inflight.remove(pending.key(), pending.future());
+        pending.future().complete(result);
+    }
+
+    private void fail(Pending pending, RuntimeException e) {
+        inflight.remove(pending.key(), pending.future());
+        pending.future().completeExceptionally(e);
+    }
+
+    private RagAnalysisResponse await(CompletableFuture<RagAnalysisResponse> future) {
+        try {
+            return future.get(callerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AiServiceException(aiClient.getName(), AiServiceException.Reason.TIMEOUT,
+                    "RAG 분류 대기 시간 초과", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AiServiceException(aiClient.getName(), AiServiceException.Reason.UNAVAILABLE,
+                    "RAG 분류 대기 중단", e);
+        }
+    }
+
+    /**
+     * 캐시 키용 정규화: 전각/반각 통일(NFKC), 앞뒤 공백 제거, 연속 공백 1칸
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFKC)).replaceAll(" ").trim();
+    }
+
+    private static String hash(String text) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private RagAnalysisResponse cacheGet(String key) {
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry != null && entry.expired()) {
+                cache.remove(key);
+                return null;
+            }
+            return entry != null ? entry.result() : null;
+        }
+    }
+
+    private void cachePut(String key, RagAnalysisResponse result) {
+        synchronized (cache) {
+            cache.put(key, new Entry(result, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(cacheTtlMs)));
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("ai.rag.cache", "result", result).increment();
+    }
+}
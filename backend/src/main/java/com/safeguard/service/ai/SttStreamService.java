@@ -0,0 +1,427 @@
+package com.safeguard.service.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 스트리밍 음성 인식 세션 관리
+ *
+ * - open: 세션 생성과 동시에 STT 서버 /stream_voice 로 chunked 요청 시작 (본문은 AudioChunkStream)
+ * - 녹음 조각은 도착 즉시 업스트림으로 흘려보내고, STT 서버가 보내는 NDJSON 한 줄(partial/segment/final/error)을
+ *   그대로 SSE 이벤트로 브라우저에 전달
+ * - SSE 연결 전에 도착한 이벤트는 세션에 보관했다가 연결 시 재전송
+ * - 조각이 idle-timeout-ms 동안 없거나 max-duration-ms 를 넘으면 세션 중단
+ * - 업스트림 호출은 AiClient.execute 안에서 수행 → stt 동시 호출 한도/차단기 공유
+ *   세션 한도(max-sessions)는 업스트림 호출이 끝날 때 반환되는 별도 permit, stt max-concurrent 보다 작게 유지
+ *   (녹음 내내 호출 하나를 점유하므로 같으면 일괄 업로드(/process_complaint)가 모두 BULKHEAD_FULL)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SttStreamService {
+
+    private final AiClientFactory aiClientFactory;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.stt.stream.max-sessions:2}")
+    private int maxSessions;
+
+    // 세션당 업스트림 전송 대기 조각 수 (250ms 조각 기준 약 16초)
+    @Value("${ai.stt.stream.chunk-queue:64}")
+    private int chunkQueue;
+
+    @Value("${ai.stt.stream.chunk-offer-timeout-ms:2000}")
+    private long chunkOfferTimeoutMs;
+
+    @Value("${ai.stt.stream.max-bytes:10485760}")
+    private long maxBytes;
+
+    @Value("${ai.stt.stream.idle-timeout-ms:15000}")
+    private long idleTimeoutMs;
+
+    @Value("${ai.stt.stream.max-duration-ms:300000}")
+    private long maxDurationMs;
+
+    // 녹음 종료 후 최종 결과까지 기다리는 한도 (업스트림 요청 타임아웃 = max-duration-ms + 이 값)
+    @Value("${ai.stt.stream.response-timeout-ms:60000}")
+    private long responseTimeoutMs;
+
+    // 종료 후 늦게 연결한 SSE 에 결과를 재전송하기 위해 세션을 남겨두는 시간
+    @Value("${ai.stt.stream.retain-ms:30000}")
+    private long retainMs;
+
+    private enum State {
+        STREAMING, FINISHED, FAILED
+    }
+
+    private record Event(String name, String data) {
+    }
+
+    private final class Session {
+        final String id = UUID.randomUUID().toString();
+        final String contentType;
+        final long startedAt = System.nanoTime();
+        final AudioChunkStream audio = new AudioChunkStream(chunkQueue);
+        final List<Event> history = new ArrayList<>();
+        // 조각 순서/크기 검사용 (offer 대기 중에도 이벤트 전달이 막히지 않도록 세션 락과 분리)
+        final Object chunkLock = new Object();
+        volatile long lastActivity = System.nanoTime();
+        volatile State state = State.STREAMING;
+        volatile long endedAt;
+        volatile Stream<String> upstream;
+        SseEmitter emitter;
+        int nextSeq;
+        long bytes;
+        volatile boolean lastReceived;
+        boolean firstText;
+
+        Session(String contentType) {
+            this.contentType = contentType;
+        }
+    }
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private AiClient aiClient;
+    private Semaphore sessionPermits;
+    private ExecutorService workers;
+    private Timer firstTextLatency;
+
+    @PostConstruct
+    void init() {
+        aiClient = aiClientFactory.get("stt");
+        if (maxSessions >= aiClient.getMaxConcurrent()) {
+            int limited = Math.max(1, aiClient.getMaxConcurrent() - 1);
+            log.warn("[SttStream] max-sessions {} >= stt max-concurrent {} → {} 로 제한", maxSessions,
+                    aiClient.getMaxConcurrent(), limited);
+            maxSessions = limited;
+        }
+        sessionPermits = new Semaphore(maxSessions);
+        AtomicInteger seq = new AtomicInteger();
+        workers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "stt-stream-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        firstTextLatency = Timer.builder("ai.stt.stream.first_text")
+                .description("세션 시작부터 첫 부분 인식 결과까지")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("ai.stt.stream.sessions.active", sessionPermits, p -> maxSessions - p.availablePermits());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sessions.values().forEach(s -> abort(s, "서버 종료 중"));
+        workers.shutdownNow();
+    }
+
+    /**
+     * 세션 생성 + 업스트림 스트리밍 요청 시작, 세션 ID 반환
+     */
+    public String open(String contentType) {
+        // 종료 후 보관 중인 세션은 세지 않음 → 업스트림 호출이 끝나면(relay 종료) 반환
+        if (!sessionPermits.tryAcquire()) {
+            throw new AiServiceException(aiClient.getName(), AiServiceException.Reason.BULKHEAD_FULL,
+                    "동시 음성 인식 세션 한도 초과", null);
+        }
+        Session session = new Session(contentType != null && !contentType.isBlank() ? contentType : "audio/webm");
+        sessions.put(session.id, session);
+        try {
+            workers.execute(() -> {
+                try {
+                    relay(session);
+                } finally {
+                    sessionPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sessionPermits.release();
+            sessions.remove(session.id);
+            throw new AiServiceException(aiClient.getName(), AiServiceException.Reason.UNAVAILABLE, "서버 종료 중", e);
+        }
+        count("opened");
+        log.info("[SttStream] 세션 시작 {} ({})", session.id, session.contentType);
+        return session.id;
+    }
+
+    /**
+     * 녹음 조각 전달 (seq 는 0 부터 연속, last=true 면 업스트림 본문 종료)
+     */
+    public void appendChunk(String sessionId, int seq, boolean last, byte[] chunk) {
+        Session session = require(sessionId);
+        synchronized (session.chunkLock) {
+            if (session.state != State.STREAMING || session.lastReceived) {
+                throw new ResponseStatusException(HttpStatus.GONE, "이미 종료된 음성 인식 세션입니다.");
+            }
+            if (seq != session.nextSeq) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "조각 순서가 맞지 않습니다. 기대값: " + session.nextSeq);
+            }
+            int length = chunk != null ? chunk.length : 0;
+            if (session.bytes + length > maxBytes) {
+                abort(session, "음성 길이 한도 초과");
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "음성 길이 한도를 초과했습니다.");
+            }
+            try {
+                if (length > 0 && !session.audio.offer(chunk, chunkOfferTimeoutMs)) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "음성 인식 서버가 지연 중입니다. 잠시 후 다시 전송해 주세요.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "음성 조각 전송이 중단되었습니다.");
+            }
+            session.nextSeq++;
+            session.bytes += length;
+            session.lastActivity = System.nanoTime();
+            if (last) {
+                session.lastReceived = true;
+                session.audio.finish();
+            }
+        }
+    }
+
+    /**
+     * 부분/최종 인식 결과 SSE 구독 (이미 도착한 이벤트는 즉시 재전송)
+     */
+    public SseEmitter subscribe(String sessionId) {
+        Session session = require(sessionId);
+        SseEmitter emitter = new SseEmitter(maxDurationMs + retainMs);
+        synchronized (session) {
+            try {
+                for (Event event : session.history) {
+                    emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+                }
+                if (session.state != State.STREAMING) {
+                    emitter.complete();
+                    return emitter;
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+            if (session.emitter != null) {
+                session.emitter.complete();
+            }
+            session.emitter = emitter;
+        }
+        emitter.onCompletion(() -> detach(session, emitter));
+        emitter.onTimeout(() -> detach(session, emitter));
+        return emitter;
+    }
+
+    public void cancel(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            abort(session, "사용자 취소");
+        }
+    }
+
+    /**
+     * 유휴/장시간 세션 중단, 종료 후 보관 기간이 지난 세션 정리
+     */
+    @Scheduled(fixedDelayString = "${ai.stt.stream.sweep-interval-ms:1000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (Session session : sessions.values()) {
+            if (session.state != State.STREAMING) {
+                if (now - session.endedAt > TimeUnit.MILLISECONDS.toNanos(retainMs)) {
+                    sessions.remove(session.id);
+                }
+            } else if (now - session.startedAt > TimeUnit.MILLISECONDS.toNanos(maxDurationMs)) {
+                abort(session, "최대 녹음 시간 초과");
+            } else if (!session.lastReceived
+                    && now - session.lastActivity > TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs)) {
+                abort(session, "음성 조각 수신 없음");
+            }
+        }
+    }
+
+    private void relay(Session session) {
+        try {
+            aiClient.execute("/stream_voice", baseUrl -> {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/stream_voice"))
+                        .header("Content-Type", session.contentType)
+                        // 본문(녹음)이 끝나야 응답 헤더를 보내는 서버도 있으므로 최대 녹음 시간 + 응답 대기 한도
+                        .timeout(Duration.ofMillis(maxDurationMs + responseTimeoutMs))
+                        .POST(HttpRequest.BodyPublishers.ofInputStream(() -> session.audio))
+                        .build();
+                HttpResponse<Stream<String>> response;
+                try {
+                    response = aiClient.getHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+                } catch (IOException e) {
+                    throw new ResourceAccessException("STT 스트림 연결 실패: " + e.getMessage(), e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ResourceAccessException("STT 스트림 중단", new IOException(e));
+                }
+                if (response.statusCode() >= 400) {
+                    response.body().close();
+                    if (response.statusCode() < 500) {
+                        throw HttpClientErrorException.create(HttpStatusCode.valueOf(response.statusCode()),
+                                "STT 스트림 요청 오류", null, null, null);
+                    }
+                    throw new IllegalStateException("STT 서버 오류: " + response.statusCode());
+                }
+                session.upstream = response.body();
+                try (Stream<String> lines = response.body()) {
+                    lines.filter(line -> !line.isBlank()).forEach(line -> publish(session, line));
+                } catch (UncheckedIOException e) {
+                    if (session.state == State.STREAMING) {
+                        throw new ResourceAccessException("STT 스트림 끊김: " + e.getMessage(), e.getCause());
+                    }
+                }
+                return null;
+            });
+            if (session.state == State.STREAMING) {
+                end(session, State.FAILED, errorEvent("음성 인식 결과를 받지 못했습니다."));
+            }
+        } catch (RuntimeException e) {
+            log.warn("[SttStream] 세션 {} 실패: {}", session.id, e.getMessage());
+            session.audio.abort();
+            end(session, State.FAILED, errorEvent(e instanceof AiServiceException
+                    ? "음성 인식 서버에 연결할 수 없습니다. 잠시 후 다시 시도해 주세요."
+                    : "음성 인식 처리 중 오류가 발생했습니다."));
+        }
+    }
+
+    private void publish(Session session, String line) {
+        String type;
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            type = node.path("type").asText("partial");
+        } catch (IOException e) {
+            log.debug("[SttStream] 알 수 없는 응답 줄 무시: {}", e.getMessage());
+            return;
+        }
+        Event event = new Event(type, line);
+        if ("final".equals(type)) {
+            end(session, State.FINISHED, event);
+            count("finished");
+            return;
+        }
+        if ("error".equals(type)) {
+            end(session, State.FAILED, event);
+            return;
+        }
+        synchronized (session) {
+            if (!session.firstText && "partial".equals(type)) {
+                session.firstText = true;
+                firstTextLatency.record(System.nanoTime() - session.startedAt, TimeUnit.NANOSECONDS);
+            }
+            session.history.clear();
+            // 부분 결과는 누적 텍스트라 마지막 것만 재전송하면 충분
+            session.history.add(event);
+            send(session, event);
+        }
+    }
+
+    private void end(Session session, State state, Event event) {
+        synchronized (session) {
+            if (session.state != State.STREAMING) {
+                return;
+            }
+            session.state = state;
+            session.endedAt = System.nanoTime();
+            session.history.clear();
+            session.history.add(event);
+            send(session, event);
+            if (session.emitter != null) {
+                session.emitter.complete();
+                session.emitter = null;
+            }
+        }
+        if (state == State.FAILED) {
+            count("failed");
+        }
+        log.info("[SttStream] 세션 종료 {} - {} ({}ms, {} bytes)", session.id, state,
+                TimeUnit.NANOSECONDS.toMillis(session.endedAt - session.startedAt), session.bytes);
+    }
+
+    private void abort(Session session, String reason) {
+        session.audio.abort();
+        end(session, State.FAILED, errorEvent(reason));
+        Stream<String> upstream = session.upstream;
+        if (upstream != null) {
+            // 응답 읽기 중인 relay 스레드 해제
+            upstream.close();
+        }
+    }
+
+    private void send(Session session, Event event) {
+        SseEmitter emitter = session.emitter;
+        if (emitter == null) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+        } catch (IOException | IllegalStateException e) {
+            // 브라우저 연결 끊김 → 결과는 history 에 남아 재연결 시 전달
+            session.emitter = null;
+        }
+    }
+
+    private void detach(Session session, SseEmitter emitter) {
+        synchronized (session) {
+            if (session.emitter == emitter) {
+                session.emitter = null;
+            }
+        }
+    }
+
+    private Event errorEvent(String message) {
+        try {
+            return new Event("error", objectMapper.writeValueAsString(Map.of("type", "error", "message", message)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Session require(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "음성 인식 세션을 찾을 수 없습니다.");
+        }
+        return session;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("ai.stt.stream.sessions", "outcome", outcome).increment();
+    }
+}
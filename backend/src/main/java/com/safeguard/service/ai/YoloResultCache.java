@@ -0,0 +1,203 @@
+package com.safeguard.service.ai;
+
+import com.safeguard.dto.YoloResponse;
+import com.safeguard.mapper.YoloResultCacheMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * YOLO 분석 결과 캐시 (키: 이미지 바이트 SHA-256)
+ *
+ * - 1단계: 메모리 LRU (memory-entries 개), 2단계: yolo_result_cache 테이블 (ttl-days, model-version 일치 시만)
+ * - 미검출(type 없음) 결과는 메모리에만 negative-ttl-ms 동안 보관 → 같은 사진 재시도 폭주 방지, 곧 다시 분석
+ * - 호출 실패(AiServiceException 등)는 일시적일 수 있으므로 캐시하지 않음 (다음 요청은 다시 분석)
+ * - 같은 이미지 동시 요청은 하나의 AI 호출로 합침 (나머지는 그 결과를 기다리고, 실패 시 호출자별 새 예외를 받음)
+ * - AI 원본 값(type, agency)만 저장하고 한글화/기관 매핑은 호출자가 매번 적용
+ * - DB 계층 오류는 캐시 미스로 취급 (분석 자체는 계속)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class YoloResultCache {
+
+    private final YoloResultCacheMapper yoloResultCacheMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.yolo.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.yolo.cache.memory-entries:1000}")
+    private int memoryEntries;
+
+    @Value("${ai.yolo.cache.ttl-days:30}")
+    private int ttlDays;
+
+    @Value("${ai.yolo.cache.negative-ttl-ms:10000}")
+    private long negativeTtlMs;
+
+    // 모델 교체 시 값을 바꾸면 이전 결과는 무시됨
+    @Value("${ai.yolo.cache.model-version:v1}")
+    private String modelVersion;
+
+    private record Entry(YoloResponse result, long expiresAtNanos) {
+        boolean expired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+
+    private final Map<String, Entry> memory = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > memoryEntries;
+        }
+    };
+
+    private final Map<String, CompletableFuture<YoloResponse>> inflight = new ConcurrentHashMap<>();
+
+    public static String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader 로 분석 (같은 키 동시 호출은 한 번만 실행)
+     */
+    public YoloResponse get(String imageHash, Supplier<YoloResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Entry cached = memoryGet(imageHash);
+        if (cached != null) {
+            count(cached.result().getType() == null || cached.result().getType().isBlank()
+                    ? "negative_hit" : "memory_hit");
+            return cached.result();
+        }
+
+        CompletableFuture<YoloResponse> mine = new CompletableFuture<>();
+        CompletableFuture<YoloResponse> leader = inflight.putIfAbsent(imageHash, mine);
+        if (leader != null) {
+            count("coalesced");
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                throw forCaller(e.getCause());
+            }
+        }
+
+        try {
+            YoloResponse result = load(imageHash, loader);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            count("failure");
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(imageHash, mine);
+        }
+    }
+
+    private YoloResponse load(String imageHash, Supplier<YoloResponse> loader) {
+        YoloResponse stored = dbGet(imageHash);
+        if (stored != null) {
+            count("db_hit");
+            memoryPut(imageHash, new Entry(stored, deadline(TimeUnit.DAYS.toMillis(ttlDays))));
+            return stored;
+        }
+
+        count("miss");
+        YoloResponse result = loader.get();
+        if (result.getType() == null || result.getType().isBlank()) {
+            memoryPut(imageHash, new Entry(result, deadline(negativeTtlMs)));
+        } else {
+            memoryPut(imageHash, new Entry(result, deadline(TimeUnit.DAYS.toMillis(ttlDays))));
+            dbPut(imageHash, result);
+        }
+        return result;
+    }
+
+    @Scheduled(cron = "${ai.yolo.cache.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int deleted = yoloResultCacheMapper.deleteExpired(ttlDays);
+            if (deleted > 0) {
+                log.info("[YoloCache] 만료 결과 {}건 삭제", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("[YoloCache] 만료 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private Entry memoryGet(String imageHash) {
+        synchronized (memory) {
+            Entry entry = memory.get(imageHash);
+            if (entry != null && entry.expired()) {
+                memory.remove(imageHash);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void memoryPut(String imageHash, Entry entry) {
+        synchronized (memory) {
+            memory.put(imageHash, entry);
+        }
+    }
+
+    private YoloResponse dbGet(String imageHash) {
+        try {
+            return yoloResultCacheMapper.selectResult(imageHash, modelVersion, ttlDays);
+        } catch (Exception e) {
+            log.warn("[YoloCache] 조회 실패 (미스로 처리): {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void dbPut(String imageHash, YoloResponse result) {
+        try {
+            yoloResultCacheMapper.upsertResult(imageHash, modelVersion, result.getType(), result.getAgency());
+        } catch (Exception e) {
+            log.warn("[YoloCache] 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 합쳐진 호출의 실패를 호출자별 새 예외로 전달 (같은 예외 인스턴스를 여러 스레드가 던지지 않도록)
+     */
+    private static RuntimeException forCaller(Throwable failure) {
+        if (failure instanceof AiServiceException e) {
+            return new AiServiceException(e.getService(), e.getReason(), e.getMessage(), e);
+        }
+        return new IllegalStateException(failure != null ? failure.getMessage() : "YOLO 분석 실패", failure);
+    }
+
+    private static long deadline(long ttlMs) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("ai.yolo.cache", "result", result).increment();
+    }
+}
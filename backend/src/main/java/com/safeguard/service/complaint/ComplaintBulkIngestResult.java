@@ -0,0 +1,46 @@
+package com.safeguard.service.complaint;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 대량 적재 결과 (오류는 max-errors 건까지만 보관)
+ */
+@Getter
+public class ComplaintBulkIngestResult {
+
+    private long received;
+    private long inserted;
+    private long failed;
+    private long elapsedMs;
+    private final List<String> errors = new ArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    private final int maxErrors;
+
+    ComplaintBulkIngestResult(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    void received() {
+        received++;
+    }
+
+    void inserted(int count) {
+        inserted += count;
+    }
+
+    void failed(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add("line " + line + ": " + message);
+        }
+    }
+
+    void finish(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+}
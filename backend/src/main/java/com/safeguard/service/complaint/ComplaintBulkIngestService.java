@@ -0,0 +1,343 @@
+package com.safeguard.service.complaint;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safeguard.dto.ComplaintDTO;
+import com.safeguard.entity.ComplaintAgency;
+import com.safeguard.enums.ComplaintStatus;
+import com.safeguard.mapper.ComplaintMapper;
+import com.safeguard.service.agency.AgencyDirectory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 민원 대량 적재 (NDJSON / CSV 스트림)
+ *
+ * - 입력을 한 행씩 읽어 검증 후 chunk-size 단위로 모아 트랜잭션 하나에서
+ *   complaint / spatial_feature / complaint_agency 를 각각 multi-row INSERT 한 번으로 저장
+ * - complaint_no 는 multi-row INSERT 의 생성 키로 한 번에 받아 나머지 두 테이블에 사용
+ *   (COPY 는 생성 키를 돌려주지 않으므로 사용하지 않음)
+ * - 메모리에는 현재 chunk 만 유지 → 입력 크기와 무관하게 일정
+ * - chunk 저장이 실패하면 해당 chunk 만 행 단위로 다시 저장해 실패 행을 골라냄
+ * - 기관 매핑은 AgencyDirectory 메모리 조회 (행마다 DB 조회 없음), 적재된 민원은 바로 COMPLETED 상태
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ComplaintBulkIngestService {
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && contentType.toLowerCase().startsWith("text/csv")) {
+                return CSV;
+            }
+            return NDJSON;
+        }
+    }
+
+    private static final int MAX_TITLE_LENGTH = 200;
+    private static final int MAX_CATEGORY_LENGTH = 50;
+    private static final int MAX_ADDRESS_LENGTH = 300;
+
+    private final ComplaintMapper complaintMapper;
+    private final AgencyDirectory agencyDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${complaint.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${complaint.bulk.max-errors:100}")
+    private int maxErrors;
+
+    /**
+     * 행 하나의 필드 조회 (형식별 구현)
+     */
+    private interface Fields {
+        String get(String name);
+    }
+
+    private record Row(long line, ComplaintDTO complaint, List<Long> agencyNos) {
+    }
+
+    /**
+     * @param defaultUserNo 행에 userNo 가 없을 때 작성자로 기록할 사용자
+     */
+    public ComplaintBulkIngestResult ingest(InputStream in, Format format, Long defaultUserNo) throws IOException {
+        long start = System.nanoTime();
+        ComplaintBulkIngestResult result = new ComplaintBulkIngestResult(maxErrors);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            readCsv(reader, defaultUserNo, result, chunk);
+        } else {
+            readNdjson(reader, defaultUserNo, result, chunk);
+        }
+        flush(chunk, result);
+
+        result.finish(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("[BulkIngest] {} 행 수신, {} 행 적재, {} 행 실패 ({}ms)", result.getReceived(), result.getInserted(),
+                result.getFailed(), result.getElapsedMs());
+        return result;
+    }
+
+    private void readNdjson(BufferedReader reader, Long defaultUserNo, ComplaintBulkIngestResult result,
+            List<Row> chunk) throws IOException {
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (IOException e) {
+                result.received();
+                result.failed(line, "JSON 파싱 실패");
+                continue;
+            }
+            accept(line, name -> {
+                JsonNode value = node.get(name);
+                return value == null || value.isNull() ? null : value.asText();
+            }, defaultUserNo, result, chunk);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Long defaultUserNo, ComplaintBulkIngestResult result,
+            List<Row> chunk) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // 엑셀 저장 파일의 BOM 제거
+            columns.put(header.get(i).replace("\uFEFF", "").trim(), i);
+        }
+        while (true) {
+            long line = csv.getLine();
+            List<String> record = csv.next();
+            if (record == null) {
+                break;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            accept(line, name -> {
+                Integer index = columns.get(name);
+                if (index == null || index >= record.size()) {
+                    return null;
+                }
+                String value = record.get(index);
+                return value.isEmpty() ? null : value;
+            }, defaultUserNo, result, chunk);
+        }
+    }
+
+    private void accept(long line, Fields fields, Long defaultUserNo, ComplaintBulkIngestResult result,
+            List<Row> chunk) {
+        result.received();
+        ComplaintDTO complaint;
+        Long agencyNo;
+        try {
+            complaint = toComplaint(fields, defaultUserNo);
+            agencyNo = parseLong(fields.get("agencyNo"), "agencyNo");
+        } catch (IllegalArgumentException e) {
+            result.failed(line, e.getMessage());
+            return;
+        }
+        List<Long> agencyNos = agencyDirectory.resolveComplaintAgencies(agencyNo, fields.get("agencyName"),
+                complaint.getCategory(), complaint.getAddress());
+        chunk.add(new Row(line, complaint, agencyNos));
+        if (chunk.size() >= chunkSize) {
+            flush(chunk, result);
+        }
+    }
+
+    private ComplaintDTO toComplaint(Fields fields, Long defaultUserNo) {
+        String title = required(fields, "title", MAX_TITLE_LENGTH);
+        String content = required(fields, "content", Integer.MAX_VALUE);
+        String category = required(fields, "category", MAX_CATEGORY_LENGTH);
+
+        String address = fields.get("address");
+        if (address != null && address.length() > MAX_ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("address 길이 초과");
+        }
+
+        Double latitude = parseDouble(fields.get("latitude"), "latitude");
+        Double longitude = parseDouble(fields.get("longitude"), "longitude");
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("latitude/longitude 는 함께 입력해야 합니다");
+        }
+        if (latitude != null && (Math.abs(latitude) > 90 || Math.abs(longitude) > 180)) {
+            throw new IllegalArgumentException("좌표 범위 오류");
+        }
+
+        Long userNo = parseLong(fields.get("userNo"), "userNo");
+        if (userNo == null) {
+            userNo = defaultUserNo;
+        }
+        if (userNo == null) {
+            throw new IllegalArgumentException("userNo 누락");
+        }
+
+        ComplaintStatus status = ComplaintStatus.UNPROCESSED;
+        String statusText = fields.get("status");
+        if (statusText != null) {
+            try {
+                status = ComplaintStatus.valueOf(statusText.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("알 수 없는 status: " + statusText);
+            }
+        }
+
+        String isPublic = fields.get("isPublic");
+        OffsetDateTime createdDate = parseDateTime(fields.get("createdDate"), "createdDate");
+        OffsetDateTime completedDate = parseDateTime(fields.get("completedDate"), "completedDate");
+
+        return ComplaintDTO.builder()
+                .title(title)
+                .content(content)
+                .category(category)
+                .address(address)
+                .latitude(latitude)
+                .longitude(longitude)
+                .status(status)
+                .isPublic(isPublic == null || Boolean.parseBoolean(isPublic.trim()))
+                .userNo(userNo)
+                .createdDate(createdDate)
+                .completedDate(completedDate)
+                .build();
+    }
+
+    private void flush(List<Row> chunk, ComplaintBulkIngestResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            result.inserted(chunk.size());
+        } catch (Exception e) {
+            // 한 행(예: 존재하지 않는 userNo FK)이 chunk 전체를 막지 않도록 행 단위로 재시도
+            log.warn("[BulkIngest] chunk 저장 실패, 행 단위 재시도 ({}행): {}", chunk.size(), e.getMessage());
+            for (Row row : chunk) {
+                row.complaint().setComplaintNo(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    result.inserted(1);
+                } catch (Exception rowError) {
+                    result.failed(row.line(), rootMessage(rowError));
+                }
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("complaint.bulk.chunk.latency"));
+            chunk.clear();
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        List<ComplaintDTO> complaints = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            complaints.add(row.complaint());
+        }
+        complaintMapper.insertComplaintBatch(complaints);
+
+        List<ComplaintDTO> located = new ArrayList<>();
+        List<ComplaintAgency> mappings = new ArrayList<>();
+        for (Row row : rows) {
+            ComplaintDTO complaint = row.complaint();
+            if (complaint.getLatitude() != null) {
+                located.add(complaint);
+            }
+            for (Long agencyNo : row.agencyNos()) {
+                ComplaintAgency mapping = new ComplaintAgency();
+                mapping.setComplaintNo(complaint.getComplaintNo());
+                mapping.setAgencyNo(agencyNo);
+                mappings.add(mapping);
+            }
+        }
+        if (!located.isEmpty()) {
+            complaintMapper.insertSpatialPointBatch(located);
+        }
+        if (!mappings.isEmpty()) {
+            complaintMapper.insertComplaintAgencyBatch(mappings);
+        }
+    }
+
+    private static String required(Fields fields, String name, int maxLength) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " 누락");
+        }
+        if (value.length() > maxLength) {
+            throw new IllegalArgumentException(name + " 길이 초과");
+        }
+        return value;
+    }
+
+    private static Double parseDouble(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " 형식 오류: " + value);
+        }
+    }
+
+    private static Long parseLong(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " 형식 오류: " + value);
+        }
+    }
+
+    private static OffsetDateTime parseDateTime(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(name + " 형식 오류 (ISO-8601 offset 필요): " + value);
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
@@ -0,0 +1,35 @@
+package com.safeguard.service.complaint;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 접수 직후 비동기 단계로 넘기는 입력값
+ * - 업로드 파일은 요청 종료 시 임시 파일이 삭제되므로 바이트로 복사해 두고, 재시작에 대비해 로컬 보관본 경로도 함께 넘긴다
+ */
+@Getter
+@Builder
+public class ComplaintIntake {
+    private final Long complaintNo;
+    private final String category;
+    private final String address;
+    private final Double latitude;
+    private final Double longitude;
+
+    // AI 분석 결과 (기관 코드 또는 기관명, 없으면 카테고리 기반 매핑)
+    private final Long agencyCode;
+    private final String agencyName;
+
+    private final byte[] imageBytes;
+    private final String imageFilename;
+    private final String imageContentType;
+    // 첨부 바이트 보관본 (복구된 접수는 imageBytes 없이 이 경로에서 다시 읽음)
+    private final String imageStagingPath;
+
+    // 복구된 접수: 첨부 이미지가 업로드 전에 유실됨 (보관본도 없음 → 재첨부 필요)
+    private final boolean imageLost;
+
+    public boolean hasPoint() {
+        return latitude != null && longitude != null;
+    }
+}
@@ -0,0 +1,323 @@
+package com.safeguard.service.complaint;
+
+import com.safeguard.dto.StoredImage;
+import com.safeguard.entity.Agency;
+import com.safeguard.entity.Complaint;
+import com.safeguard.entity.SpatialFeature;
+import com.safeguard.enums.ComplaintProcessingState;
+import com.safeguard.mapper.ComplaintMapper;
+import com.safeguard.mapper.StoredObjectMapper;
+import com.safeguard.service.FileService;
+import com.safeguard.service.agency.AgencyDirectory;
+import com.safeguard.service.storage.LocalBlobStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 민원 접수 후 비동기 처리 단계 (이미지 업로드 → 공간 정보 → 기관 매핑 → 보강)
+ *
+ * - 접수 트랜잭션은 민원 행만 저장하고 커밋 → 커밋 후 여기서 나머지 단계를 실행 (네트워크 I/O 중 DB 커넥션 미점유)
+ * - 단계별로 max-attempts 까지 지수 백오프 재시도, 성공한 단계는 재실행하지 않음 (각 단계 SQL 도 멱등)
+ * - 처리 상태는 complaint.processing_state 에 기록 (ACCEPTED → PROCESSING → COMPLETED / FAILED)
+ * - 노드 재시작으로 멈춘 건은 주기적으로 선점해 DB 에 남은 값(위치, analysis_result 의 AI 기관)으로 다시 수행
+ *   첨부 이미지는 접수 커밋 전에 로컬 보관본(image_staging_path)으로 남겨 두므로 복구 시 그 파일로 업로드
+ *   보관본이 없는 건(다른 노드 디스크, V11 이전 접수)만 나머지 단계는 마치고 FAILED(재첨부 필요)로 기록
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ComplaintPipeline {
+
+    enum Stage {
+        IMAGE_UPLOAD, SPATIAL_FEATURE, AGENCY_MAPPING, ENRICHMENT
+    }
+
+    static final String IMAGE_LOST_ERROR = "IMAGE_UPLOAD: 첨부 이미지가 처리 전에 유실되었습니다. 이미지를 다시 첨부해 주세요.";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ComplaintMapper complaintMapper;
+    private final AgencyDirectory agencyDirectory;
+    private final FileService fileService;
+    private final StoredObjectMapper storedObjectMapper;
+    private final MeterRegistry meterRegistry;
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    @Value("${complaint.pipeline.threads:4}")
+    private int threads;
+
+    @Value("${complaint.pipeline.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${complaint.pipeline.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    @Value("${complaint.pipeline.stuck-after-ms:600000}")
+    private long stuckAfterMs;
+
+    @Value("${complaint.pipeline.recovery-batch:100}")
+    private int recoveryBatch;
+
+    private ScheduledThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread t = new Thread(r, "complaint-pipeline-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // 종료 시 예약된 재시도는 버림 → 복구 스윕이 이어서 처리
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        meterRegistry.gauge("complaint.pipeline.queue.depth", executor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 접수 트랜잭션 커밋 후 비동기 단계 시작
+     */
+    public void submit(ComplaintIntake intake) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    start(new Job(intake));
+                }
+            });
+        } else {
+            start(new Job(intake));
+        }
+    }
+
+    private void start(Job job) {
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            // 종료 중: ACCEPTED 상태로 남겨 두면 복구 스윕이 처리
+            log.warn("[ComplaintPipeline] 종료 중이라 처리 보류 - complaintNo: {}", job.intake.getComplaintNo());
+        }
+    }
+
+    /**
+     * 멈춘 건 복구 (ACCEPTED/PROCESSING 상태로 stuck-after-ms 이상 변화 없음)
+     */
+    @Scheduled(fixedDelayString = "${complaint.pipeline.recovery-interval-ms:60000}",
+            initialDelayString = "${complaint.pipeline.recovery-interval-ms:60000}")
+    public void recoverStuck() {
+        try {
+            List<Complaint> stuck = complaintMapper.claimStuckComplaints(
+                    TimeUnit.MILLISECONDS.toSeconds(stuckAfterMs), recoveryBatch);
+            for (Complaint c : stuck) {
+                log.warn("[ComplaintPipeline] 멈춘 민원 재처리 - complaintNo: {}", c.getComplaintNo());
+                boolean imagePending = Boolean.TRUE.equals(c.getImagePending());
+                String stagingPath = imagePending ? c.getImageStagingPath() : null;
+                // 보관본 키에 원본 확장자가 남아 있음 → 저장 키/Content-Type 도 그대로
+                String stagedName = stagingPath != null ? LocalBlobStore.keyOf(stagingPath) : null;
+                start(new Job(ComplaintIntake.builder()
+                        .complaintNo(c.getComplaintNo())
+                        .category(c.getCategory())
+                        .address(c.getAddress())
+                        .latitude(c.getLatitude())
+                        .longitude(c.getLongitude())
+                        .agencyCode(c.getAiAgencyCode())
+                        .agencyName(c.getAiAgencyName())
+                        .imageStagingPath(stagingPath)
+                        .imageFilename(stagedName)
+                        .imageContentType(stagedName != null
+                                ? MediaTypeFactory.getMediaType(stagedName).map(MediaType::toString).orElse(null)
+                                : null)
+                        .imageLost(imagePending && stagingPath == null)
+                        .build()));
+            }
+        } catch (Exception e) {
+            log.warn("[ComplaintPipeline] 복구 스윕 실패: {}", e.getMessage());
+        }
+    }
+
+    private final class Job implements Runnable {
+        private final ComplaintIntake intake;
+        private final EnumSet<Stage> done = EnumSet.noneOf(Stage.class);
+        private final long startNanos = System.nanoTime();
+        private boolean started;
+        private int attempt;
+        // 보관본까지 없어 업로드할 수 없는 첨부 (재첨부 필요)
+        private boolean imageLost;
+        // 업로드 완료 후 참조 해제 (큰 이미지가 재시도 대기 중 메모리에 오래 남지 않도록)
+        private byte[] imageBytes;
+        // 기관 매핑 결과 (보강 단계 입력)
+        private List<Long> agencyNos = List.of();
+
+        Job(ComplaintIntake intake) {
+            this.intake = intake;
+            this.imageBytes = intake.getImageBytes();
+            this.imageLost = intake.isImageLost();
+        }
+
+        @Override
+        public void run() {
+            Long complaintNo = intake.getComplaintNo();
+            if (!started) {
+                started = true;
+                complaintMapper.updateProcessingState(complaintNo, ComplaintProcessingState.PROCESSING.name(), null);
+            }
+            for (Stage stage : Stage.values()) {
+                if (done.contains(stage)) {
+                    continue;
+                }
+                try {
+                    runStage(stage);
+                    done.add(stage);
+                    attempt = 0;
+                } catch (Exception e) {
+                    attempt++;
+                    meterRegistry.counter("complaint.pipeline.stage.failures", "stage", stage.name()).increment();
+                    if (attempt < maxAttempts) {
+                        long delay = retryBackoffMs << (attempt - 1);
+                        log.warn("[ComplaintPipeline] {} 실패, {}ms 후 재시도 ({}/{}) - complaintNo: {}, {}",
+                                stage, delay, attempt, maxAttempts, complaintNo, e.getMessage());
+                        executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+                    } else {
+                        log.error("[ComplaintPipeline] {} 최종 실패 - complaintNo: {}", stage, complaintNo, e);
+                        finish(ComplaintProcessingState.FAILED, truncate(stage + ": " + e.getMessage()));
+                    }
+                    return;
+                }
+            }
+            if (imageLost) {
+                meterRegistry.counter("complaint.pipeline.image.lost").increment();
+                finish(ComplaintProcessingState.FAILED, IMAGE_LOST_ERROR);
+                return;
+            }
+            finish(ComplaintProcessingState.COMPLETED, null);
+        }
+
+        private void runStage(Stage stage) throws IOException {
+            switch (stage) {
+                case IMAGE_UPLOAD -> uploadImage();
+                case SPATIAL_FEATURE -> saveSpatialFeature(intake);
+                case AGENCY_MAPPING -> agencyNos = mapAgencies(intake);
+                case ENRICHMENT -> enrich(intake, agencyNos);
+            }
+        }
+
+        private void uploadImage() throws IOException {
+            String stagingPath = intake.getImageStagingPath();
+            if (imageBytes == null && stagingPath != null) {
+                // 복구된 접수: 메모리 사본 대신 보관본에서 읽음
+                imageBytes = fileService.readStaged(stagingPath);
+                if (imageBytes == null) {
+                    log.warn("[ComplaintPipeline] 첨부 보관본 없음 - complaintNo: {}, {}", intake.getComplaintNo(),
+                            stagingPath);
+                    imageLost = true;
+                    return;
+                }
+            }
+            if (imageBytes == null || imageBytes.length == 0) {
+                return;
+            }
+            StoredImage stored = fileService.storeImage(imageBytes, intake.getImageFilename(),
+                    intake.getImageContentType());
+            // 경로 기록과 함께 image_pending/image_staging_path 해제 → 이후 보관본 삭제
+            complaintMapper.updateImagePaths(intake.getComplaintNo(), stored);
+            // 재시도로 중복 증가해도 StoredObjectJanitor 재계산이 보정
+            storedObjectMapper.incrementRefCount(stored.getImagePath());
+            imageBytes = null;
+            if (stagingPath != null) {
+                fileService.discardStaged(stagingPath);
+            }
+        }
+
+        private void finish(ComplaintProcessingState state, String error) {
+            imageBytes = null;
+            try {
+                complaintMapper.updateProcessingState(intake.getComplaintNo(), state.name(), error);
+            } catch (Exception e) {
+                // 상태 기록 실패 시 복구 스윕이 다시 처리
+                log.warn("[ComplaintPipeline] 상태 기록 실패 - complaintNo: {}, {}", intake.getComplaintNo(),
+                        e.getMessage());
+            }
+            Timer.builder("complaint.pipeline.duration")
+                    .tag("result", state.name())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void saveSpatialFeature(ComplaintIntake intake) {
+        if (!intake.hasPoint()) {
+            return;
+        }
+        SpatialFeature sf = new SpatialFeature();
+        sf.setComplaintNo(intake.getComplaintNo());
+        sf.setFeatureType("POINT");
+        sf.setAddrText(intake.getAddress());
+        sf.setGeom(geometryFactory.createPoint(new Coordinate(intake.getLongitude(), intake.getLatitude())));
+        complaintMapper.insertSpatialFeature(sf);
+    }
+
+    /**
+     * 다중 기관 매핑 (ComplaintAgency) - 소관 부처 + 관할 지자체
+     */
+    private List<Long> mapAgencies(ComplaintIntake intake) {
+        List<Long> agencyNos = agencyDirectory.resolveComplaintAgencies(intake.getAgencyCode(),
+                intake.getAgencyName(), intake.getCategory(), intake.getAddress());
+        for (Long agencyNo : agencyNos) {
+            complaintMapper.insertComplaintAgency(intake.getComplaintNo(), agencyNo);
+        }
+        return agencyNos;
+    }
+
+    /**
+     * 보강 - 배정 기관 목록과 관할 시/도를 analysis_result 에 기록
+     */
+    private void enrich(ComplaintIntake intake, List<Long> agencyNos) {
+        String address = intake.getAddress();
+        Agency region = address != null && !address.isEmpty()
+                ? agencyDirectory.findRegion(address.split(" ")[0])
+                : null;
+        complaintMapper.updateAnalysisEnrichment(intake.getComplaintNo(), agencyNos.toString(),
+                region != null ? region.getAgencyName() : null);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
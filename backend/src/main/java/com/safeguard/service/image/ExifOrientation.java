@@ -0,0 +1,121 @@
+package com.safeguard.service.image;
+
+import java.awt.geom.AffineTransform;
+
+/**
+ * JPEG EXIF Orientation(0x0112) 읽기 + 회전/반전 변환
+ * - ImageIO 는 방향 태그를 적용하지 않으므로 직접 APP1(Exif) 세그먼트의 IFD0 만 읽음
+ * - 태그가 없거나 형식이 어긋나면 1(정방향)
+ */
+final class ExifOrientation {
+
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    private ExifOrientation() {
+    }
+
+    static int read(byte[] jpeg) {
+        if (jpeg.length < 4 || (jpeg[0] & 0xff) != 0xFF || (jpeg[1] & 0xff) != 0xD8) {
+            return 1;
+        }
+        int pos = 2;
+        while (pos + 4 <= jpeg.length) {
+            if ((jpeg[pos] & 0xff) != 0xFF) {
+                return 1;
+            }
+            int marker = jpeg[pos + 1] & 0xff;
+            if (marker == 0xFF) {
+                pos++;
+                continue;
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD8)) {
+                pos += 2;
+                continue;
+            }
+            // 이미지 데이터 시작 → 이후에는 메타데이터 없음
+            if (marker == 0xDA || marker == 0xD9) {
+                return 1;
+            }
+            int length = u16(jpeg, pos + 2, false);
+            if (marker == 0xE1 && length >= 16 && isExif(jpeg, pos + 4)) {
+                return fromTiff(jpeg, pos + 10, Math.min(jpeg.length, pos + 2 + length));
+            }
+            pos += 2 + length;
+        }
+        return 1;
+    }
+
+    /**
+     * 저장된 픽셀 좌표 → 보이는 방향 좌표 변환 (w, h 는 저장된 이미지 크기)
+     */
+    static AffineTransform transform(int orientation, int w, int h) {
+        return switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> new AffineTransform();
+        };
+    }
+
+    /**
+     * 5~8 은 90도 회전이 포함되어 가로/세로가 바뀜
+     */
+    static boolean swapsAxes(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    private static boolean isExif(byte[] b, int pos) {
+        return pos + 6 <= b.length && b[pos] == 'E' && b[pos + 1] == 'x' && b[pos + 2] == 'i' && b[pos + 3] == 'f'
+                && b[pos + 4] == 0 && b[pos + 5] == 0;
+    }
+
+    private static int fromTiff(byte[] b, int start, int end) {
+        if (start + 8 > end) {
+            return 1;
+        }
+        boolean little;
+        if (b[start] == 'I' && b[start + 1] == 'I') {
+            little = true;
+        } else if (b[start] == 'M' && b[start + 1] == 'M') {
+            little = false;
+        } else {
+            return 1;
+        }
+        if (u16(b, start + 2, little) != 42) {
+            return 1;
+        }
+        long ifdOffset = u32(b, start + 4, little);
+        if (ifdOffset < 8 || start + ifdOffset + 2 > end) {
+            return 1;
+        }
+        int ifd = start + (int) ifdOffset;
+        int entries = u16(b, ifd, little);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                return 1;
+            }
+            if (u16(b, entry, little) == TAG_ORIENTATION) {
+                int value = u16(b, entry + 8, little);
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int u16(byte[] b, int pos, boolean little) {
+        int b0 = b[pos] & 0xff;
+        int b1 = b[pos + 1] & 0xff;
+        return little ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static long u32(byte[] b, int pos, boolean little) {
+        long hi = u16(b, little ? pos + 2 : pos, little);
+        long lo = u16(b, little ? pos : pos + 2, little);
+        return (hi << 16) | lo;
+    }
+}
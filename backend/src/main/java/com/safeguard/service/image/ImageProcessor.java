@@ -0,0 +1,259 @@
+package com.safeguard.service.image;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 이미지 가공 (저장/AI 분석 전 단계)
+ *
+ * - 한 번만 디코딩: 필요한 가장 큰 크기의 2배 이상만 남기도록 디코딩 단계에서 서브샘플링 (4000px 원본 전체 디코딩 회피)
+ * - EXIF 방향 적용 후 큰 크기부터 차례로 축소(반씩 단계 축소 + bilinear)해 상세 → 모델 입력 → 썸네일 생성
+ * - 결과는 메타데이터 없는 JPEG (EXIF/GPS 제거)
+ * - 디코딩할 수 없는 형식(HEIC 등)이나 픽셀 수 한도 초과는 null → 호출자가 원본 그대로 사용
+ * - 작성 화면은 같은 사진으로 AI 분석과 업로드를 연달아(또는 동시에) 요청 → 결과를 내용 해시로 잠시 보관하고
+ *   같은 해시 동시 요청은 하나로 합쳐, 모델 입력(YOLO)과 상세/썸네일(저장)이 디코딩 한 번을 공유
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageProcessor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${image.model-max-edge:640}")
+    private int modelMaxEdge;
+
+    @Value("${image.detail-max-edge:1280}")
+    private int detailMaxEdge;
+
+    @Value("${image.thumbnail-max-edge:320}")
+    private int thumbnailMaxEdge;
+
+    @Value("${image.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    // 압축 폭탄 방지 (가로 x 세로)
+    @Value("${image.max-pixels:50000000}")
+    private long maxPixels;
+
+    @Value("${image.processed-cache.entries:32}")
+    private int cacheEntries;
+
+    @Value("${image.processed-cache.ttl-ms:300000}")
+    private long cacheTtlMs;
+
+    // processed 가 null 이면 디코딩 불가로 확정된 이미지 (다시 시도하지 않음)
+    private record Entry(ProcessedImage processed, long expiresAtNanos) {
+        boolean expired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+
+    private final Map<String, Entry> recent = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > cacheEntries;
+        }
+    };
+
+    private final Map<String, CompletableFuture<ProcessedImage>> inflight = new ConcurrentHashMap<>();
+
+    /**
+     * process + 내용 해시(SHA-256 hex) 기준 재사용 (AI 분석/저장 양쪽에서 호출)
+     */
+    public ProcessedImage process(String contentHash, byte[] original) {
+        synchronized (recent) {
+            Entry entry = recent.get(contentHash);
+            if (entry != null && !entry.expired()) {
+                meterRegistry.counter("image.process.cache", "result", "hit").increment();
+                return entry.processed();
+            }
+        }
+        CompletableFuture<ProcessedImage> mine = new CompletableFuture<>();
+        CompletableFuture<ProcessedImage> leader = inflight.putIfAbsent(contentHash, mine);
+        if (leader != null) {
+            meterRegistry.counter("image.process.cache", "result", "coalesced").increment();
+            return leader.join();
+        }
+        meterRegistry.counter("image.process.cache", "result", "miss").increment();
+        ProcessedImage processed = null;
+        try {
+            processed = process(original);
+            synchronized (recent) {
+                recent.put(contentHash, new Entry(processed,
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(cacheTtlMs)));
+            }
+            return processed;
+        } finally {
+            inflight.remove(contentHash, mine);
+            mine.complete(processed);
+        }
+    }
+
+    /**
+     * 상세/모델 입력/썸네일 생성 (디코딩 실패 시 null)
+     */
+    public ProcessedImage process(byte[] original) {
+        long start = System.nanoTime();
+        BufferedImage image = decode(original, Math.max(detailMaxEdge, Math.max(modelMaxEdge, thumbnailMaxEdge)));
+        if (image == null) {
+            record("process", "skipped", start);
+            return null;
+        }
+        try {
+            // 큰 크기부터 축소해 다음 크기의 원본으로 재사용
+            BufferedImage detail = fit(image, detailMaxEdge);
+            BufferedImage model = fit(modelMaxEdge <= detailMaxEdge ? detail : image, modelMaxEdge);
+            BufferedImage thumbnail = fit(thumbnailMaxEdge <= modelMaxEdge ? model : detail, thumbnailMaxEdge);
+            ProcessedImage result = new ProcessedImage(encode(model), encode(detail), encode(thumbnail));
+            record("process", "success", start);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            log.warn("[ImageProcessor] 이미지 가공 실패: {}", e.getMessage());
+            record("process", "failure", start);
+            return null;
+        }
+    }
+
+    /**
+     * 디코딩 + 방향 보정 + RGB 변환 (largestEdge: 이후 만들 가장 큰 긴 변)
+     */
+    private BufferedImage decode(byte[] bytes, int largestEdge) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        BufferedImage decoded;
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("[ImageProcessor] 픽셀 수 한도 초과: {}x{}", width, height);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int factor = Math.max(1, Math.max(width, height) / (largestEdge * 2));
+                if (factor > 1) {
+                    param.setSourceSubsampling(factor, factor, 0, 0);
+                }
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("[ImageProcessor] 디코딩 불가: {}", e.getMessage());
+            return null;
+        }
+        if (decoded == null) {
+            return null;
+        }
+        return orient(decoded, ExifOrientation.read(bytes));
+    }
+
+    private static BufferedImage orient(BufferedImage src, int orientation) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        boolean swap = ExifOrientation.swapsAxes(orientation);
+        BufferedImage out = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            // 투명 배경은 흰색으로 (JPEG 는 알파 없음)
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, out.getWidth(), out.getHeight());
+            g.drawImage(src, ExifOrientation.transform(orientation, w, h), null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    /**
+     * 긴 변이 maxEdge 이하가 되도록 축소 (확대하지 않음)
+     */
+    private static BufferedImage fit(BufferedImage src, int maxEdge) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        if (Math.max(w, h) <= maxEdge) {
+            return src;
+        }
+        double scale = (double) maxEdge / Math.max(w, h);
+        int targetW = Math.max(1, (int) Math.round(w * scale));
+        int targetH = Math.max(1, (int) Math.round(h * scale));
+
+        BufferedImage current = src;
+        int cw = w;
+        int ch = h;
+        // 한 번에 크게 줄이면 bilinear 가 픽셀을 건너뛰어 계단 현상 → 반씩 줄여 나감
+        do {
+            cw = Math.max(targetW, cw / 2);
+            ch = Math.max(targetH, ch / 2);
+            BufferedImage next = new BufferedImage(cw, ch, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, cw, ch, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (cw != targetW || ch != targetH);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            // 메타데이터 없이 기록 → EXIF 제거
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private void record(String operation, String outcome, long startNanos) {
+        Timer.builder("image.process")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
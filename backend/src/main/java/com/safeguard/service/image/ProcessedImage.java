@@ -0,0 +1,11 @@
+package com.safeguard.service.image;
+
+/**
+ * 한 번 디코딩해 만든 파생 이미지 (모두 JPEG, EXIF 제거, 방향 보정 완료)
+ *
+ * @param model     AI 분석 입력 (긴 변 image.model-max-edge)
+ * @param detail    상세 화면용 (긴 변 image.detail-max-edge)
+ * @param thumbnail 목록용 (긴 변 image.thumbnail-max-edge)
+ */
+public record ProcessedImage(byte[] model, byte[] detail, byte[] thumbnail) {
+}
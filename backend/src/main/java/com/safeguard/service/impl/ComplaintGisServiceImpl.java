@@ -4,10 +4,14 @@ import com.safeguard.dto.*;
 import com.safeguard.mapper.ComplaintGisMapper;
 import com.safeguard.service.ComplaintGisService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 
 @Service
@@ -16,6 +20,30 @@ public class ComplaintGisServiceImpl implements ComplaintGisService {
 
     private final ComplaintGisMapper gisMapper;
 
+    // 위도 1도 ≈ 111,320m
+    private static final double METERS_PER_DEGREE = 111_320d;
+
+    @Value("${gis.list.count-cap:1000}")
+    private int listCountCap;
+
+    @Value("${gis.list.max-size:100}")
+    private int listMaxSize;
+
+    @Value("${gis.nearby.default-radius:200}")
+    private int nearbyDefaultRadius;
+
+    @Value("${gis.nearby.max-radius:2000}")
+    private int nearbyMaxRadius;
+
+    @Value("${gis.nearby.default-k:5}")
+    private int nearbyDefaultK;
+
+    @Value("${gis.nearby.max-k:50}")
+    private int nearbyMaxK;
+
+    @Value("${gis.nearby.create-budget-ms:30}")
+    private int nearbyCreateBudgetMs;
+
     @Override
     @Transactional(readOnly = true)
     public List<MapItemDto> getMapItems(MapSearchRequest req) {
@@ -51,4 +79,87 @@ public class ComplaintGisServiceImpl implements ComplaintGisService {
         long total = gisMapper.countComplaintMapList(req);
         return new PageResponse<>(content, page, size, total);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ComplaintListItemDto> listComplaintsByCursor(MapSearchRequest req, String cursor,
+            int size) {
+        int safeSize = Math.max(1, Math.min(size, listMaxSize));
+
+        OffsetDateTime cursorCreatedDate = null;
+        Long cursorComplaintNo = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorCreatedDate = OffsetDateTime.parse(parts[0]);
+            cursorComplaintNo = Long.parseLong(parts[1]);
+        }
+
+        // size + 1 건을 읽어 다음 페이지 존재 여부 판단 (별도 count 없이)
+        List<ComplaintListItemDto> rows = gisMapper.selectComplaintMapListAfter(
+                req, cursorCreatedDate, cursorComplaintNo, safeSize + 1);
+        boolean hasNext = rows.size() > safeSize;
+        List<ComplaintListItemDto> content = hasNext ? rows.subList(0, safeSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ComplaintListItemDto last = content.get(content.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedDate(), last.getComplaintNo());
+        }
+
+        Long total = null;
+        boolean totalCapped = false;
+        if (cursorComplaintNo == null) {
+            long counted = gisMapper.countComplaintMapListCapped(req, listCountCap);
+            totalCapped = counted > listCountCap;
+            total = totalCapped ? listCountCap : counted;
+        }
+
+        return new CursorPageResponse<>(content, safeSize, nextCursor, hasNext, total, totalCapped);
+    }
+
+    private String encodeCursor(OffsetDateTime createdDate, Long complaintNo) {
+        String raw = createdDate + "|" + complaintNo;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            OffsetDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyComplaintDto> getNearbyComplaints(double lat, double lng, Integer k, Integer radius) {
+        int safeK = (k == null || k <= 0) ? nearbyDefaultK : Math.min(k, nearbyMaxK);
+        int safeRadius = (radius == null || radius <= 0) ? nearbyDefaultRadius : Math.min(radius, nearbyMaxRadius);
+        return selectNearby(lat, lng, safeK, safeRadius, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyComplaintDto> findNearbyForNewComplaint(Long complaintNo, double lat, double lng) {
+        // SET LOCAL 이므로 이 읽기 전용 트랜잭션에만 적용됨 (등록 트랜잭션과 분리)
+        gisMapper.setLocalStatementTimeout(String.valueOf(nearbyCreateBudgetMs));
+        return selectNearby(lat, lng, nearbyDefaultK, nearbyDefaultRadius, complaintNo);
+    }
+
+    private List<NearbyComplaintDto> selectNearby(double lat, double lng, int k, int radius, Long excludeNo) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("Invalid coordinates");
+        }
+        // 경도 방향 1도 길이는 cos(lat)배로 줄어들므로, 인덱스 범위는 더 넓은 쪽(경도) 기준으로 잡는다
+        double cosLat = Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        double radiusDeg = radius / (METERS_PER_DEGREE * cosLat);
+        return gisMapper.selectNearbyComplaints(lat, lng, radius, radiusDeg, k, excludeNo);
+    }
 }
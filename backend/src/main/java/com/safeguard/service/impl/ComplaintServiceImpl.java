@@ -2,24 +2,24 @@ package com.safeguard.service.impl;
 
 import com.safeguard.service.ComplaintService;
 import com.safeguard.service.FileService;
+import com.safeguard.service.complaint.ComplaintIntake;
+import com.safeguard.service.complaint.ComplaintPipeline;
 
-import com.safeguard.entity.Agency;
 import com.safeguard.entity.Complaint;
-import com.safeguard.entity.SpatialFeature;
+import com.safeguard.entity.StoredObject;
 import com.safeguard.dto.ComplaintDTO;
+import com.safeguard.dto.StoredImage;
+import com.safeguard.enums.ComplaintProcessingState;
 import com.safeguard.enums.ComplaintStatus;
 import com.safeguard.mapper.ComplaintMapper;
+import com.safeguard.mapper.StoredObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.GeometryFactory;
-import org.locationtech.jts.geom.PrecisionModel;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.io.FileWriter;
-import java.io.PrintWriter;
-import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.HashMap;
 import java.io.IOException;
@@ -30,197 +30,160 @@ import java.io.IOException;
 public class ComplaintServiceImpl implements ComplaintService {
 
     private final ComplaintMapper complaintMapper;
+    private final ComplaintPipeline complaintPipeline;
+    private final StoredObjectMapper storedObjectMapper;
     private final FileService fileService;
-    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
-    private final com.safeguard.mapper.AgencyMapper agencyMapper;
 
     /**
-     * 민원 생성 처리 (위치 정보 및 AI 분석 기반 기관 할당 포함)
+     * 민원 접수 처리
+     * - 검증 후 민원 행만 저장하고 즉시 반환 (processing_state = ACCEPTED)
+     * - 이미지 업로드, 공간 정보, 기관 매핑, 보강은 커밋 후 ComplaintPipeline 에서 비동기로 수행
      */
     @Override
     @Transactional
     public Long createComplaint(Map<String, Object> data, org.springframework.web.multipart.MultipartFile file,
             Long userNo) {
-        log.info("민원 생성 시작 - 사용자 번호: {}", userNo);
-        // 디버그용 로그 기록 (필요 시)
-        logToFile("DEBUG: [ComplaintService] Start creating complaint for user: " + userNo);
+        log.info("민원 접수 시작 - 사용자 번호: {}", userNo);
 
-        String imagePath = (String) data.get("imagePath");
-        // 파일이 첨부된 경우 서버에 저장하고 경로 획득
-        if (file != null && !file.isEmpty()) {
-            try {
-                String fileName = fileService.storeFile(file);
-                imagePath = fileName; // S3 Migration: storeFile returns full URL
-            } catch (Exception e) {
-                log.error("파일 업로드 실패", e);
-            }
+        String category = (String) data.get("category");
+        String title = (String) data.get("title");
+        String content = (String) data.get("content");
+        if (isBlank(category) || isBlank(title) || isBlank(content)) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "카테고리, 제목, 내용은 필수입니다.");
         }
 
-        // 1. 민원 기본 정보(Complaint 엔티티) 설정 및 저장
+        // 1. 민원 기본 정보(Complaint 엔티티) 설정
         Complaint complaint = new Complaint();
-        complaint.setCategory((String) data.get("category"));
-        complaint.setTitle((String) data.get("title"));
-        complaint.setContent((String) data.get("content"));
+        complaint.setCategory(category);
+        complaint.setTitle(title);
+        complaint.setContent(content);
         complaint.setIsPublic((Boolean) data.get("isPublic"));
         complaint.setStatus(ComplaintStatus.UNPROCESSED);
         complaint.setUserNo(userNo);
-        complaint.setImagePath(imagePath);
+        // 미리 업로드한 이미지: 클라이언트 경로는 조회 키로만 쓰고 세 경로 모두 저장소 기록(업로드 결과)에서 가져옴
+        // 행을 잠가 커밋 전까지 StoredObjectJanitor 가 지우지 못하게 함 (기록이 없으면 업로드되지 않은 경로)
+        String requestedImagePath = stringOrNull(data.get("imagePath"));
+        if (!isBlank(requestedImagePath)) {
+            StoredObject attached = storedObjectMapper.lockByImagePath(requestedImagePath);
+            if (attached == null) {
+                throw new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.BAD_REQUEST, "첨부 이미지를 찾을 수 없습니다. 다시 업로드해 주세요.");
+            }
+            complaint.setImagePath(attached.getImagePath());
+            complaint.setDetailPath(attached.getDetailPath());
+            complaint.setThumbnailPath(attached.getThumbnailPath());
+        }
+        complaint.setProcessingState(ComplaintProcessingState.ACCEPTED);
+        // AI 분석 결과는 analysis_result 에 저장 (노드 재시작 후 복구 시 기관 매핑 입력)
+        Long aiAgencyCode = parseAgencyCode(data.getOrDefault("agencyCode", data.get("agency_code")));
+        String aiAgencyName = stringOrNull(data.getOrDefault("agencyName",
+                data.getOrDefault("agency_name", data.get("agency"))));
+        complaint.setAiAgencyCode(aiAgencyCode);
+        complaint.setAiAgencyName(aiAgencyName);
 
         // 주소 및 위경도 정보 설정
         @SuppressWarnings("unchecked")
         Map<String, Object> location = (Map<String, Object>) data.get("location");
         if (location != null) {
-            String addr = (String) location.get("address");
-            complaint.setAddress(addr);
-            if (location.containsKey("lat") && location.containsKey("lng")) {
-                complaint.setLatitude(Double.parseDouble(location.get("lat").toString()));
-                complaint.setLongitude(Double.parseDouble(location.get("lng").toString()));
+            complaint.setAddress((String) location.get("address"));
+            if (location.get("lat") != null && location.get("lng") != null) {
+                try {
+                    complaint.setLatitude(Double.parseDouble(location.get("lat").toString()));
+                    complaint.setLongitude(Double.parseDouble(location.get("lng").toString()));
+                } catch (NumberFormatException e) {
+                    throw new org.springframework.web.server.ResponseStatusException(
+                            org.springframework.http.HttpStatus.BAD_REQUEST, "위치 좌표 형식이 올바르지 않습니다.");
+                }
             }
         }
 
-        // 2. AI 분석 결과 기반 기관 번호(AgencyNo) 설정
-        Long aiAgencyNo = null;
-        Object codeObj = data.getOrDefault("agencyCode", data.get("agency_code"));
-
-        if (codeObj != null) {
+        // 2. 첨부 파일은 요청이 끝나면 임시 파일이 삭제되므로 바이트로 복사 (업로드는 비동기 단계)
+        byte[] imageBytes = null;
+        if (file != null && !file.isEmpty()) {
             try {
-                long val = Long.parseLong(codeObj.toString());
-                if (val > 0)
-                    aiAgencyNo = val;
-            } catch (Exception e) {
-                log.warn("기관 코드 파싱 실패: {}", codeObj);
+                imageBytes = file.getBytes();
+            } catch (IOException e) {
+                throw new org.springframework.web.server.ResponseStatusException(
+                        org.springframework.http.HttpStatus.BAD_REQUEST, "첨부 파일을 읽을 수 없습니다.");
             }
         }
 
-        // 코드가 없는 경우 기관명으로 재검색 (Fallback 로직)
-        if (aiAgencyNo == null) {
-            Object nameObj = data.getOrDefault("agencyName", data.getOrDefault("agency_name", data.get("agency")));
-            String searchName = (nameObj != null) ? nameObj.toString() : null;
-
-            // 만약 이름도 없다면 카테고리를 기반으로 매핑 시도 (Fallback)
-            if (searchName == null || searchName.isEmpty() || "-".equals(searchName)) {
-                String category = (String) data.get("category");
-                searchName = getCentralAgencyByCategory(category);
-                logToFile("DEBUG: [ComplaintService] Falling back to category-based mapping: " + category + " -> "
-                        + searchName);
-            }
-
-            if (searchName != null && !searchName.isEmpty()) {
-                logToFile("DEBUG: [ComplaintService] Finding AI Agency by Name: " + searchName);
-                Agency match = agencyMapper.selectAgencyByName(searchName);
-                if (match != null) {
-                    aiAgencyNo = match.getAgencyNo();
+        // 2-1. 응답 후 재시작/배포로 메모리 사본이 사라져도 복구가 업로드할 수 있도록 커밋 전에 디스크에 보관
+        String stagingPath = null;
+        if (imageBytes != null) {
+            try {
+                stagingPath = fileService.stageImage(imageBytes, file.getOriginalFilename());
+                String staged = stagingPath;
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (status == STATUS_ROLLED_BACK) {
+                                fileService.discardStaged(staged);
+                            }
+                        }
+                    });
                 }
+            } catch (IOException e) {
+                // 보관할 수 없으면 요청 안에서 바로 저장 (응답 후 유실되는 경로를 만들지 않음)
+                log.warn("첨부 이미지 보관 실패, 동기 저장으로 전환: {}", e.getMessage());
+                StoredImage stored = fileService.storeImage(imageBytes, file.getOriginalFilename(),
+                        file.getContentType());
+                complaint.setImagePath(stored.getImagePath());
+                complaint.setDetailPath(stored.getDetailPath());
+                complaint.setThumbnailPath(stored.getThumbnailPath());
+                imageBytes = null;
             }
         }
 
-        if (aiAgencyNo != null) {
-            complaint.setAgencyNo(aiAgencyNo);
-        }
-
-        // DB에 민원 저장 (complaint_no 생성됨)
+        // 3. DB에 민원 저장 (complaint_no 생성됨)
+        complaint.setImagePending(imageBytes != null);
+        complaint.setImageStagingPath(stagingPath);
         complaintMapper.insertComplaint(complaint);
         Long complaintNo = complaint.getComplaintNo();
-
-        // 3. GIS 기능을 위한 공간 정보(Spatial Feature) 저장
-        if (location != null && location.containsKey("lat") && location.containsKey("lng")) {
-            try {
-                SpatialFeature sf = new SpatialFeature();
-                sf.setComplaintNo(complaintNo);
-                sf.setFeatureType("POINT");
-                sf.setAddrText((String) location.get("address"));
-                double lat = Double.parseDouble(location.get("lat").toString());
-                double lng = Double.parseDouble(location.get("lng").toString());
-                sf.setGeom(geometryFactory.createPoint(new Coordinate(lng, lat)));
-                complaintMapper.insertSpatialFeature(sf);
-            } catch (Exception e) {
-                log.error("공간 정보 저장 실패", e);
-            }
+        if (!isBlank(complaint.getImagePath())) {
+            // 미리 업로드한 이미지 참조 수 (저장소 정리 대상에서 제외)
+            storedObjectMapper.incrementRefCount(complaint.getImagePath());
         }
 
-        // 4. 다중 기관 매핑 처리 (ComplaintAgency)
-        // A. 직접적인 소관 부처 매핑 (AI 결과)
-        if (aiAgencyNo != null) {
-            complaintMapper.insertComplaintAgency(complaintNo, aiAgencyNo);
-        }
-
-        // B. 관할 지자체 매핑 (주소의 시/군/구 기반)
-        if (complaint.getAddress() != null && !complaint.getAddress().isEmpty()) {
-            String[] addrParts = complaint.getAddress().split(" ");
-            if (addrParts.length > 0) {
-                String regionName = normalizeRegionName(addrParts[0]);
-                Agency regionAgency = agencyMapper.selectAgencyByName(regionName);
-
-                if (regionAgency != null) {
-                    Long regionNo = regionAgency.getAgencyNo();
-                    // AI 분석 결과와 중복되지 않는 경우에만 추가 매핑
-                    if (aiAgencyNo == null || !aiAgencyNo.equals(regionNo)) {
-                        complaintMapper.insertComplaintAgency(complaintNo, regionNo);
-                    }
-                }
-            }
-        }
+        // 4. 커밋 후 비동기 단계 실행
+        complaintPipeline.submit(ComplaintIntake.builder()
+                .complaintNo(complaintNo)
+                .category(category)
+                .address(complaint.getAddress())
+                .latitude(complaint.getLatitude())
+                .longitude(complaint.getLongitude())
+                .agencyCode(aiAgencyCode)
+                .agencyName(aiAgencyName)
+                .imageBytes(imageBytes)
+                .imageFilename(file != null ? file.getOriginalFilename() : null)
+                .imageContentType(file != null ? file.getContentType() : null)
+                .imageStagingPath(stagingPath)
+                .build());
 
         return complaintNo;
     }
 
-    private String getCentralAgencyByCategory(String category) {
-        if (category == null)
+    private Long parseAgencyCode(Object codeObj) {
+        if (codeObj == null) {
+            return null;
+        }
+        try {
+            long val = Long.parseLong(codeObj.toString());
+            return val > 0 ? val : null;
+        } catch (Exception e) {
+            log.warn("기관 코드 파싱 실패: {}", codeObj);
             return null;
-        switch (category) {
-            case "도로":
-                return "국토교통부";
-            case "행정·안전":
-                return "행정안전부";
-            case "교통":
-                return "경찰청";
-            case "주택·건축":
-                return "행정안전부";
-            case "환경":
-                return "기후에너지환경부";
-            default:
-                return null;
         }
     }
 
-    private String normalizeRegionName(String shortName) {
-        if (shortName == null)
-            return "";
-        if (shortName.startsWith("서울"))
-            return "서울특별시";
-        if (shortName.startsWith("부산"))
-            return "부산광역시";
-        if (shortName.startsWith("대구"))
-            return "대구광역시";
-        if (shortName.startsWith("인천"))
-            return "인천광역시";
-        if (shortName.startsWith("광주"))
-            return "광주광역시";
-        if (shortName.startsWith("대전"))
-            return "대전광역시";
-        if (shortName.startsWith("울산"))
-            return "울산광역시";
-        if (shortName.startsWith("세종"))
-            return "세종특별자치시";
-        if (shortName.startsWith("경기"))
-            return "경기도";
-        if (shortName.startsWith("강원"))
-            return "강원특별자치도";
-        if (shortName.startsWith("충북"))
-            return "충청북도";
-        if (shortName.startsWith("충남"))
-            return "충청남도";
-        if (shortName.startsWith("전북"))
-            return "전북특별자치도";
-        if (shortName.startsWith("전남"))
-            return "전라남도";
-        if (shortName.startsWith("경북"))
-            return "경상북도";
-        if (shortName.startsWith("경남"))
-            return "경상남도";
-        if (shortName.startsWith("제주"))
-            return "제주특별자치도";
-        return shortName;
+    private static String stringOrNull(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 
     /**
@@ -265,19 +228,6 @@ public class ComplaintServiceImpl implements ComplaintService {
         return stats;
     }
 
-    /**
-     * 파일 로그 기록을 위한 헬퍼 메서드
-     */
-    private void logToFile(String message) {
-        String logPath = "./backend_debug.log";
-        try (FileWriter fw = new FileWriter(logPath, true);
-                PrintWriter pw = new PrintWriter(fw)) {
-            pw.println("[" + LocalDateTime.now() + "] " + message);
-        } catch (IOException e) {
-            log.error("로그 파일 쓰기 실패", e);
-        }
-    }
-
     /**
      * 민원 상세 조회 (접근 권한 엄격 제어)
      */
@@ -339,6 +289,7 @@ public class ComplaintServiceImpl implements ComplaintService {
         result.put("likeCount", c.getLikeCount());
         result.put("dislikeCount", c.getDislikeCount());
         result.put("imagePath", c.getImagePath());
+        result.put("detailPath", c.getDetailPath());
         result.put("address", c.getAddress());
         result.put("latitude", c.getLatitude());
         result.put("longitude", c.getLongitude());
@@ -377,6 +328,29 @@ public class ComplaintServiceImpl implements ComplaintService {
 
     // ... (Constructor injection handled by @RequiredArgsConstructor)
 
+    @Override
+    public Map<String, Object> getProcessingState(Long complaintNo, Long userNo, String role, Long agencyNo) {
+        Long viewerAgencyNo = "AGENCY".equals(role) ? agencyNo : null;
+        Map<String, Object> state = complaintMapper.selectProcessingState(complaintNo, viewerAgencyNo);
+        if (state == null) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.NOT_FOUND, "Complaint not found");
+        }
+        // 작성자, 배정 기관 담당자, 관리자만 조회 가능 (상세 조회와 동일 기준)
+        boolean isWriter = userNo != null && userNo.equals(((Number) state.get("userNo")).longValue());
+        boolean isAssigned = Boolean.TRUE.equals(state.get("assignedToViewer"));
+        boolean isAdmin = "ADMIN".equals(role);
+        if (!isWriter && !isAssigned && !isAdmin) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.FORBIDDEN, "처리 상태를 조회할 권한이 없습니다.");
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("complaintNo", complaintNo);
+        result.put("processingState", state.get("processingState"));
+        result.put("processingError", state.get("processingError"));
+        return result;
+    }
+
     /**
      * 민원 상태 변경 (AGENCY 권한 필수)
      */
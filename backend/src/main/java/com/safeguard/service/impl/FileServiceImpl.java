@@ -1,7 +1,14 @@
 package com.safeguard.service.impl;
 
+import com.safeguard.dto.StoredImage;
+import com.safeguard.entity.StoredObject;
+import com.safeguard.mapper.StoredObjectMapper;
 import com.safeguard.service.FileService;
-import io.awspring.cloud.s3.S3Template;
+import com.safeguard.service.image.ImageProcessor;
+import com.safeguard.service.image.ProcessedImage;
+import com.safeguard.service.storage.LocalBlobStore;
+import com.safeguard.service.storage.S3StorageService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +17,14 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @Service
@@ -17,30 +32,30 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class FileServiceImpl implements FileService {
 
-    private final S3Template s3Template;
-
-    @Value("${spring.cloud.aws.s3.bucket}")
-    private String bucketName;
+    private final S3StorageService s3StorageService;
+    private final LocalBlobStore localBlobStore;
+    private final ImageProcessor imageProcessor;
+    private final StoredObjectMapper storedObjectMapper;
+    private final MeterRegistry meterRegistry;
 
     @Value("${spring.cloud.aws.credentials.access-key}")
     private String accessKey;
 
     @Override
     public String storeFile(MultipartFile file) {
-        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-        String extension = "";
-
+        String extension = extensionOf(file.getOriginalFilename());
         try {
-            if (originalFileName.contains("..")) {
-                throw new RuntimeException("Sorry! Filename contains invalid path sequence " + originalFileName);
+            // 1차: 해시만 계산 (임시 파일/메모리에서 다시 읽음), 중복이면 업로드 생략
+            String hash;
+            try (InputStream in = file.getInputStream()) {
+                hash = sha256(in);
             }
-
-            int lastIndex = originalFileName.lastIndexOf('.');
-            if (lastIndex != -1) {
-                extension = originalFileName.substring(lastIndex);
+            StoredObject existing = findDuplicate(hash);
+            if (existing != null) {
+                return existing.getImagePath();
             }
 
-            String fileName = UUID.randomUUID().toString() + extension;
+            String fileName = hash + extension;
 
             // 로컬 개발 환경용 폴백 (Access Key가 "none"이거나 설정되지 않은 경우) -> 제거됨 (IAM Role 지원 위해)
             // if ("none".equals(accessKey) || accessKey == null || accessKey.isEmpty()) {
@@ -48,31 +63,226 @@ public class FileServiceImpl implements FileService {
             // return storeLocally(file, fileName);
             // }
 
+            String path;
             try {
-                // S3 업로드 시도
+                // S3 업로드 시도 (크기를 알려 주어 SDK 재버퍼링 없이 스트리밍)
                 log.info("[File Service] S3 업로드 시도: {}", fileName);
-                s3Template.upload(bucketName, fileName, file.getInputStream());
-                return s3Template.download(bucketName, fileName).getURL().toString();
+                try (InputStream in = file.getInputStream()) {
+                    path = s3StorageService.put(fileName, in, file.getSize(), file.getContentType());
+                }
             } catch (Exception s3Ex) {
                 log.error("[File Service] S3 업로드 실패, 로컬 저장소로 전환합니다.", s3Ex);
-                return storeLocally(file, fileName);
+                path = storeLocally(file, fileName);
             }
+            return register(hash, fileName, file.getSize(), new StoredImage(path, null, null)).getImagePath();
 
         } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + originalFileName + ". Please try again!", ex);
+            throw new RuntimeException("Could not store file " + file.getOriginalFilename() + ". Please try again!",
+                    ex);
         }
     }
 
-    private String storeLocally(MultipartFile file, String fileName) throws IOException {
-        java.nio.file.Path uploadPath = java.nio.file.Paths.get("uploads").toAbsolutePath().normalize();
-        if (!java.nio.file.Files.exists(uploadPath)) {
-            java.nio.file.Files.createDirectories(uploadPath);
+    @Override
+    public String storeFile(byte[] content, String originalFilename, String contentType) {
+        String hash = sha256(content);
+        StoredObject existing = findDuplicate(hash);
+        if (existing != null) {
+            return existing.getImagePath();
+        }
+        String fileName = hash + extensionOf(originalFilename);
+        String path = upload(fileName, content, contentType);
+        return register(hash, fileName, content.length, new StoredImage(path, null, null)).getImagePath();
+    }
+
+    @Override
+    public StoredImage storeImage(byte[] content, String originalFilename, String contentType) {
+        // 같은 사진(작성 중 업로드 → 접수 시 재첨부)은 업로드/축소 없이 기존 경로 재사용
+        String hash = sha256(content);
+        StoredObject existing = findDuplicate(hash);
+        if (existing != null) {
+            if (existing.getDetailPath() == null) {
+                // 직접 업로드로 원본만 등록된 객체 → 지금 받은 바이트로 축소본 보충
+                StoredImage filled = fillVariants(existing, content);
+                if (filled != null) {
+                    return filled;
+                }
+            }
+            return toStoredImage(existing);
         }
-        java.nio.file.Path targetLocation = uploadPath.resolve(fileName);
-        java.nio.file.Files.copy(file.getInputStream(), targetLocation,
-                java.nio.file.StandardCopyOption.REPLACE_EXISTING);
 
-        // 프론트엔드에서 접근 가능한 상대 경로 반환
-        return "/uploads/" + fileName;
+        // 원본은 그대로 보관 (재처리/증빙용)
+        String fileName = hash + extensionOf(originalFilename);
+        String imagePath = upload(fileName, content, contentType);
+
+        // AI 분석에서 이미 가공했으면 그 결과 재사용 (디코딩 한 번)
+        ProcessedImage processed = imageProcessor.process(hash, content);
+        if (processed == null) {
+            // HEIC 등 디코딩 불가 형식 → 원본 경로로 대체
+            return register(hash, fileName, content.length, new StoredImage(imagePath, imagePath, imagePath));
+        }
+        String detailPath = upload(hash + "_detail.jpg", processed.detail(), "image/jpeg");
+        String thumbnailPath = upload(hash + "_thumb.jpg", processed.thumbnail(), "image/jpeg");
+        log.info("[File Service] 축소본 저장: {} ({} bytes -> 상세 {} / 썸네일 {} bytes)",
+                hash, content.length, processed.detail().length, processed.thumbnail().length);
+        return register(hash, fileName, content.length, new StoredImage(imagePath, detailPath, thumbnailPath));
+    }
+
+    @Override
+    public StoredImage findStored(String contentHash) {
+        StoredObject existing = findDuplicate(contentHash);
+        return existing != null ? toStoredImage(existing) : null;
+    }
+
+    @Override
+    public StoredImage registerUploaded(String contentHash, String objectKey, long size) {
+        String path = s3StorageService.urlFor(objectKey);
+        StoredImage stored = register(contentHash, objectKey, size, new StoredImage(path, null, null));
+        return new StoredImage(stored.getImagePath(),
+                stored.getDetailPath() != null ? stored.getDetailPath() : stored.getImagePath(),
+                stored.getThumbnailPath() != null ? stored.getThumbnailPath() : stored.getImagePath());
+    }
+
+    @Override
+    public void fillVariants(String contentHash) {
+        StoredObject object = storedObjectMapper.touchByHash(contentHash);
+        if (object == null || object.getDetailPath() != null) {
+            return;
+        }
+        fillVariants(object, s3StorageService.read(object.getObjectKey()));
+    }
+
+    /**
+     * 원본만 등록된 객체의 상세/썸네일 축소본 생성 후 저장소/첨부 민원 경로 갱신 (디코딩 불가면 null → 원본 경로 유지)
+     */
+    private StoredImage fillVariants(StoredObject object, byte[] content) {
+        String hash = object.getContentHash();
+        ProcessedImage processed = imageProcessor.process(hash, content);
+        if (processed == null) {
+            return null;
+        }
+        String detailPath = upload(hash + "_detail.jpg", processed.detail(), "image/jpeg");
+        String thumbnailPath = upload(hash + "_thumb.jpg", processed.thumbnail(), "image/jpeg");
+        if (storedObjectMapper.fillVariants(hash, detailPath, thumbnailPath) == 0) {
+            // 다른 요청이 먼저 채움 (키가 같으므로 내용도 동일)
+            StoredObject current = storedObjectMapper.touchByHash(hash);
+            return current != null ? toStoredImage(current) : null;
+        }
+        int complaints = storedObjectMapper.fillComplaintVariants(object.getImagePath(), detailPath, thumbnailPath);
+        log.info("[File Service] 축소본 보충: {} ({} bytes -> 상세 {} / 썸네일 {} bytes, 첨부 민원 {}건)",
+                hash, content.length, processed.detail().length, processed.thumbnail().length, complaints);
+        return new StoredImage(object.getImagePath(), detailPath, thumbnailPath);
+    }
+
+    @Override
+    public String stageImage(byte[] content, String originalFilename) throws IOException {
+        // 접수마다 별도 키: 내용 해시 키와 달리 같은 사진을 첨부한 다른 접수나 로컬 폴백 원본과 파일을 공유하지 않음
+        // → 업로드 후 보관본을 지워도 다른 쪽에 영향 없음
+        return localBlobStore.put("staged-" + UUID.randomUUID() + extensionOf(originalFilename), content);
+    }
+
+    @Override
+    public byte[] readStaged(String stagingPath) throws IOException {
+        Path file = localBlobStore.locate(stagingPath);
+        return file != null ? Files.readAllBytes(file) : null;
+    }
+
+    @Override
+    public void discardStaged(String stagingPath) {
+        if (!LocalBlobStore.isLocal(stagingPath)) {
+            return;
+        }
+        try {
+            localBlobStore.delete(List.of(LocalBlobStore.keyOf(stagingPath)));
+        } catch (IOException e) {
+            log.warn("[File Service] 첨부 보관본 삭제 실패: {} - {}", stagingPath, e.getMessage());
+        }
+    }
+
+    private StoredObject findDuplicate(String hash) {
+        StoredObject existing = storedObjectMapper.touchByHash(hash);
+        meterRegistry.counter("storage.dedup", "result", existing != null ? "hit" : "miss").increment();
+        if (existing != null) {
+            log.info("[File Service] 중복 업로드 - 기존 객체 사용: {}", existing.getObjectKey());
+        }
+        return existing;
+    }
+
+    /**
+     * 저장소 기록 (동시에 같은 내용이 올라와 먼저 기록된 행이 있으면 그 경로 반환, 키가 같으므로 내용도 동일)
+     */
+    private StoredImage register(String hash, String objectKey, long size, StoredImage stored) {
+        StoredObject object = new StoredObject();
+        object.setContentHash(hash);
+        object.setObjectKey(objectKey);
+        object.setImagePath(stored.getImagePath());
+        object.setDetailPath(stored.getDetailPath());
+        object.setThumbnailPath(stored.getThumbnailPath());
+        object.setSizeBytes(size);
+        if (storedObjectMapper.insertIfAbsent(object) == 0) {
+            StoredObject winner = storedObjectMapper.touchByHash(hash);
+            if (winner != null) {
+                return toStoredImage(winner);
+            }
+        }
+        return stored;
+    }
+
+    private static StoredImage toStoredImage(StoredObject object) {
+        String imagePath = object.getImagePath();
+        return new StoredImage(imagePath,
+                object.getDetailPath() != null ? object.getDetailPath() : imagePath,
+                object.getThumbnailPath() != null ? object.getThumbnailPath() : imagePath);
+    }
+
+    private static String sha256(byte[] content) {
+        return HexFormat.of().formatHex(digest().digest(content));
+    }
+
+    private static String sha256(InputStream in) throws IOException {
+        MessageDigest digest = digest();
+        byte[] buffer = new byte[64 * 1024];
+        for (int n; (n = in.read(buffer)) != -1; ) {
+            digest.update(buffer, 0, n);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String extensionOf(String originalFilename) {
+        String originalFileName = StringUtils.cleanPath(originalFilename != null ? originalFilename : "");
+        if (originalFileName.contains("..")) {
+            throw new RuntimeException("Sorry! Filename contains invalid path sequence " + originalFileName);
+        }
+        int lastIndex = originalFileName.lastIndexOf('.');
+        // 내용 해시 키이므로 확장자 대소문자 차이로 객체가 갈리지 않도록 소문자
+        return lastIndex != -1 ? originalFileName.substring(lastIndex).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private String upload(String fileName, byte[] content, String contentType) {
+        try {
+            log.info("[File Service] S3 업로드 시도: {}", fileName);
+            return s3StorageService.put(fileName, content, contentType);
+        } catch (Exception s3Ex) {
+            log.error("[File Service] S3 업로드 실패, 로컬 저장소로 전환합니다.", s3Ex);
+            try {
+                return localBlobStore.put(fileName, content);
+            } catch (IOException ex) {
+                throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
+            }
+        }
+    }
+
+    private String storeLocally(MultipartFile file, String fileName) throws IOException {
+        // 프론트엔드에서 접근 가능한 상대 경로 반환 (S3 복구 후 LocalUploadMigrator 가 이전)
+        try (InputStream in = file.getInputStream()) {
+            return localBlobStore.put(fileName, in);
+        }
     }
-}
\ No newline at end of file
+}
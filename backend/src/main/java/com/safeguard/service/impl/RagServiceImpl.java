@@ -2,36 +2,34 @@ package com.safeguard.service.impl;
 
 import com.safeguard.service.RagService;
 
-import com.safeguard.dto.RagAnalysisRequest;
 import com.safeguard.dto.RagAnalysisResponse;
+import com.safeguard.service.ai.AiServiceException;
+import com.safeguard.service.ai.RagClassifier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RagServiceImpl implements RagService {
 
-    @Value("${ai.rag.url}")
-    private String aiRagUrl;
-
-    private final RestTemplate restTemplate = new RestTemplate();
+    // 마이크로 배치(/classify_batch) + 정규화 텍스트 캐시
+    private final RagClassifier ragClassifier;
 
     @Override
     public RagAnalysisResponse analyzeText(String text) {
-        String url = aiRagUrl + "/classify";
-        RagAnalysisRequest request = new RagAnalysisRequest(text);
-
         try {
-            log.info("[RAG Service] Requesting analysis for text: {}", text);
-            RagAnalysisResponse response = restTemplate.postForObject(url, request, RagAnalysisResponse.class);
-            log.info("[RAG Service] Received result: {}", response);
+            RagAnalysisResponse response = ragClassifier.classify(text);
+            log.debug("[RAG Service] Received result: agency={}, confidence={}",
+                    response != null ? response.getAgencyName() : null,
+                    response != null ? response.getConfidence() : null);
             return response;
+        } catch (AiServiceException e) {
+            // 한도 초과/차단/타임아웃은 503 으로 응답 (GlobalExceptionHandler)
+            throw e;
         } catch (Exception e) {
-            log.error("[RAG Service] Connection failed to: {}", url, e);
+            log.error("[RAG Service] Classification failed: {}", e.getMessage(), e);
             throw new RuntimeException("AI RAG 서비스 연결에 실패했습니다.");
         }
     }
@@ -3,41 +3,67 @@ package com.safeguard.service.impl;
 import com.safeguard.service.SttService;
 
 import com.safeguard.dto.SttResponse;
+import com.safeguard.service.ai.AiClient;
+import com.safeguard.service.ai.AiClientFactory;
+import com.safeguard.service.ai.AiServiceException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SttServiceImpl implements SttService {
 
-    @Value("${ai.stt.url}")
-    private String sttUrl;
+    private final AiClientFactory aiClientFactory;
+
+    private AiClient aiClient;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @PostConstruct
+    void init() {
+        aiClient = aiClientFactory.get("stt");
+    }
 
     @Override
     public SttResponse transcribe(MultipartFile file) {
+        try {
+            return transcribe(file.getBytes(), file.getOriginalFilename());
+        } catch (IOException e) {
+            log.error("STT Service error: {}", e.getMessage());
+            throw new RuntimeException("음성 인식 처리 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public SttResponse transcribe(byte[] bytes, String filename) {
         try {
             MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("file", file.getResource());
+            body.add("file", new ByteArrayResource(bytes) {
+                @Override
+                public String getFilename() {
+                    return filename != null ? filename : "record.wav";
+                }
+            });
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.MULTIPART_FORM_DATA);
 
             HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
 
-            log.info("Sending STT request to: {}", sttUrl + "/upload_voice");
-            return restTemplate.postForObject(sttUrl + "/upload_voice", requestEntity, SttResponse.class);
+            log.info("Sending STT request: {}/upload_voice", aiClient.getName());
+            return aiClient.post("/upload_voice", requestEntity, SttResponse.class);
+        } catch (AiServiceException e) {
+            throw e;
         } catch (Exception e) {
             log.error("STT Service error: {}", e.getMessage());
             throw new RuntimeException("음성 인식 처리 중 오류가 발생했습니다: " + e.getMessage());
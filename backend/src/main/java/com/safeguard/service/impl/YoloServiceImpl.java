@@ -2,18 +2,25 @@ package com.safeguard.service.impl;
 
 import com.safeguard.dto.YoloResponse;
 import com.safeguard.service.YoloService;
+import com.safeguard.service.agency.AgencyDirectory;
+import com.safeguard.service.ai.AiClient;
+import com.safeguard.service.ai.AiClientFactory;
+import com.safeguard.service.ai.YoloResultCache;
+import com.safeguard.service.image.ImageProcessor;
+import com.safeguard.service.image.ProcessedImage;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,14 +29,15 @@ import java.util.Map;
 @Slf4j
 public class YoloServiceImpl implements YoloService {
 
-    @Value("${ai.yolo.url}")
-    private String yoloUrl;
+    private final AiClientFactory aiClientFactory;
+    private final AgencyDirectory agencyDirectory;
+    private final YoloResultCache yoloResultCache;
+    private final ImageProcessor imageProcessor;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private AiClient aiClient;
 
     // 영문 라벨 -> 한글 라벨 매핑 (AI 서버가 영문을 반환할 경우 대비)
     private static final Map<String, String> TYPE_MAP = new HashMap<>();
-    private static final Map<String, String> AGENCY_MAP = new HashMap<>();
 
     static {
         // 사용자 선호 유형 매핑 (0~4 순서)
@@ -52,45 +60,46 @@ public class YoloServiceImpl implements YoloService {
         TYPE_MAP.put("parking", "교통");
         TYPE_MAP.put("construction", "주택·건축");
         TYPE_MAP.put("trash", "환경");
-        
-        // 기관 매핑 (선호 유형 -> 중앙 부처)
-        AGENCY_MAP.put("도로", "국토교통부");
-        AGENCY_MAP.put("행정안전", "행정안전부");
-        AGENCY_MAP.put("교통", "경찰청");
-        AGENCY_MAP.put("주택건축", "행정안전부");
-        AGENCY_MAP.put("환경", "기후에너지환경부");
+    }
+
+    @PostConstruct
+    void init() {
+        aiClient = aiClientFactory.get("yolo");
     }
 
     @Override
     public YoloResponse analyzeImage(MultipartFile file) {
+        byte[] bytes;
         try {
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("image", file.getResource());
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-            String url = yoloUrl + "/api/analyze-image";
-            log.info("[Yolo Service] AI 분석 요청: {}", url);
-
-            Map<String, Object> aiResult = restTemplate.postForObject(url, requestEntity, Map.class);
-            log.info("[Yolo Service] AI 분석 응답: {}", aiResult);
+            bytes = file.getBytes();
+        } catch (IOException e) {
+            log.error("[Yolo Service] 이미지 읽기 실패: {}", e.getMessage());
+            return YoloResponse.builder()
+                    .type(YoloResponse.FAILED_TYPE)
+                    .agency("-")
+                    .message("AI 분석 중 오류가 발생했습니다: " + e.getMessage())
+                    .build();
+        }
+        return analyzeImage(bytes, file.getOriginalFilename());
+    }
 
-            if (aiResult == null) {
-                throw new RuntimeException("AI 서버로부터 응답을 받지 못했습니다.");
-            }
+    @Override
+    public YoloResponse analyzeImage(byte[] bytes, String filename) {
+        try {
+            // 같은 사진 재업로드(작성 중 분석 → 접수 → 재시도)는 이미지 해시 캐시로 재분석 생략
+            String hash = YoloResultCache.hash(bytes);
+            YoloResponse raw = yoloResultCache.get(hash, () -> requestAnalysis(bytes, hash, filename));
 
             // AI 서버가 'type' 필드에 라벨 이름이나 ID를 보낸다고 가정
-            String typeRaw = String.valueOf(aiResult.getOrDefault("type", ""));
-            String agencyRaw = (String) aiResult.getOrDefault("agency", "지자체 민원실");
+            String typeRaw = raw.getType();
+            String agencyRaw = raw.getAgency();
 
             // 1. 유형 한글화 (매핑 테이블 우선 확인)
             String localizedType = TYPE_MAP.getOrDefault(typeRaw.toLowerCase(), typeRaw);
             
-            // 2. 기관 한글화 (한글화된 유형을 기준으로 재매핑)
-            String localizedAgency = AGENCY_MAP.getOrDefault(localizedType, agencyRaw);
+            // 2. 기관 한글화 (한글화된 유형을 기준으로 재매핑, 카테고리 라우팅은 AgencyDirectory 공용)
+            String centralAgency = agencyDirectory.centralAgencyNameForCategory(localizedType);
+            String localizedAgency = centralAgency != null ? centralAgency : agencyRaw;
 
             return YoloResponse.builder()
                     .type(localizedType)
@@ -101,10 +110,50 @@ public class YoloServiceImpl implements YoloService {
         } catch (Exception e) {
             log.error("[Yolo Service] 오류: {}", e.getMessage());
             return YoloResponse.builder()
-                    .type("분석 실패")
+                    .type(YoloResponse.FAILED_TYPE)
                     .agency("-")
                     .message("AI 분석 중 오류가 발생했습니다: " + e.getMessage())
                     .build();
         }
     }
+
+    /**
+     * AI 서버 분석 요청 (원본 type/agency 반환, 캐시 미스일 때만 호출)
+     */
+    private YoloResponse requestAnalysis(byte[] bytes, String hash, String filename) {
+        // 모델 입력 크기(imgsz=640)로 줄여 전송 → 원본 수 MB 대신 수십 KB (캐시 키는 원본 해시 그대로)
+        // 상세/썸네일까지 한 번에 만들어 두므로 이어지는 업로드(FileService.storeImage)는 다시 디코딩하지 않음
+        ProcessedImage processed = imageProcessor.process(hash, bytes);
+        // 이미 작은 이미지는 재인코딩 결과가 더 클 수 있음
+        byte[] input = processed != null && processed.model().length < bytes.length ? processed.model() : bytes;
+        String inputName = input != bytes ? "image.jpg" : (filename != null ? filename : "image");
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("image", new ByteArrayResource(input) {
+            @Override
+            public String getFilename() {
+                return inputName;
+            }
+        });
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+
+        log.info("[Yolo Service] AI 분석 요청: /api/analyze-image ({} bytes)", input.length);
+
+        // 분석은 멱등 → 느린 복제본은 헤징 (ai.yolo.hedge.*)
+        Map<String, Object> aiResult = aiClient.postHedged("/api/analyze-image", requestEntity, Map.class);
+        log.info("[Yolo Service] AI 분석 응답: {}", aiResult);
+
+        if (aiResult == null) {
+            throw new RuntimeException("AI 서버로부터 응답을 받지 못했습니다.");
+        }
+
+        return YoloResponse.builder()
+                .type(String.valueOf(aiResult.getOrDefault("type", "")))
+                .agency((String) aiResult.getOrDefault("agency", "지자체 민원실"))
+                .build();
+    }
 }
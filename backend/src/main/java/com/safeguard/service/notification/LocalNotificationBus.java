@@ -0,0 +1,31 @@
+package com.safeguard.service.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 단일 인스턴스용 버스 (발행 즉시 같은 JVM 의 리스너에 전달)
+ */
+@Component
+@ConditionalOnProperty(name = "notification.bus.type", havingValue = "local", matchIfMissing = true)
+public class LocalNotificationBus implements NotificationBus {
+
+    private final List<NotificationBusListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(NotificationEvent event) {
+        for (NotificationBusListener listener : listeners) {
+            if (listener.isInterested(event.getUserNo())) {
+                listener.onEvent(event);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(NotificationBusListener listener) {
+        listeners.add(listener);
+    }
+}
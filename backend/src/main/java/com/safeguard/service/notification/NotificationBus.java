@@ -0,0 +1,16 @@
+package com.safeguard.service.notification;
+
+/**
+ * 알림 이벤트 전달 버스
+ * - local   : 단일 JVM 내 전달 (기본값)
+ * - postgres: PostgreSQL LISTEN/NOTIFY 로 모든 백엔드 노드에 전달
+ */
+public interface NotificationBus {
+
+    /**
+     * 이벤트 발행. 트랜잭션 안에서 호출되면 구현에 따라 커밋 시점에 전달될 수 있다.
+     */
+    void publish(NotificationEvent event);
+
+    void subscribe(NotificationBusListener listener);
+}
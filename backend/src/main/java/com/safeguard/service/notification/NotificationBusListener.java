@@ -0,0 +1,11 @@
+package com.safeguard.service.notification;
+
+public interface NotificationBusListener {
+
+    /**
+     * 이 노드가 해당 사용자 이벤트를 처리할 필요가 있는지 (역직렬화/DB 조회 전에 먼저 확인)
+     */
+    boolean isInterested(Long userNo);
+
+    void onEvent(NotificationEvent event);
+}
@@ -0,0 +1,174 @@
+package com.safeguard.service.notification;
+
+import com.safeguard.dto.NotificationDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 (userNo, complaintNo) 알림의 실시간 전송(버스 발행 → SSE)을 짧은 시간 창 안에서 하나의 묶음으로 합치는 단계 (선택)
+ *
+ * - 저장은 합치지 않음: 모든 알림은 NotificationWriter 가 각각 한 행으로 저장한 뒤 여기로 옴 (이력/목록 API 그대로)
+ * - 창은 첫 이벤트 기준 고정 길이(window-ms) → 지연 상한이 보장됨, max-events 에 도달하면 즉시 내보냄
+ * - 이벤트가 1건이면 그대로 발행, 2건 이상이면 최신 알림(id/type/미확인 수)에
+ *   모든 이벤트 message 를 최신순으로 " | " 구분해 담아 한 번만 발행 (클라이언트는 첫 항목을 대표로 표시)
+ * - 종료 시 열린 창을 모두 발행한 뒤 멈춤 (writer 가 남은 큐를 저장/발행한 뒤 stop)
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationCoalescer implements SmartLifecycle {
+
+    static final String DIGEST_SEPARATOR = " | ";
+
+    private final NotificationBus notificationBus;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.coalesce.enabled:false}")
+    private boolean enabled;
+
+    @Value("${notification.coalesce.window-ms:5000}")
+    private long windowMs;
+
+    @Value("${notification.coalesce.max-events:10}")
+    private int maxEvents;
+
+    private record Key(Long userNo, Long complaintNo) {
+    }
+
+    private static final class Window {
+        private final List<NotificationEvent> events = new ArrayList<>();
+    }
+
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private Counter mergedCounter;
+
+    @PostConstruct
+    void init() {
+        mergedCounter = meterRegistry.counter("notification.coalesce.merged");
+        meterRegistry.gauge("notification.coalesce.windows", windows, Map::size);
+    }
+
+    /**
+     * 저장 완료된 알림 이벤트 발행. 비활성화 상태거나 종료 중이면 바로 발행
+     */
+    public void publish(NotificationEvent event) {
+        NotificationDTO notification = event.getNotification();
+        if (!enabled || !running || notification == null || notification.getComplaintNo() == null) {
+            notificationBus.publish(event);
+            return;
+        }
+        Key key = new Key(event.getUserNo(), notification.getComplaintNo());
+        boolean[] opened = new boolean[1];
+        boolean[] full = new boolean[1];
+        Window current = windows.compute(key, (k, window) -> {
+            if (window == null) {
+                window = new Window();
+                opened[0] = true;
+            }
+            window.events.add(event);
+            full[0] = window.events.size() >= maxEvents;
+            return window;
+        });
+        if (full[0]) {
+            flush(key, current);
+        } else if (opened[0]) {
+            scheduler.schedule(() -> flush(key, current), windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(Key key, Window window) {
+        // 해당 창일 때만 제거 (먼저 닫힌 창의 타이머가 새 창을 닫지 않도록) → 이후 이벤트는 새 창으로
+        if (!windows.remove(key, window)) {
+            return;
+        }
+        List<NotificationEvent> events = window.events;
+        if (events.size() == 1) {
+            notificationBus.publish(events.get(0));
+            return;
+        }
+        mergedCounter.increment(events.size() - 1);
+        notificationBus.publish(digest(events));
+    }
+
+    /**
+     * 최신 이벤트 기준 묶음 이벤트 (id 가 최신 알림이므로 Last-Event-ID/읽음 처리는 최신 행 기준)
+     */
+    private NotificationEvent digest(List<NotificationEvent> events) {
+        NotificationEvent latest = events.get(events.size() - 1);
+        NotificationDTO head = latest.getNotification();
+        StringBuilder message = new StringBuilder();
+        Integer unreadCount = null;
+        for (int i = events.size() - 1; i >= 0; i--) {
+            NotificationEvent event = events.get(i);
+            if (unreadCount == null) {
+                unreadCount = event.getUnreadCount();
+            }
+            if (message.length() > 0) {
+                message.append(DIGEST_SEPARATOR);
+            }
+            message.append(event.getNotification().getMessage());
+        }
+        NotificationDTO merged = NotificationDTO.builder()
+                .notificationId(head.getNotificationId())
+                .userNo(head.getUserNo())
+                .complaintNo(head.getComplaintNo())
+                .type(head.getType())
+                .message(message.toString())
+                .isRead(false)
+                .createdAt(head.getCreatedAt())
+                .build();
+        return NotificationEvent.builder()
+                .userNo(latest.getUserNo())
+                .notification(merged)
+                .notificationId(head.getNotificationId())
+                .unreadCount(unreadCount)
+                .build();
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notification-coalesce");
+            t.setDaemon(true);
+            return t;
+        });
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (Map.Entry<Key, Window> entry : List.copyOf(windows.entrySet())) {
+            flush(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // NotificationWriter 보다 늦게 멈춰야 writer 가 종료 시 저장한 알림까지 발행됨
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 3072;
+    }
+}
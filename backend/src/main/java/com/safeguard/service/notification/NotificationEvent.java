@@ -0,0 +1,32 @@
+package com.safeguard.service.notification;
+
+import com.safeguard.dto.NotificationDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 노드 간 전달되는 알림 이벤트 (NotificationBus 메시지)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationEvent {
+    private Long userNo;
+
+    // 발행 노드 식별자 (디버깅/중복 추적용)
+    private String originNode;
+
+    // 프론트엔드 계약 형태(type 변환 완료)의 알림. payload 크기 초과 시 null 이고 notificationId 로 재조회
+    private NotificationDTO notification;
+    private Long notificationId;
+    // 참조 전달 시 알림 생성 시각 (재조회가 해당 일자 파티션만 보도록)
+    private LocalDateTime createdAt;
+
+    // 변경 후 미확인 수 (읽음 처리만 전달할 때는 notification/notificationId 없이 이 값만 채움)
+    private Integer unreadCount;
+}
@@ -0,0 +1,206 @@
+package com.safeguard.service.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * notification 일 단위 파티션 관리 (V4__partition_notification.sql 적용 후 동작)
+ *
+ * - 오늘(UTC)부터 premake-days 일 뒤까지 파티션을 미리 생성 (INSERT 시점에 파티션이 없어 실패하지 않도록)
+ * - retention-days 보다 오래된 파티션은 DETACH CONCURRENTLY 후 DROP (drop-expired=false 면 분리만 하고 보관)
+ * - 모든 작업을 advisory lock 을 잡은 커넥션 하나에서 수행 → 여러 노드가 동시에 실행해도 한 노드만 처리
+ * - 테이블이 아직 파티션 테이블이 아니면(마이그레이션 전) 아무것도 하지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationPartitionManager {
+
+    private static final String PARTITION_PREFIX = "notification_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    // advisory lock 키 (임의 상수, 다른 용도와 겹치지 않게)
+    private static final long LOCK_KEY = 0x4E4F5449L;
+    // 조회 쿼리가 보는 기간(3일)보다 짧게 설정하지 못하도록
+    private static final int MIN_RETENTION_DAYS = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${notification.partition.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.partition.premake-days:7}")
+    private int premakeDays;
+
+    @Value("${notification.partition.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${notification.partition.drop-expired:true}")
+    private boolean dropExpired;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${notification.partition.cron:0 10 0 * * *}", zone = "UTC")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) this::maintain);
+        } catch (Exception e) {
+            log.error("[NotificationPartition] 파티션 관리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * [from, to] 구간 일 파티션 생성 (과거 시각 알림을 직접 적재하는 합성 데이터 생성용)
+     * - retention 밖의 날짜는 다음 maintain 에서 만료되므로 요청해도 만들지 않음
+     */
+    public void ensurePartitions(LocalDate from, LocalDate to) {
+        LocalDate earliest = LocalDate.now(ZoneOffset.UTC).minusDays(Math.max(retentionDays, MIN_RETENTION_DAYS));
+        LocalDate start = from.isBefore(earliest) ? earliest : from;
+        jdbcTemplate.execute((ConnectionCallback<Void>) conn -> {
+            if (!isPartitioned(conn)) {
+                return null;
+            }
+            for (LocalDate day = start; !day.isAfter(to); day = day.plusDays(1)) {
+                createPartition(conn, day);
+            }
+            return null;
+        });
+    }
+
+    private Void maintain(Connection conn) throws SQLException {
+        if (!isPartitioned(conn)) {
+            log.debug("[NotificationPartition] notification 이 파티션 테이블이 아님 - 건너뜀");
+            return null;
+        }
+        if (!tryLock(conn)) {
+            return null;
+        }
+        try {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            List<String> existing = listPartitions(conn);
+
+            int created = 0;
+            for (int i = 0; i <= premakeDays; i++) {
+                LocalDate day = today.plusDays(i);
+                if (!existing.contains(partitionName(day))) {
+                    createPartition(conn, day);
+                    created++;
+                }
+            }
+
+            LocalDate cutoff = today.minusDays(Math.max(retentionDays, MIN_RETENTION_DAYS));
+            int expired = 0;
+            for (String name : existing) {
+                LocalDate day = parseDay(name);
+                // 파티션 [day, day+1) 전체가 cutoff 이전일 때만 만료
+                if (day != null && day.isBefore(cutoff)) {
+                    expire(conn, name);
+                    expired++;
+                }
+            }
+            if (created > 0 || expired > 0) {
+                log.info("[NotificationPartition] 생성 {}개, 만료 {}개 (retention {}일)", created, expired,
+                        retentionDays);
+            }
+        } finally {
+            unlock(conn);
+        }
+        return null;
+    }
+
+    private boolean isPartitioned(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery(
+                        "SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('notification')")) {
+            return rs.next();
+        }
+    }
+
+    private boolean tryLock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            ps.execute();
+        }
+    }
+
+    private List<String> listPartitions(Connection conn) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement st = conn.createStatement();
+                ResultSet rs = st.executeQuery(
+                        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                                + "WHERE i.inhparent = 'notification'::regclass")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private void createPartition(Connection conn, LocalDate day) throws SQLException {
+        // 이름/경계값은 날짜에서만 만들어지므로 문자열 결합이 안전함
+        String sql = "CREATE TABLE IF NOT EXISTS " + partitionName(day)
+                + " PARTITION OF notification FOR VALUES FROM ('" + day + " 00:00:00+00') TO ('"
+                + day.plusDays(1) + " 00:00:00+00')";
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private void expire(Connection conn, String name) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            // CONCURRENTLY: 부모 테이블에 ACCESS EXCLUSIVE 락을 잡지 않음 (트랜잭션 밖에서만 가능 → autocommit 커넥션)
+            st.execute("ALTER TABLE notification DETACH PARTITION " + name + " CONCURRENTLY");
+            if (dropExpired) {
+                st.execute("DROP TABLE " + name);
+            }
+        }
+    }
+
+    private String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(SUFFIX);
+    }
+
+    private LocalDate parseDay(String name) {
+        if (!name.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(name.substring(PARTITION_PREFIX.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.safeguard.service.notification;
+
+import com.safeguard.dto.NotificationDTO;
+import com.safeguard.mapper.NotificationMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 최근 알림 링 버퍼 (SSE Last-Event-ID 재전송용)
+ *
+ * - 이 노드에 연결한 적 있는 사용자에 대해서만 유지하고, 마지막 연결 종료 후 idle-ttl 이 지나면 제거
+ * - 버퍼를 먼저 등록한 뒤 DB 의 최대 notification_id 를 기준점(baseline)으로 조회
+ *   → 조회 시점에 커밋되지 않은 알림도 이후 발행되면 버퍼에 기록됨 (lastEventId >= baseline 이면 DB 조회 없이 재전송)
+ * - notification_id 순서와 커밋(발행) 순서는 다를 수 있으므로 lastEventId 보다 작은 id 라도
+ *   lastEventId 도착 전후 commit-horizon 안에 기록된 알림은 함께 재전송 (중복은 연결/클라이언트에서 id 로 제거)
+ * - 용량 초과로 밀려난 알림이 있으면 baseline 을 밀려난 id 로 올림 (그보다 오래된 공백은 DB 에서 조회)
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationReplayBuffer {
+
+    private final NotificationMapper notificationMapper;
+    private final SseConnectionManager sseConnectionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.replay.capacity:32}")
+    private int capacity;
+
+    @Value("${notification.replay.idle-ttl-ms:600000}")
+    private long idleTtlMs;
+
+    @Value("${notification.replay.commit-horizon-ms:5000}")
+    private long commitHorizonMs;
+
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("notification.replay.buffers", rings, Map::size)
+                .description("재전송 버퍼를 유지 중인 사용자 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자 버퍼 확보 (구독 시 호출). 등록 먼저, 최초 생성 시에만 DB 에서 baseline 조회
+     */
+    public void attach(Long userNo) {
+        Ring ring = rings.computeIfAbsent(userNo, k -> new Ring(capacity));
+        ring.touch();
+        if (!ring.hasBaseline()) {
+            Long maxId = notificationMapper.selectMaxNotificationId(userNo);
+            ring.setBaseline(maxId != null ? maxId : 0L);
+        }
+    }
+
+    public boolean isTracking(Long userNo) {
+        return rings.containsKey(userNo);
+    }
+
+    public void record(Long userNo, NotificationDTO notification) {
+        Ring ring = rings.get(userNo);
+        if (ring != null && notification.getNotificationId() != null) {
+            ring.add(notification);
+        }
+    }
+
+    /**
+     * lastEventId 이후 알림 목록. 버퍼가 공백을 모두 덮지 못하면 null (호출 측에서 DB 조회)
+     */
+    public List<NotificationDTO> replayAfter(Long userNo, long lastEventId) {
+        Ring ring = rings.get(userNo);
+        if (ring == null) {
+            return null;
+        }
+        return ring.after(lastEventId, TimeUnit.MILLISECONDS.toNanos(commitHorizonMs));
+    }
+
+    /**
+     * 연결이 없는 상태로 idle-ttl 이 지난 버퍼 제거
+     */
+    @Scheduled(fixedDelayString = "${notification.replay.sweep-interval-ms:60000}")
+    public void expireIdle() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleTtlMs);
+        rings.entrySet().removeIf(e -> {
+            if (sseConnectionManager.hasConnections(e.getKey())) {
+                e.getValue().touch();
+                return false;
+            }
+            return e.getValue().lastTouchedNanos < deadline;
+        });
+    }
+
+    /**
+     * 도착(발행) 순서로 보관하는 링
+     */
+    private static final class Ring {
+        private static final long PENDING = Long.MAX_VALUE;
+
+        private final NotificationDTO[] items;
+        private final long[] recordedNanos;
+        private int head; // 다음에 쓸 위치
+        private int size;
+        // DB 기준점 (조회 전에는 PENDING → 재전송은 DB 로)
+        private long baselineId = PENDING;
+        // 밀려난 알림 중 최대 id
+        private long evictedId;
+        private volatile long lastTouchedNanos = System.nanoTime();
+
+        Ring(int capacity) {
+            this.items = new NotificationDTO[capacity];
+            this.recordedNanos = new long[capacity];
+        }
+
+        void touch() {
+            lastTouchedNanos = System.nanoTime();
+        }
+
+        synchronized boolean hasBaseline() {
+            return baselineId != PENDING;
+        }
+
+        synchronized void setBaseline(long maxId) {
+            if (baselineId == PENDING) {
+                baselineId = maxId;
+            }
+        }
+
+        synchronized void add(NotificationDTO notification) {
+            // baseline 이하 id 도 기록 (baseline 조회 시점에 커밋되지 않았던 알림)
+            if (size == items.length) {
+                // 가장 오래된 항목이 밀려남 → 그 id 까지는 더 이상 보장 불가
+                evictedId = Math.max(evictedId, items[head].getNotificationId());
+            } else {
+                size++;
+            }
+            items[head] = notification;
+            recordedNanos[head] = System.nanoTime();
+            head = (head + 1) % items.length;
+        }
+
+        synchronized List<NotificationDTO> after(long lastEventId, long horizonNanos) {
+            if (baselineId == PENDING || lastEventId < Math.max(baselineId, evictedId)) {
+                return null;
+            }
+            int start = (head - size + items.length) % items.length;
+            // lastEventId 가 이 버퍼에 도착한 시각 기준 (없으면 현재 시각 기준) horizon 이후 기록분은 id 와 무관하게 포함
+            long anchorNanos = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                int idx = (start + i) % items.length;
+                if (items[idx].getNotificationId() == lastEventId) {
+                    anchorNanos = recordedNanos[idx];
+                    break;
+                }
+            }
+            long since = anchorNanos - horizonNanos;
+            List<NotificationDTO> result = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int idx = (start + i) % items.length;
+                long id = items[idx].getNotificationId();
+                if (id > lastEventId || (id != lastEventId && recordedNanos[idx] - since >= 0)) {
+                    result.add(items[idx]);
+                }
+            }
+            result.sort((a, b) -> Long.compare(a.getNotificationId(), b.getNotificationId()));
+            return result;
+        }
+    }
+}
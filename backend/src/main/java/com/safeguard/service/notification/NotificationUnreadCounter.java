@@ -0,0 +1,133 @@
+package com.safeguard.service.notification;
+
+import com.safeguard.mapper.NotificationMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 미확인 알림 수 (배지용)
+ *
+ * - 원본 값은 notification_unread_summary 테이블 (user_no PK 한 행) → 조회 시 notification 스캔 없음
+ * - 증감은 원자적 UPDATE ... RETURNING 으로 반영하고 반환값을 로컬 캐시에 기록
+ * - 로컬 캐시는 다른 노드의 변경을 놓칠 수 있으므로 cache-ttl-ms 이후 다시 읽음
+ *   (SSE 연결이 있는 노드는 버스 이벤트로 즉시 갱신됨)
+ * - 3일 경과로 목록에서 빠지는 알림, 경합으로 생긴 오차는 주기적 재계산(reconcile)으로 보정
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationUnreadCounter {
+
+    private final NotificationMapper notificationMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.unread.cache-ttl-ms:30000}")
+    private long cacheTtlMs;
+
+    private final Map<Long, Cached> cache = new ConcurrentHashMap<>();
+
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    private record Cached(int count, long loadedNanos) {
+    }
+
+    @PostConstruct
+    void init() {
+        cacheHits = meterRegistry.counter("notification.unread.cache", "result", "hit");
+        cacheMisses = meterRegistry.counter("notification.unread.cache", "result", "miss");
+    }
+
+    /**
+     * 미확인 수 조회 (캐시 → 요약 테이블 → 최초 1회만 notification 집계)
+     */
+    public int get(Long userNo) {
+        Cached cached = cache.get(userNo);
+        if (cached != null && System.nanoTime() - cached.loadedNanos() < TimeUnit.MILLISECONDS.toNanos(cacheTtlMs)) {
+            cacheHits.increment();
+            return cached.count();
+        }
+        cacheMisses.increment();
+        Integer count = notificationMapper.selectUnreadSummary(userNo);
+        if (count == null) {
+            // 요약 행이 아직 없는 사용자: 한 번 집계해서 생성
+            notificationMapper.insertUnreadSummaryIfAbsent(userNo);
+            count = notificationMapper.selectUnreadSummary(userNo);
+        }
+        int value = count != null ? count : 0;
+        update(userNo, value);
+        return value;
+    }
+
+    /**
+     * 저장된 알림 배치만큼 사용자별로 증가 (배치당 upsert 한 번)
+     *
+     * @return 사용자별 변경 후 값
+     */
+    public Map<Long, Integer> increment(Map<Long, Integer> deltas) {
+        Map<Long, Integer> result = new HashMap<>();
+        if (deltas.isEmpty()) {
+            return result;
+        }
+        List<Map<String, Object>> rows = notificationMapper.incrementUnreadSummary(deltas);
+        for (Map<String, Object> row : rows) {
+            Long userNo = ((Number) row.get("userNo")).longValue();
+            int count = ((Number) row.get("unreadCount")).intValue();
+            update(userNo, count);
+            result.put(userNo, count);
+        }
+        return result;
+    }
+
+    /**
+     * 알림 읽음 처리 + 감소 (3일 이내 알림일 때만 감소)
+     *
+     * @return 변경 후 값, 변경이 없으면 null
+     */
+    public Integer markAsRead(Long notificationId, Long userNo) {
+        Integer count = notificationMapper.markAsReadAndDecrement(notificationId, userNo);
+        if (count != null) {
+            update(userNo, count);
+        }
+        return count;
+    }
+
+    /**
+     * 다른 노드에서 전달된 값 반영
+     */
+    public void update(Long userNo, int count) {
+        cache.put(userNo, new Cached(count, System.nanoTime()));
+    }
+
+    /**
+     * 요약 테이블을 실제 미확인 수로 재계산 (다중 노드에서 동시에 실행되어도 결과 동일)
+     */
+    @Scheduled(fixedDelayString = "${notification.unread.reconcile-interval-ms:300000}",
+            initialDelayString = "${notification.unread.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            long start = System.nanoTime();
+            int changed = notificationMapper.reconcileUnreadSummary();
+            cache.clear();
+            if (changed > 0) {
+                log.info("[UnreadCounter] 미확인 수 재계산 - 보정 {}건, {}ms", changed,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            meterRegistry.counter("notification.unread.reconciled").increment(changed);
+        } catch (Exception e) {
+            log.warn("[UnreadCounter] 미확인 수 재계산 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.safeguard.service.notification;
+
+import com.safeguard.dto.NotificationDTO;
+import com.safeguard.mapper.NotificationMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 알림 write-behind 저장기
+ *
+ * - 호출 트랜잭션이 커밋된 뒤에만 큐에 적재 (롤백된 상태 변경의 알림은 저장/전송되지 않음)
+ * - 전용 스레드가 batch-size 또는 flush-interval-ms 기준으로 모아 multi-row INSERT 한 번으로 저장
+ * - 저장(커밋)이 끝난 알림만 onPersisted 로 넘겨 버스 발행 → SSE 전달은 항상 DB 반영 이후
+ * - 큐가 가득 차면 호출 스레드에서 바로 저장 (유실 대신 역압)
+ * - 종료 시 신규 적재를 막고 남은 큐를 모두 저장한 뒤 멈춤
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationWriter implements SmartLifecycle {
+
+    private final NotificationMapper notificationMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${notification.writer.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${notification.writer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${notification.writer.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<NotificationDTO> queue;
+    private volatile Consumer<List<NotificationDTO>> onPersisted = batch -> {
+    };
+    private volatile boolean running;
+    private Thread flushThread;
+
+    private Counter persistedCounter;
+    private Counter failedCounter;
+    private Counter inlineCounter;
+    private DistributionSummary batchSizes;
+    private Timer flushTimer;
+
+    /**
+     * 저장 완료 후 배치 단위로 호출될 콜백 등록 (NotificationService 가 미확인 수 증가/버스 발행을 연결)
+     */
+    public void setOnPersisted(Consumer<List<NotificationDTO>> onPersisted) {
+        this.onPersisted = onPersisted;
+    }
+
+    /**
+     * 알림 저장 요청. 트랜잭션 안이면 커밋 후 적재, 밖이면 즉시 적재
+     */
+    public void submit(NotificationDTO notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(notification);
+                }
+            });
+        } else {
+            enqueue(notification);
+        }
+    }
+
+    private void enqueue(NotificationDTO notification) {
+        if (running && queue.offer(notification)) {
+            return;
+        }
+        // 큐 포화 또는 종료 중 → 호출 스레드에서 직접 저장
+        inlineCounter.increment();
+        persist(List.of(notification));
+    }
+
+    @PostConstruct
+    void init() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        persistedCounter = meterRegistry.counter("notification.writer.persisted");
+        failedCounter = meterRegistry.counter("notification.writer.failed");
+        inlineCounter = meterRegistry.counter("notification.writer.inline");
+        batchSizes = DistributionSummary.builder("notification.writer.batch.size")
+                .description("flush 한 번에 저장한 알림 수")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("notification.writer.flush.latency")
+                .description("multi-row INSERT 소요 시간")
+                .register(meterRegistry);
+        Gauge.builder("notification.writer.queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 알림 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flushThread = new Thread(this::flushLoop, "notification-writer");
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flushThread == null) {
+            return;
+        }
+        flushThread.interrupt();
+        try {
+            flushThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("[NotificationWriter] 종료 시 미저장 알림 {}건 직접 저장", queue.size());
+            drainRemaining();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버보다 늦게, DataSource 보다 먼저 멈추도록 (phase 가 클수록 먼저 stop)
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2048;
+    }
+
+    private void flushLoop() {
+        List<NotificationDTO> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                NotificationDTO first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 건 이후 flush-interval 동안 더 모으되 batch-size 에 도달하면 바로 저장
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    NotificationDTO next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                persist(batch);
+            } catch (InterruptedException e) {
+                // stop() 호출 → 모으던 배치와 남은 큐를 저장 후 종료
+                // (interrupt 플래그를 다시 세우면 커넥션 획득이 실패하므로 복원하지 않음)
+                persist(batch);
+                break;
+            } catch (Exception e) {
+                log.error("[NotificationWriter] flush 실패: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+        drainRemaining();
+    }
+
+    private void drainRemaining() {
+        List<NotificationDTO> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    private void persist(List<NotificationDTO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            notificationMapper.insertNotifications(batch);
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+            persistedCounter.increment(batch.size());
+            notifyPersisted(batch);
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                failedCounter.increment();
+                log.error("[NotificationWriter] 알림 저장 실패 - userNo: {}, complaintNo: {}, {}",
+                        batch.get(0).getUserNo(), batch.get(0).getComplaintNo(), e.getMessage());
+                return;
+            }
+            // 한 건(예: 삭제된 민원 FK)이 배치 전체를 막지 않도록 단건으로 재시도
+            log.warn("[NotificationWriter] 배치 저장 실패, 단건 재시도 ({}건): {}", batch.size(), e.getMessage());
+            for (NotificationDTO notification : batch) {
+                persist(List.of(notification));
+            }
+        }
+    }
+
+    private void notifyPersisted(List<NotificationDTO> batch) {
+        try {
+            onPersisted.accept(batch);
+        } catch (Exception e) {
+            log.warn("[NotificationWriter] 저장 후 처리 실패 ({}건): {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.safeguard.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * PostgreSQL LISTEN/NOTIFY 기반 노드 간 알림 버스 (추가 인프라 불필요)
+ *
+ * - 발행: 현재 트랜잭션에서 pg_notify 실행 → 커밋될 때만 전달, 롤백 시 전달되지 않음
+ * - payload: "{userNo}|{json}" 형식. 수신 노드는 userNo 만 보고 로컬 연결이 없으면 역직렬화 없이 버림
+ * - NOTIFY payload 는 8000 byte 제한이 있어 초과 시 "{userNo}|#{notificationId}" 로 보내고 수신 측이 DB 에서 재조회
+ * - 순서: PostgreSQL 은 커밋 순서대로 전달하고, 수신은 단일 리스너 스레드 → SSE 연결별 FIFO 큐 순서로 유지됨
+ * - 수신 전용 커넥션은 풀(Hikari)과 별도로 DriverManager 로 생성 (풀 커넥션을 상시 점유하지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "notification.bus.type", havingValue = "postgres")
+public class PostgresNotificationBus implements NotificationBus {
+
+    // NOTIFY payload 최대 8000 byte (여유분 확보)
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${notification.bus.channel:notification_events}")
+    private String channel;
+
+    @Value("${notification.bus.poll-timeout-ms:5000}")
+    private int pollTimeoutMs;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Value("${spring.datasource.username}")
+    private String datasourceUsername;
+
+    @Value("${spring.datasource.password}")
+    private String datasourcePassword;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<NotificationBusListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @PostConstruct
+    void start() {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Invalid notification channel name: " + channel);
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "notification-bus-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.info("[NotificationBus] PostgreSQL LISTEN 시작 - channel: {}, node: {}", channel, nodeId);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(NotificationEvent event) {
+        if (event.getOriginNode() == null) {
+            event.setOriginNode(nodeId);
+        }
+        String payload = encode(event);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+    }
+
+    @Override
+    public void subscribe(NotificationBusListener listener) {
+        listeners.add(listener);
+    }
+
+    private String encode(NotificationEvent event) {
+        try {
+            String payload = event.getUserNo() + "|" + objectMapper.writeValueAsString(event);
+            if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+                return payload;
+            }
+        } catch (Exception e) {
+            log.warn("[NotificationBus] 이벤트 직렬화 실패, 참조 방식으로 전송: {}", e.getMessage());
+        }
+        Long notificationId = event.getNotificationId() != null ? event.getNotificationId()
+                : (event.getNotification() != null ? event.getNotification().getNotificationId() : null);
+        if (notificationId == null) {
+            throw new IllegalStateException("Notification payload too large and has no id");
+        }
+        LocalDateTime createdAt = event.getCreatedAt() != null ? event.getCreatedAt()
+                : (event.getNotification() != null ? event.getNotification().getCreatedAt() : null);
+        // "#id@createdAt" (생성 시각을 모르면 "#id" → 수신 측은 3일 범위로 재조회)
+        return event.getUserNo() + "|#" + notificationId + (createdAt != null ? "@" + createdAt : "");
+    }
+
+    private void listenLoop() {
+        long backoffMs = 1000;
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(datasourceUrl, datasourceUsername, datasourcePassword)) {
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                backoffMs = 1000;
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("[NotificationBus] LISTEN 연결 오류, {}ms 후 재연결: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30_000);
+            }
+        }
+        log.info("[NotificationBus] PostgreSQL LISTEN 종료 - node: {}", nodeId);
+    }
+
+    private void handle(String payload) {
+        int sep = payload.indexOf('|');
+        if (sep <= 0) {
+            return;
+        }
+        Long userNo;
+        try {
+            userNo = Long.parseLong(payload.substring(0, sep));
+        } catch (NumberFormatException e) {
+            return;
+        }
+
+        for (NotificationBusListener listener : listeners) {
+            // 이 노드에 해당 사용자 연결이 없으면 역직렬화 없이 스킵
+            if (!listener.isInterested(userNo)) {
+                continue;
+            }
+            try {
+                listener.onEvent(decode(userNo, payload.substring(sep + 1)));
+            } catch (Exception e) {
+                log.warn("[NotificationBus] 이벤트 처리 실패 - userNo: {}, {}", userNo, e.getMessage());
+            }
+        }
+    }
+
+    private NotificationEvent decode(Long userNo, String body) throws Exception {
+        if (body.startsWith("#")) {
+            int at = body.indexOf('@');
+            return NotificationEvent.builder()
+                    .userNo(userNo)
+                    .notificationId(Long.parseLong(at > 0 ? body.substring(1, at) : body.substring(1)))
+                    .createdAt(at > 0 ? LocalDateTime.parse(body.substring(at + 1)) : null)
+                    .build();
+        }
+        return objectMapper.readValue(body, NotificationEvent.class);
+    }
+}
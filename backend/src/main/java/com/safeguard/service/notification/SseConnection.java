@@ -0,0 +1,194 @@
+package com.safeguard.service.notification;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * SSE 연결 하나(브라우저 탭 하나)에 대한 송신 상태
+ * - 이벤트는 bounded 큐에 쌓이고 SseDispatcher 의 전송 스레드가 비운다 (호출 스레드는 send 하지 않음)
+ * - 수만 개의 유휴 연결을 유지할 수 있도록 연결당 객체 수를 최소화한다
+ *   (큐는 비어 있으면 노드를 할당하지 않는 ConcurrentLinkedQueue, 상태 플래그는 FieldUpdater 기반 int 필드)
+ */
+public class SseConnection {
+
+    /**
+     * 큐에 쌓이는 송신 이벤트
+     * (SseEventBuilder 는 build() 시 내부 상태가 바뀌므로 공유하지 않고 전송 직전에 만든다)
+     */
+    public record OutboundEvent(String name, String id, Object data, String comment, Long reconnectTimeMs,
+            long enqueuedNanos) {
+
+        static OutboundEvent message(String name, String id, Object data) {
+            return new OutboundEvent(name, id, data, null, null, System.nanoTime());
+        }
+
+        static OutboundEvent heartbeat() {
+            return new OutboundEvent(null, null, null, "hb", null, System.nanoTime());
+        }
+    }
+
+    private static final int RECENT_IDS = 32;
+
+    private static final AtomicIntegerFieldUpdater<SseConnection> QUEUED = AtomicIntegerFieldUpdater
+            .newUpdater(SseConnection.class, "queued");
+    private static final AtomicIntegerFieldUpdater<SseConnection> DRAINING = AtomicIntegerFieldUpdater
+            .newUpdater(SseConnection.class, "draining");
+    private static final AtomicIntegerFieldUpdater<SseConnection> CLOSED = AtomicIntegerFieldUpdater
+            .newUpdater(SseConnection.class, "closed");
+    private static final AtomicIntegerFieldUpdater<SseConnection> DROPS = AtomicIntegerFieldUpdater
+            .newUpdater(SseConnection.class, "consecutiveDrops");
+
+    @Getter
+    private final Long userNo;
+    @Getter
+    private final SseEmitter emitter;
+    private final ConcurrentLinkedQueue<OutboundEvent> queue = new ConcurrentLinkedQueue<>();
+
+    private volatile int queued;
+    // 전송 작업이 이미 예약/실행 중인지 여부 (연결당 동시에 하나의 전송 작업만)
+    private volatile int draining;
+    private volatile int closed;
+    // 큐가 가득 차 연속으로 버려진 이벤트 수 (전송 성공 시 0으로 초기화)
+    private volatile int consecutiveDrops;
+
+    // 현재 진행 중인 send 시작 시각 (0 = 진행 중 아님)
+    private volatile long sendStartedNanos;
+    // 진행 중인 소켓 쓰기 (연결 종료 시 취소해 쓰기 스레드를 깨움)
+    private volatile Future<?> inFlight;
+    // 마지막 전송 성공 시각 (하트비트 생략 판단용)
+    @Getter
+    private volatile long lastSentNanos = System.nanoTime();
+
+    private volatile Runnable onClose;
+
+    // 최근 적재한 이벤트 id (재전송과 실시간 전달이 겹칠 때 중복 제거, 첫 id 이벤트 때 생성)
+    private String[] recentIds;
+    private int recentCursor;
+
+    public SseConnection(Long userNo, SseEmitter emitter) {
+        this.userNo = userNo;
+        this.emitter = emitter;
+    }
+
+    void setOnClose(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    boolean offer(OutboundEvent event, int capacity) {
+        if (QUEUED.incrementAndGet(this) > capacity) {
+            QUEUED.decrementAndGet(this);
+            return false;
+        }
+        queue.offer(event);
+        return true;
+    }
+
+    OutboundEvent poll() {
+        OutboundEvent event = queue.poll();
+        if (event != null) {
+            QUEUED.decrementAndGet(this);
+        }
+        return event;
+    }
+
+    public int queueSize() {
+        return queued;
+    }
+
+    /**
+     * 큐 비우기, 버린 이벤트 수 반환
+     */
+    int clearQueue() {
+        int cleared = 0;
+        while (poll() != null) {
+            cleared++;
+        }
+        return cleared;
+    }
+
+    /**
+     * 이 연결에 처음 적재하는 id 인지 확인하고 기록
+     */
+    synchronized boolean markDelivered(String id) {
+        if (recentIds == null) {
+            recentIds = new String[RECENT_IDS];
+        }
+        for (String recent : recentIds) {
+            if (id.equals(recent)) {
+                return false;
+            }
+        }
+        recentIds[recentCursor] = id;
+        recentCursor = (recentCursor + 1) % RECENT_IDS;
+        return true;
+    }
+
+    boolean tryStartDrain() {
+        return DRAINING.compareAndSet(this, 0, 1);
+    }
+
+    void finishDrain() {
+        draining = 0;
+    }
+
+    int incrementDrops() {
+        return DROPS.incrementAndGet(this);
+    }
+
+    void resetDrops() {
+        consecutiveDrops = 0;
+    }
+
+    void markSendStarted(Future<?> write) {
+        this.inFlight = write;
+        this.sendStartedNanos = System.nanoTime();
+    }
+
+    void markSendFinished(boolean success) {
+        this.sendStartedNanos = 0L;
+        this.inFlight = null;
+        if (success) {
+            this.lastSentNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * 현재 send 가 threshold 이상 막혀 있는지 (느린 소비자 판정)
+     */
+    boolean isStalled(long thresholdNanos) {
+        long started = sendStartedNanos;
+        return started != 0L && System.nanoTime() - started > thresholdNanos;
+    }
+
+    /**
+     * 막힌 쓰기 중단 시도 (쓰기 스레드 interrupt, 실제 해제는 소켓 쓰기 타임아웃이 보장)
+     */
+    void abortSend() {
+        Future<?> write = inFlight;
+        if (write != null) {
+            write.cancel(true);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed != 0;
+    }
+
+    /**
+     * 연결을 닫힌 상태로 전환하고 레지스트리 해제 콜백 실행 (최초 1회만 true)
+     */
+    boolean markClosed() {
+        if (!CLOSED.compareAndSet(this, 0, 1)) {
+            return false;
+        }
+        Runnable callback = onClose;
+        if (callback != null) {
+            callback.run();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,199 @@
+package com.safeguard.service.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 연결 레지스트리 (노드당 5만+ 동시 연결 기준 설계)
+ *
+ * - 사용자별 연결은 작은 배열로 보관하고 변경 시 복사 (대부분 사용자 탭 1~2개 → Set 보다 훨씬 작음)
+ * - 하트비트는 연결마다 타이머를 두지 않고 단일 스케줄러가 전체를 순회하며 큐에 적재
+ *   (프록시 유휴 타임아웃으로 끊기는 것 방지, 최근 전송이 있던 연결은 생략)
+ * - emitter 타임아웃과 retry 힌트에 jitter 를 주어 배포/장애 후 재연결이 한꺼번에 몰리지 않게 함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SseConnectionManager {
+
+    private static final SseConnection[] EMPTY = new SseConnection[0];
+
+    private final SseDispatcher sseDispatcher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // 타임아웃 jitter 비율 (0.2 = ±20%)
+    @Value("${notification.sse.timeout-jitter:0.2}")
+    private double timeoutJitter;
+
+    @Value("${notification.sse.heartbeat-interval-ms:25000}")
+    private long heartbeatIntervalMs;
+
+    // 재연결 힌트: base + [0, jitter) ms
+    @Value("${notification.sse.reconnect-base-ms:3000}")
+    private long reconnectBaseMs;
+
+    @Value("${notification.sse.reconnect-jitter-ms:7000}")
+    private long reconnectJitterMs;
+
+    private final ConcurrentHashMap<Long, SseConnection[]> registry = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private ScheduledExecutorService heartbeatScheduler;
+    private Counter heartbeatCounter;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("notification.sse.connections", connectionCount, AtomicInteger::get)
+                .description("현재 열린 SSE 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.sse.users", registry, ConcurrentHashMap::size)
+                .description("SSE 연결이 있는 사용자 수")
+                .register(meterRegistry);
+        heartbeatCounter = meterRegistry.counter("notification.sse.heartbeats");
+
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sse-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats,
+                heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeatScheduler.shutdownNow();
+    }
+
+    /**
+     * 새 SSE 연결 생성 및 등록
+     * - 첫 이벤트(connect)에 jitter 가 적용된 retry 힌트를 실어 보낸다
+     */
+    public SseConnection open(Long userNo) {
+        SseConnection connection = create(userNo);
+        sseDispatcher.enqueueWithRetry(connection, "connect", "connected", jitteredReconnect());
+        return connection;
+    }
+
+    SseConnection create(Long userNo) {
+        SseEmitter emitter = new SseEmitter(jitteredTimeout());
+        SseConnection connection = new SseConnection(userNo, emitter);
+        connection.setOnClose(() -> unregister(connection));
+        register(connection);
+
+        emitter.onCompletion(() -> sseDispatcher.release(connection));
+        emitter.onTimeout(() -> {
+            emitter.complete();
+            sseDispatcher.release(connection);
+        });
+        emitter.onError(e -> sseDispatcher.release(connection));
+        return connection;
+    }
+
+    public boolean hasConnections(Long userNo) {
+        return registry.containsKey(userNo);
+    }
+
+    public SseConnection[] connections(Long userNo) {
+        SseConnection[] connections = registry.get(userNo);
+        return connections != null ? connections : EMPTY;
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    public void sendToUser(Long userNo, String name, String id, Object data) {
+        for (SseConnection connection : connections(userNo)) {
+            sseDispatcher.enqueue(connection, name, id, data);
+        }
+    }
+
+    public void send(SseConnection connection, String name, String id, Object data) {
+        sseDispatcher.enqueue(connection, name, id, data);
+    }
+
+    void register(SseConnection connection) {
+        registry.compute(connection.getUserNo(), (k, current) -> {
+            if (current == null) {
+                return new SseConnection[] { connection };
+            }
+            SseConnection[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = connection;
+            return next;
+        });
+        connectionCount.incrementAndGet();
+    }
+
+    private void unregister(SseConnection connection) {
+        registry.computeIfPresent(connection.getUserNo(), (k, current) -> {
+            int idx = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == connection) {
+                    idx = i;
+                    break;
+                }
+            }
+            if (idx < 0) {
+                return current;
+            }
+            connectionCount.decrementAndGet();
+            if (current.length == 1) {
+                return null;
+            }
+            SseConnection[] next = new SseConnection[current.length - 1];
+            System.arraycopy(current, 0, next, 0, idx);
+            System.arraycopy(current, idx + 1, next, idx, current.length - idx - 1);
+            return next;
+        });
+    }
+
+    void sendHeartbeats() {
+        try {
+            long intervalNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs);
+            long sent = 0;
+            for (SseConnection[] connections : registry.values()) {
+                for (SseConnection connection : connections) {
+                    if (sseDispatcher.enqueueHeartbeat(connection, intervalNanos)) {
+                        sent++;
+                    }
+                }
+            }
+            heartbeatCounter.increment(sent);
+        } catch (Exception e) {
+            // 스케줄러 스레드가 예외로 중단되지 않도록
+            log.warn("SSE 하트비트 순회 실패: {}", e.getMessage());
+        }
+    }
+
+    private long jitteredTimeout() {
+        if (timeoutJitter <= 0) {
+            return timeoutMs;
+        }
+        double factor = 1.0 + ThreadLocalRandom.current().nextDouble(-timeoutJitter, timeoutJitter);
+        return (long) (timeoutMs * factor);
+    }
+
+    private long jitteredReconnect() {
+        return reconnectBaseMs + ThreadLocalRandom.current().nextLong(Math.max(1, reconnectJitterMs));
+    }
+}
@@ -0,0 +1,287 @@
+package com.safeguard.service.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SSE 비동기 전송 계층
+ * - 호출 스레드(보통 @Transactional 서비스 메서드)는 연결별 bounded 큐에 넣기만 하고 즉시 반환
+ * - 전송은 별도 스레드 풀이 연결 단위로 순서대로 수행
+ * - 큐가 계속 넘치거나 send 가 오래 막힌 연결은 느린 소비자로 보고 끊는다 (브라우저는 재연결)
+ * - 실제 소켓 쓰기는 별도 쓰기 스레드에서 수행, 전송 스레드는 stall-timeout 까지만 기다림
+ *   → 죽은 소켓에 막힌 쓰기가 전송 스레드 풀을 잠식하지 않음 (막힌 쓰기는 취소/interrupt, 최종적으로 소켓 쓰기 타임아웃)
+ * - 연결 목록 관리는 SseConnectionManager 담당
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SseDispatcher {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.sse.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${notification.sse.dispatch-threads:4}")
+    private int dispatchThreads;
+
+    // 연속 드롭 허용 횟수 (초과 시 연결 종료)
+    @Value("${notification.sse.max-consecutive-drops:16}")
+    private int maxConsecutiveDrops;
+
+    // send 한 번이 이 시간 이상 막혀 있으면 느린 소비자로 판정
+    @Value("${notification.sse.stall-timeout-ms:5000}")
+    private long stallTimeoutMs;
+
+    // 소켓 쓰기 스레드 상한 (막힌 쓰기가 모두 차지하면 새 쓰기는 거부 → 해당 연결 종료)
+    @Value("${notification.sse.send-threads:32}")
+    private int sendThreads;
+
+    // 전체 연결의 송신 대기 이벤트 수 (스크랩 시 전체 순회하지 않도록 별도 집계)
+    private final AtomicLong totalQueued = new AtomicLong();
+
+    private ExecutorService executor;
+    private ExecutorService writer;
+    private Counter sentCounter;
+    private Counter droppedCounter;
+    private Timer sendLatency;
+    private Timer queueWait;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(dispatchThreads, r -> {
+            Thread t = new Thread(r, "sse-dispatch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        AtomicInteger writerSeq = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(0, sendThreads, 30, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread t = new Thread(r, "sse-write-" + writerSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.sentCounter = meterRegistry.counter("notification.sse.events.sent");
+        this.droppedCounter = meterRegistry.counter("notification.sse.events.dropped");
+        this.sendLatency = Timer.builder("notification.sse.send.latency")
+                .description("emitter.send 소요 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("notification.sse.queue.wait")
+                .description("큐 적재부터 전송 시작까지 대기 시간")
+                .register(meterRegistry);
+        Gauge.builder("notification.sse.queue.depth", totalQueued, AtomicLong::get)
+                .description("전체 연결의 송신 대기 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.shutdownNow();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(3, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 연결에 이벤트 적재 (non-blocking)
+     */
+    public void enqueue(SseConnection connection, String name, String id, Object data) {
+        if (id != null && !connection.markDelivered(id)) {
+            // 재연결 재전송과 실시간 전달이 겹친 이벤트
+            return;
+        }
+        enqueue(connection, SseConnection.OutboundEvent.message(name, id, data));
+    }
+
+    /**
+     * 재연결 대기시간(retry) 힌트를 포함한 이벤트 적재
+     */
+    public void enqueueWithRetry(SseConnection connection, String name, Object data, long reconnectTimeMs) {
+        enqueue(connection, new SseConnection.OutboundEvent(name, null, data, null, reconnectTimeMs,
+                System.nanoTime()));
+    }
+
+    /**
+     * 하트비트(comment) 적재. 최근 intervalNanos 안에 전송이 있었던 연결은 생략
+     *
+     * @return 적재 여부
+     */
+    boolean enqueueHeartbeat(SseConnection connection, long intervalNanos) {
+        if (connection.queueSize() > 0 || System.nanoTime() - connection.getLastSentNanos() < intervalNanos) {
+            // 이미 보낼 이벤트가 있거나 최근에 보냈으면 하트비트 불필요 (단, 막힌 연결 판정은 수행)
+            if (connection.isStalled(TimeUnit.MILLISECONDS.toNanos(stallTimeoutMs))) {
+                evict(connection, "stalled");
+            }
+            return false;
+        }
+        enqueue(connection, SseConnection.OutboundEvent.heartbeat());
+        return true;
+    }
+
+    private void enqueue(SseConnection connection, SseConnection.OutboundEvent event) {
+        if (connection.isClosed()) {
+            return;
+        }
+        if (connection.isStalled(TimeUnit.MILLISECONDS.toNanos(stallTimeoutMs))) {
+            evict(connection, "stalled");
+            return;
+        }
+
+        if (connection.offer(event, queueCapacity)) {
+            totalQueued.incrementAndGet();
+        } else {
+            droppedCounter.increment();
+            if (connection.incrementDrops() > maxConsecutiveDrops) {
+                evict(connection, "queue_overflow");
+                return;
+            }
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(SseConnection connection) {
+        if (connection.tryStartDrain()) {
+            try {
+                executor.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                connection.finishDrain();
+            }
+        }
+    }
+
+    private void drain(SseConnection connection) {
+        try {
+            SseConnection.OutboundEvent event;
+            while (!connection.isClosed() && (event = connection.poll()) != null) {
+                totalQueued.decrementAndGet();
+                queueWait.record(System.nanoTime() - event.enqueuedNanos(), TimeUnit.NANOSECONDS);
+                if (!send(connection, event)) {
+                    return;
+                }
+            }
+        } finally {
+            connection.finishDrain();
+        }
+        // 플래그 해제 직전에 들어온 이벤트가 있으면 다시 예약
+        if (!connection.isClosed() && connection.queueSize() > 0) {
+            scheduleDrain(connection);
+        }
+    }
+
+    private boolean send(SseConnection connection, SseConnection.OutboundEvent event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (event.comment() != null) {
+            builder.comment(event.comment());
+        }
+        if (event.name() != null) {
+            builder.name(event.name());
+        }
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        if (event.reconnectTimeMs() != null) {
+            builder.reconnectTime(event.reconnectTimeMs());
+        }
+        if (event.data() != null) {
+            builder.data(event.data());
+        }
+
+        long start = System.nanoTime();
+        boolean success = false;
+        Future<?> write;
+        try {
+            write = writer.submit(() -> {
+                connection.getEmitter().send(builder);
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            // 쓰기 스레드가 모두 막힌 쓰기에 묶여 있음
+            evict(connection, "writer_saturated");
+            return false;
+        }
+        connection.markSendStarted(write);
+        try {
+            write.get(stallTimeoutMs, TimeUnit.MILLISECONDS);
+            sentCounter.increment();
+            connection.resetDrops();
+            success = true;
+            return true;
+        } catch (TimeoutException e) {
+            evict(connection, "stalled");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            evict(connection, "send_failed");
+            return false;
+        } catch (ExecutionException | CancellationException e) {
+            // IOException(연결 끊김) / IllegalStateException(이미 완료된 emitter) / 다른 경로에서 종료
+            evict(connection, "send_failed");
+            return false;
+        } finally {
+            connection.markSendFinished(success);
+            sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void evict(SseConnection connection, String reason) {
+        if (!connection.markClosed()) {
+            return;
+        }
+        totalQueued.addAndGet(-connection.clearQueue());
+        connection.abortSend();
+        meterRegistry.counter("notification.sse.connections.evicted", "reason", reason).increment();
+        log.debug("SSE 연결 종료 - userNo: {}, reason: {}", connection.getUserNo(), reason);
+        // complete() 는 send() 와 같은 쓰기 락을 기다림 → 막힌 연결이면 호출 스레드(버스 리스너/하트비트)까지 묶이므로 쓰기 스레드에 넘김
+        try {
+            writer.execute(() -> {
+                try {
+                    connection.getEmitter().complete();
+                } catch (Exception ignored) {
+                    // 이미 끊긴 연결
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+            // 쓰기 스레드 포화/종료 중 → emitter 타임아웃으로 정리됨
+        }
+    }
+
+    /**
+     * emitter 종료/타임아웃/오류 콜백에서 호출 (정상 종료 경로)
+     */
+    void release(SseConnection connection) {
+        if (connection.markClosed()) {
+            totalQueued.addAndGet(-connection.clearQueue());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.safeguard.service.seed;
+
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * COPY ... FROM STDIN (text 형식) 행 작성기
+ * - 행을 StringBuilder 에 이어 쓰고 64KB 를 넘으면 CopyIn 으로 전송 → 메모리 일정
+ */
+class CopyRowWriter {
+
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private boolean first = true;
+    private long rows;
+
+    CopyRowWriter(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    CopyRowWriter text(String value) {
+        separator();
+        if (value == null) {
+            buffer.append("\\N");
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+        return this;
+    }
+
+    CopyRowWriter number(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    CopyRowWriter number(double value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    CopyRowWriter bool(boolean value) {
+        separator();
+        buffer.append(value ? 't' : 'f');
+        return this;
+    }
+
+    CopyRowWriter time(Instant value) {
+        return value == null ? text(null) : raw(value.toString());
+    }
+
+    CopyRowWriter date(LocalDate value) {
+        return value == null ? text(null) : raw(value.toString());
+    }
+
+    /**
+     * 이스케이프가 필요 없는 값 (숫자/날짜/EWKT 등)
+     */
+    CopyRowWriter raw(String value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        buffer.append('\n');
+        first = true;
+        rows++;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * 남은 버퍼 전송 후 COPY 종료, 적재 행 수 반환
+     */
+    long finish() throws SQLException {
+        flush();
+        copyIn.endCopy();
+        return rows;
+    }
+
+    /**
+     * 실패 시 COPY 취소 (이번 batch 는 적재되지 않음)
+     */
+    void cancel() {
+        try {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        } catch (SQLException ignored) {
+            // 커넥션 자체가 끊긴 경우
+        }
+    }
+
+    private void separator() {
+        if (!first) {
+            buffer.append('\t');
+        }
+        first = false;
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
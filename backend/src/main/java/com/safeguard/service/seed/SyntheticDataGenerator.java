@@ -0,0 +1,532 @@
+package com.safeguard.service.seed;
+
+import com.safeguard.enums.ComplaintStatus;
+import com.safeguard.service.agency.AgencyDirectory;
+import com.safeguard.service.notification.NotificationPartitionManager;
+import com.safeguard.service.notification.NotificationUnreadCounter;
+import com.safeguard.service.seed.SyntheticDistributions.District;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.safeguard.service.seed.SyntheticDistributions.AGE_BANDS;
+import static com.safeguard.service.seed.SyntheticDistributions.AGE_WEIGHTS;
+import static com.safeguard.service.seed.SyntheticDistributions.CATEGORIES;
+import static com.safeguard.service.seed.SyntheticDistributions.CATEGORY_WEIGHTS;
+import static com.safeguard.service.seed.SyntheticDistributions.CONTENT_PHRASES;
+import static com.safeguard.service.seed.SyntheticDistributions.DISTRICTS;
+import static com.safeguard.service.seed.SyntheticDistributions.DISTRICT_WEIGHTS;
+import static com.safeguard.service.seed.SyntheticDistributions.HOUR_WEIGHTS;
+
+/**
+ * 규모 지정 합성 데이터 생성기 (운영 규모 데이터로 실행 계획/성능 재현용)
+ *
+ * - scale: 민원 수 (1M, 10M, 50M 또는 숫자), 사용자 수는 민원 수의 5% (최소 1,000명)
+ * - 행마다 (random-seed, 번호) 로 정해지는 난수를 쓰므로 테이블별로 다시 생성해도 값이 일치 → 메모리 일정
+ * - PK 는 시퀀스에서 구간을 한 번에 예약해 직접 지정, 테이블별 COPY 를 copy-batch 행 단위로 나눠 병렬 적재
+ * - 분포: 카테고리/지역(인구 비례)/연령대/접수 시각 가중치, 최근일수록 많은 접수량, 경과 기간에 따른 처리 상태,
+ *   좌표는 시/군/구 중심 + 핫스팟 주변 군집, 공감 수는 긴 꼬리 분포, 작성자는 소수 사용자에 편중
+ * - 알림은 파티션 보존 기간 안에 발생한 상태 변경/답변만 생성 (보존 기간 밖 파티션은 어차피 만료됨)
+ * - 중간에 실패하면 이미 끝난 batch 는 남음 → /api/seed/reset 으로 정리
+ * - seed.synthetic.enabled=true 일 때만 실행
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    private static final long MIN_USERS = 1_000;
+    private static final int MAX_REACTIONS = 300;
+    private static final int HOTSPOTS_PER_DISTRICT = 3;
+    private static final double HOTSPOT_RATIO = 0.3;
+    private static final double HOTSPOT_SPREAD = 0.002;
+    private static final long REACTION_STRIDE = 7_919;
+    private static final String ANSWER = "요청하신 민원에 대한 조치가 완료되었습니다.";
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    // 난수 스트림 구분값 (같은 번호라도 용도별로 다른 난수)
+    private static final long USER_STREAM = 1;
+    private static final long COMPLAINT_STREAM = 2;
+    private static final long HOTSPOT_STREAM = 3;
+    private static final long REACTION_STREAM = 4;
+    private static final long NOTIFICATION_STREAM = 5;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final AgencyDirectory agencyDirectory;
+    private final NotificationPartitionManager notificationPartitionManager;
+    private final NotificationUnreadCounter notificationUnreadCounter;
+
+    @Value("${seed.synthetic.enabled:false}")
+    private boolean enabled;
+
+    @Value("${seed.synthetic.threads:4}")
+    private int threads;
+
+    @Value("${seed.synthetic.copy-batch:500000}")
+    private int copyBatch;
+
+    @Value("${seed.synthetic.random-seed:20240101}")
+    private long randomSeed;
+
+    @Value("${seed.synthetic.history-days:730}")
+    private int historyDays;
+
+    @Value("${notification.partition.retention-days:30}")
+    private int notificationRetentionDays;
+
+    private final AtomicReference<Job> current = new AtomicReference<>();
+
+    /**
+     * 생성 작업 진행 상황
+     */
+    @Getter
+    public static class Job {
+        private final long complaints;
+        private final long users;
+        private final Instant startedAt = Instant.now();
+        private final Map<String, AtomicLong> rows = new ConcurrentHashMap<>();
+        private volatile String phase = "PREPARING";
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        Job(long complaints, long users) {
+            this.complaints = complaints;
+            this.users = users;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSink {
+        void write(long index, CopyRowWriter writer) throws SQLException;
+    }
+
+    /**
+     * 실행마다 고정되는 값 (예약된 PK 구간, 기관 매핑 표 등)
+     */
+    private record Plan(long users, long userBase, long complaintBase, String runId, String passwordHash,
+            Instant now, Instant notificationCutoff, long reactionStride, long[][][] agencies) {
+    }
+
+    private record ComplaintSample(int category, int district, double lat, double lon, long userIndex,
+            ComplaintStatus status, Instant createdAt, Instant inProgressAt, Instant closedAt,
+            int likes, int dislikes, boolean isPublic) {
+    }
+
+    /**
+     * 백그라운드 생성 시작 (동시에 하나만)
+     */
+    public Job start(String scale) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "seed.synthetic.enabled 가 꺼져 있습니다.");
+        }
+        long complaints = parseScale(scale);
+        Job job = new Job(complaints, Math.max(MIN_USERS, complaints / 20));
+        Job previous = current.get();
+        if ((previous != null && previous.finishedAt == null) || !current.compareAndSet(previous, job)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 합성 데이터를 생성 중입니다.");
+        }
+        Thread thread = new Thread(() -> run(job), "synthetic-seed");
+        thread.setDaemon(true);
+        thread.start();
+        return job;
+    }
+
+    public Job status() {
+        return current.get();
+    }
+
+    private void run(Job job) {
+        long start = System.nanoTime();
+        try {
+            log.info("[SyntheticSeed] 시작 - 민원 {}건, 사용자 {}명", job.complaints, job.users);
+            Plan plan = prepare(job);
+
+            copy(job, "app_user",
+                    "COPY app_user (user_no, user_id, pw, name, birth_date, addr, phone, created_date, role) FROM STDIN",
+                    job.users, (i, w) -> writeUser(plan, i, w));
+            copy(job, "complaint",
+                    "COPY complaint (complaint_no, category, title, content, address, latitude, longitude, status, "
+                            + "is_public, created_date, updated_date, completed_date, user_no, like_count, answer, "
+                            + "processing_state, processing_updated_at) FROM STDIN",
+                    job.complaints, (i, w) -> writeComplaint(plan, i, w));
+            copy(job, "spatial_feature",
+                    "COPY spatial_feature (feature_type, geom, addr_text, complaint_no, created_at) FROM STDIN",
+                    job.complaints, (i, w) -> writeSpatialFeature(plan, i, w));
+            copy(job, "complaint_agency",
+                    "COPY complaint_agency (complaint_no, agency_no) FROM STDIN",
+                    job.complaints, (i, w) -> writeComplaintAgency(plan, i, w));
+            copy(job, "complaint_like",
+                    "COPY complaint_like (complaint_no, user_no, created_at, type) FROM STDIN",
+                    job.complaints, (i, w) -> writeReactions(plan, i, w));
+
+            notificationPartitionManager.ensurePartitions(
+                    LocalDate.ofInstant(plan.notificationCutoff(), ZoneOffset.UTC),
+                    LocalDate.ofInstant(plan.now(), ZoneOffset.UTC));
+            copy(job, "notification",
+                    "COPY notification (user_no, complaint_no, type, message, is_read, read_at, created_at) FROM STDIN",
+                    job.complaints, (i, w) -> writeNotifications(plan, i, w));
+
+            job.phase = "ANALYZE";
+            for (String table : List.of("app_user", "complaint", "spatial_feature", "complaint_agency",
+                    "complaint_like", "notification")) {
+                jdbcTemplate.execute("ANALYZE " + table);
+            }
+            notificationUnreadCounter.reconcile();
+
+            job.phase = "DONE";
+            log.info("[SyntheticSeed] 완료 - {} ({}s)", job.rows,
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        } catch (Exception e) {
+            log.error("[SyntheticSeed] 실패 ({} 단계)", job.phase, e);
+            job.error = e.getMessage();
+            job.phase = "FAILED";
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    private Plan prepare(Job job) {
+        if (agencyDirectory.getAgencies().isEmpty()) {
+            throw new IllegalStateException("기관 데이터가 없습니다. /api/seed/agencies 를 먼저 실행하세요.");
+        }
+        // (카테고리, 시/군/구) 조합별 담당 기관을 미리 계산 → 행마다 조회하지 않음
+        long[][][] agencies = new long[CATEGORIES.size()][DISTRICTS.size()][];
+        for (int c = 0; c < CATEGORIES.size(); c++) {
+            for (int d = 0; d < DISTRICTS.size(); d++) {
+                agencies[c][d] = agencyDirectory.resolveComplaintAgencies(null, null, CATEGORIES.get(c),
+                        DISTRICTS.get(d).address()).stream().mapToLong(Long::longValue).toArray();
+            }
+        }
+        Instant now = Instant.now();
+        Instant cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(notificationRetentionDays)
+                .atStartOfDay(ZoneOffset.UTC).toInstant();
+        return new Plan(job.users,
+                reserve("app_user", "user_no", job.users),
+                reserve("complaint", "complaint_no", job.complaints),
+                Long.toString(System.currentTimeMillis(), 36),
+                passwordEncoder.encode("password"),
+                now, cutoff,
+                job.users % REACTION_STRIDE == 0 ? 1 : REACTION_STRIDE,
+                agencies);
+    }
+
+    /**
+     * 시퀀스에서 count 개 구간을 예약하고 시작 값 반환
+     * - nextval 과 setval 사이에 다른 세션이 번호를 받아 가면 구간이 겹치므로,
+     *   테이블 INSERT 를 막는 잠금(SHARE ROW EXCLUSIVE)을 잡은 트랜잭션 안에서 두 호출을 수행
+     *   (INSERT 는 기본값 nextval 평가 전에 ROW EXCLUSIVE 를 잡으므로 진행 중/신규 INSERT 모두 배제됨)
+     */
+    private long reserve(String table, String column, long count) {
+        Long last = transactionTemplate.execute(status -> {
+            // table 은 내부 상수만 전달됨
+            jdbcTemplate.execute("LOCK TABLE " + table + " IN SHARE ROW EXCLUSIVE MODE");
+            return jdbcTemplate.queryForObject(
+                    "SELECT setval(pg_get_serial_sequence(?, ?), nextval(pg_get_serial_sequence(?, ?)) + ? - 1)",
+                    Long.class, table, column, table, column, count);
+        });
+        return last - count + 1;
+    }
+
+    private void copy(Job job, String table, String sql, long count, RowSink sink) throws Exception {
+        job.phase = table;
+        AtomicLong counter = job.rows.computeIfAbsent(table, k -> new AtomicLong());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long from = 0; from < count; from += copyBatch) {
+                long rangeStart = from;
+                long rangeEnd = Math.min(count, from + copyBatch);
+                futures.add(pool.submit(() -> {
+                    copyRange(sql, rangeStart, rangeEnd, sink, counter);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void copyRange(String sql, long from, long to, RowSink sink, AtomicLong counter) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            CopyRowWriter writer = new CopyRowWriter(conn.unwrap(PGConnection.class).getCopyAPI().copyIn(sql));
+            try {
+                for (long i = from; i < to; i++) {
+                    sink.write(i, writer);
+                }
+                counter.addAndGet(writer.finish());
+            } catch (SQLException | RuntimeException e) {
+                writer.cancel();
+                throw e;
+            }
+        }
+    }
+
+    // ===== 행 생성 =====
+
+    private void writeUser(Plan plan, long i, CopyRowWriter w) throws SQLException {
+        SplittableRandom r = random(USER_STREAM, i);
+        LocalDate today = LocalDate.ofInstant(plan.now(), SEOUL);
+        int age = AGE_BANDS[AGE_WEIGHTS.pick(r)] + r.nextInt(10);
+        District district = DISTRICTS.get(DISTRICT_WEIGHTS.pick(r));
+        w.number(plan.userBase() + i)
+                .text("syn" + plan.runId() + "_" + i)
+                .text(plan.passwordHash())
+                .text("합성사용자" + i)
+                .date(today.minusYears(age).minusDays(r.nextInt(365)))
+                .text(district.address())
+                .text("010-" + (1000 + r.nextInt(9000)) + "-" + (1000 + r.nextInt(9000)))
+                .time(plan.now().minus(Duration.ofDays(r.nextInt(historyDays + 365))))
+                .text("USER");
+        w.endRow();
+    }
+
+    private void writeComplaint(Plan plan, long i, CopyRowWriter w) throws SQLException {
+        ComplaintSample s = sample(plan, i);
+        District district = DISTRICTS.get(s.district());
+        String category = CATEGORIES.get(s.category());
+        boolean completed = s.status() == ComplaintStatus.COMPLETED;
+        w.number(plan.complaintBase() + i)
+                .text(category)
+                .text(category + " 민원 - " + district.address())
+                .text(district.address() + " 일대 " + category + " 관련 민원입니다. "
+                        + CONTENT_PHRASES.get((int) (i % CONTENT_PHRASES.size())))
+                .text(address(district, i))
+                .number(s.lat())
+                .number(s.lon())
+                .text(s.status().name())
+                .bool(s.isPublic())
+                .time(s.createdAt())
+                .time(lastUpdate(s))
+                .time(completed ? s.closedAt() : null)
+                .number(plan.userBase() + s.userIndex())
+                .number(s.likes())
+                .text(completed ? ANSWER : null)
+                .text("COMPLETED")
+                .time(lastUpdate(s));
+        w.endRow();
+    }
+
+    private void writeSpatialFeature(Plan plan, long i, CopyRowWriter w) throws SQLException {
+        ComplaintSample s = sample(plan, i);
+        w.text("POINT")
+                .raw("SRID=4326;POINT(" + s.lon() + " " + s.lat() + ")")
+                .text(address(DISTRICTS.get(s.district()), i))
+                .number(plan.complaintBase() + i)
+                .time(s.createdAt());
+        w.endRow();
+    }
+
+    private void writeComplaintAgency(Plan plan, long i, CopyRowWriter w) throws SQLException {
+        ComplaintSample s = sample(plan, i);
+        for (long agencyNo : plan.agencies()[s.category()][s.district()]) {
+            w.number(plan.complaintBase() + i).number(agencyNo);
+            w.endRow();
+        }
+    }
+
+    private void writeReactions(Plan plan, long i, CopyRowWriter w) throws SQLException {
+        ComplaintSample s = sample(plan, i);
+        int total = s.likes() + s.dislikes();
+        if (total == 0) {
+            return;
+        }
+        SplittableRandom r = random(REACTION_STREAM, i);
+        long first = r.nextLong(plan.users());
+        for (int k = 0; k < total; k++) {
+            // stride 가 사용자 수와 서로소 → total(<= MAX_REACTIONS < 사용자 수) 안에서 사용자 중복 없음
+            long user = (first + k * plan.reactionStride()) % plan.users();
+            Instant at = min(s.createdAt().plus(Duration.ofMinutes(r.nextInt(14 * 24 * 60))), plan.now());
+            w.number(plan.complaintBase() + i)
+                    .number(plan.userBase() + user)
+                    .time(at)
+                    .text(k < s.likes() ? "LIKE" : "DISLIKE");
+            w.endRow();
+        }
+    }
+
+    private void writeNotifications(Plan plan, long i, CopyRowWriter w) throws SQLException {
+        ComplaintSample s = sample(plan, i);
+        SplittableRandom r = random(NOTIFICATION_STREAM, i);
+        long userNo = plan.userBase() + s.userIndex();
+        long complaintNo = plan.complaintBase() + i;
+        switch (s.status()) {
+            case IN_PROGRESS -> notification(plan, r, w, userNo, complaintNo, "STATUS_CHANGED",
+                    "STATUS_CHANGED: IN_PROGRESS", s.inProgressAt());
+            case COMPLETED -> {
+                notification(plan, r, w, userNo, complaintNo, "STATUS_CHANGED",
+                        "STATUS_CHANGED: IN_PROGRESS", s.inProgressAt());
+                notification(plan, r, w, userNo, complaintNo, "STATUS_CHANGED",
+                        "STATUS_CHANGED: COMPLETED", s.closedAt());
+                notification(plan, r, w, userNo, complaintNo, "ANSWER_CREATED",
+                        "ANSWER_CREATED", s.closedAt());
+            }
+            case REJECTED -> {
+                notification(plan, r, w, userNo, complaintNo, "STATUS_CHANGED",
+                        "STATUS_CHANGED: IN_PROGRESS", s.inProgressAt());
+                notification(plan, r, w, userNo, complaintNo, "STATUS_CHANGED",
+                        "STATUS_CHANGED: REJECTED", s.closedAt());
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void notification(Plan plan, SplittableRandom r, CopyRowWriter w, long userNo, long complaintNo,
+            String type, String message, Instant at) throws SQLException {
+        if (at == null || at.isBefore(plan.notificationCutoff())) {
+            return;
+        }
+        // 하루 지난 알림은 대부분 읽음
+        boolean old = Duration.between(at, plan.now()).toHours() >= 24;
+        boolean read = r.nextDouble() < (old ? 0.8 : 0.3);
+        Instant readAt = read ? min(at.plus(Duration.ofMinutes(1 + r.nextInt(24 * 60))), plan.now()) : null;
+        w.number(userNo)
+                .number(complaintNo)
+                .text(type)
+                .text(message)
+                .bool(read)
+                .time(readAt)
+                .time(at);
+        w.endRow();
+    }
+
+    // ===== 분포 =====
+
+    private ComplaintSample sample(Plan plan, long i) {
+        SplittableRandom r = random(COMPLAINT_STREAM, i);
+        int category = CATEGORY_WEIGHTS.pick(r);
+        int districtIndex = DISTRICT_WEIGHTS.pick(r);
+        District district = DISTRICTS.get(districtIndex);
+
+        double lat;
+        double lon;
+        if (r.nextDouble() < HOTSPOT_RATIO) {
+            // 시/군/구마다 고정된 핫스팟 몇 곳 주변으로 촘촘하게 (클러스터/핫스팟 쿼리 재현)
+            SplittableRandom h = random(HOTSPOT_STREAM,
+                    (long) districtIndex * HOTSPOTS_PER_DISTRICT + r.nextInt(HOTSPOTS_PER_DISTRICT));
+            lat = district.lat() + h.nextGaussian() * district.spread() + r.nextGaussian() * HOTSPOT_SPREAD;
+            lon = district.lon() + h.nextGaussian() * district.spread() + r.nextGaussian() * HOTSPOT_SPREAD;
+        } else {
+            lat = district.lat() + r.nextGaussian() * district.spread();
+            lon = district.lon() + r.nextGaussian() * district.spread();
+        }
+
+        // 최근일수록 접수량이 많도록 (u^1.6), 시각은 시간대 가중치
+        long ageDays = (long) (historyDays * Math.pow(r.nextDouble(), 1.6));
+        Instant createdAt = min(LocalDate.ofInstant(plan.now(), SEOUL).minusDays(ageDays)
+                .atTime(HOUR_WEIGHTS.pick(r), r.nextInt(60), r.nextInt(60))
+                .atZone(SEOUL).toInstant(), plan.now().minusSeconds(60));
+
+        double age = Duration.between(createdAt, plan.now()).toHours() / 24.0;
+        double u = r.nextDouble();
+        ComplaintStatus status;
+        if (age < 3) {
+            status = u < 0.7 ? ComplaintStatus.UNPROCESSED : ComplaintStatus.IN_PROGRESS;
+        } else if (age < 30) {
+            status = u < 0.25 ? ComplaintStatus.UNPROCESSED
+                    : u < 0.6 ? ComplaintStatus.IN_PROGRESS
+                    : u < 0.95 ? ComplaintStatus.COMPLETED
+                    : ComplaintStatus.REJECTED;
+        } else {
+            status = u < 0.05 ? ComplaintStatus.UNPROCESSED
+                    : u < 0.15 ? ComplaintStatus.IN_PROGRESS
+                    : u < 0.93 ? ComplaintStatus.COMPLETED
+                    : u < 0.98 ? ComplaintStatus.REJECTED
+                    : ComplaintStatus.CANCELLED;
+        }
+        Instant inProgressAt = status == ComplaintStatus.UNPROCESSED || status == ComplaintStatus.CANCELLED ? null
+                : min(createdAt.plus(exponentialMinutes(r, 36 * 60)), plan.now());
+        Instant closedAt = status == ComplaintStatus.COMPLETED || status == ComplaintStatus.REJECTED
+                ? min(inProgressAt.plus(exponentialMinutes(r, 5 * 24 * 60)), plan.now())
+                : null;
+
+        // 작성자는 앞쪽 사용자에 편중 (u^2), 공감 수는 대부분 0 이고 긴 꼬리
+        long userIndex = Math.min(plan.users() - 1, (long) (plan.users() * Math.pow(r.nextDouble(), 2.0)));
+        int likes = r.nextDouble() < 0.55 ? 0
+                : (int) Math.min(MAX_REACTIONS, Math.pow(1 - r.nextDouble(), -1 / 1.2));
+        int dislikes = likes == 0 ? (r.nextDouble() < 0.05 ? 1 : 0) : r.nextInt(likes / 4 + 1);
+        dislikes = Math.min(dislikes, MAX_REACTIONS - likes);
+
+        return new ComplaintSample(category, districtIndex, lat, lon, userIndex, status, createdAt, inProgressAt,
+                closedAt, likes, dislikes, r.nextDouble() < 0.92);
+    }
+
+    private static Instant lastUpdate(ComplaintSample s) {
+        if (s.closedAt() != null) {
+            return s.closedAt();
+        }
+        return s.inProgressAt() != null ? s.inProgressAt() : s.createdAt();
+    }
+
+    private static String address(District district, long i) {
+        return district.address() + " " + (1 + i % 300) + "번길";
+    }
+
+    private static Duration exponentialMinutes(SplittableRandom r, double meanMinutes) {
+        return Duration.ofMinutes((long) (-Math.log(1 - r.nextDouble()) * meanMinutes) + 1);
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom((randomSeed * 0x9E3779B97F4A7C15L) ^ (stream << 56) ^ index);
+    }
+
+    static long parseScale(String scale) {
+        String value = scale == null ? "" : scale.trim().toUpperCase();
+        long multiplier = 1;
+        if (value.endsWith("K")) {
+            multiplier = 1_000;
+        } else if (value.endsWith("M")) {
+            multiplier = 1_000_000;
+        }
+        if (multiplier > 1) {
+            value = value.substring(0, value.length() - 1);
+        }
+        try {
+            long count = (long) (Double.parseDouble(value) * multiplier);
+            if (count <= 0) {
+                throw new NumberFormatException();
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "scale 형식 오류 (예: 1M, 10M, 50M): " + scale);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.safeguard.service.seed;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 합성 데이터 분포 (운영 데이터의 대략적인 비율을 흉내낸 가중치 표)
+ */
+final class SyntheticDistributions {
+
+    private SyntheticDistributions() {
+    }
+
+    record District(String sido, String sigungu, double lat, double lon, double spread) {
+        String address() {
+            return sigungu.isEmpty() ? sido : sido + " " + sigungu;
+        }
+    }
+
+    static final List<String> CATEGORIES = List.of(
+            "교통", "도로", "행정·안전", "환경", "주택·건축", "기타", "경찰·검찰", "보건", "산업·통상", "교육", "관광");
+    static final Weighted CATEGORY_WEIGHTS = new Weighted(22, 18, 14, 12, 9, 8, 5, 4, 3, 3, 2);
+
+    // 인구 규모를 반영한 시/군/구 가중치, spread 는 중심 좌표 기준 표준편차(도)
+    static final List<District> DISTRICTS = List.of(
+            new District("서울특별시", "강남구", 37.5172, 127.0473, 0.015),
+            new District("서울특별시", "서초구", 37.4837, 127.0324, 0.015),
+            new District("서울특별시", "송파구", 37.5145, 127.1059, 0.015),
+            new District("서울특별시", "마포구", 37.5663, 126.9019, 0.012),
+            new District("서울특별시", "종로구", 37.5735, 126.9790, 0.010),
+            new District("서울특별시", "관악구", 37.4784, 126.9516, 0.012),
+            new District("서울특별시", "노원구", 37.6542, 127.0568, 0.012),
+            new District("서울특별시", "영등포구", 37.5264, 126.8962, 0.012),
+            new District("부산광역시", "해운대구", 35.1631, 129.1636, 0.020),
+            new District("부산광역시", "부산진구", 35.1629, 129.0532, 0.015),
+            new District("대구광역시", "수성구", 35.8582, 128.6306, 0.020),
+            new District("대구광역시", "중구", 35.8693, 128.6062, 0.010),
+            new District("인천광역시", "남동구", 37.4473, 126.7314, 0.020),
+            new District("인천광역시", "연수구", 37.4100, 126.6783, 0.020),
+            new District("광주광역시", "북구", 35.1740, 126.9120, 0.020),
+            new District("대전광역시", "유성구", 36.3622, 127.3562, 0.025),
+            new District("울산광역시", "남구", 35.5437, 129.3302, 0.020),
+            new District("세종특별자치시", "", 36.4800, 127.2890, 0.030),
+            new District("경기도", "수원시", 37.2636, 127.0286, 0.030),
+            new District("경기도", "성남시", 37.4200, 127.1265, 0.030),
+            new District("경기도", "고양시", 37.6584, 126.8320, 0.035),
+            new District("경기도", "용인시", 37.2411, 127.1776, 0.040),
+            new District("충청북도", "청주시", 36.6424, 127.4890, 0.035),
+            new District("충청남도", "천안시", 36.8151, 127.1139, 0.035),
+            new District("전북특별자치도", "전주시", 35.8242, 127.1480, 0.030),
+            new District("전라남도", "순천시", 34.9507, 127.4872, 0.035),
+            new District("경상북도", "포항시", 36.0190, 129.3435, 0.040),
+            new District("경상남도", "창원시", 35.2280, 128.6811, 0.040),
+            new District("강원특별자치도", "춘천시", 37.8813, 127.7298, 0.040),
+            new District("제주특별자치도", "제주시", 33.4996, 126.5312, 0.040));
+    static final Weighted DISTRICT_WEIGHTS = new Weighted(
+            55, 42, 66, 37, 14, 49, 50, 38,
+            39, 36, 41, 8, 53, 38, 42, 35, 31, 39,
+            119, 92, 107, 107, 85, 65, 64, 28, 50, 101, 28, 49);
+
+    // 연령대(10대~60대 이상) 사용자 비율
+    static final int[] AGE_BANDS = { 10, 20, 30, 40, 50, 60 };
+    static final Weighted AGE_WEIGHTS = new Weighted(5, 20, 24, 22, 17, 12);
+
+    // 접수 시각(시) 가중치: 출근/점심/퇴근 시간대 집중
+    static final Weighted HOUR_WEIGHTS = new Weighted(
+            1, 1, 1, 1, 1, 2, 3, 6, 9, 9, 8, 8, 9, 8, 7, 7, 7, 8, 9, 8, 6, 4, 3, 2);
+
+    static final List<String> CONTENT_PHRASES = List.of(
+            "빠른 확인 부탁드립니다.",
+            "주민 안전이 우려되어 신고합니다.",
+            "지난주부터 계속된 문제입니다.",
+            "출퇴근 시간마다 불편을 겪고 있습니다.",
+            "현장 사진은 추후 보완하겠습니다.",
+            "비슷한 민원이 여러 차례 있었던 곳입니다.");
+
+    /**
+     * 누적 가중치 기반 선택기
+     */
+    static final class Weighted {
+        private final double[] cumulative;
+
+        Weighted(double... weights) {
+            cumulative = new double[weights.length];
+            double sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < cumulative.length; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int pick(SplittableRandom random) {
+            double u = random.nextDouble();
+            int lo = 0;
+            int hi = cumulative.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulative[mid] < u) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
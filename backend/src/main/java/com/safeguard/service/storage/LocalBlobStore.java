@@ -0,0 +1,158 @@
+package com.safeguard.service.storage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * S3 장애 시 로컬 업로드 저장소 (file.upload-dir, URL 은 /uploads/...)
+ *
+ * - 키 앞 4글자로 2단계 샤딩 (uploads/ab/cd/abcd....jpg) → 한 디렉터리에 파일이 몰리지 않음
+ * - 같은 디렉터리의 임시 파일에 쓰고 fsync 후 원자적 rename → 읽는 쪽은 완성된 파일만 봄
+ * - 키가 내용 해시이므로 이미 있으면 덮어쓰지 않음
+ * - 샤딩 이전 평면 경로(/uploads/uuid.jpg)도 그대로 조회 가능
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalBlobStore {
+
+    public static final String URL_PREFIX = "/uploads/";
+
+    // 내용 해시 키 (FileServiceImpl: {sha256}{ext}, {sha256}_detail.jpg, {sha256}_thumb.jpg)
+    private static final Pattern HASH_KEY = Pattern.compile("^[0-9a-f]{64}(?:_detail|_thumb)?(?:\\.[A-Za-z0-9]+)?$");
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${file.upload-dir:./uploads}")
+    private String uploadDir;
+
+    private Path root() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    public static boolean isLocal(String path) {
+        return path != null && path.startsWith(URL_PREFIX);
+    }
+
+    /**
+     * 경로/URL 의 마지막 구간 (= 저장 키)
+     */
+    public static String keyOf(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * 강한 ETag (내용 해시 키면 해시 자체, 그 외에는 null)
+     */
+    public static String etagOf(String key) {
+        if (!isContentAddressed(key)) {
+            return null;
+        }
+        // 확장자만 제외 (축소본은 원본과 내용이 다르므로 _detail/_thumb 접미사 포함)
+        int dot = key.lastIndexOf('.');
+        return "\"" + (dot > 0 ? key.substring(0, dot) : key) + "\"";
+    }
+
+    public static boolean isContentAddressed(String key) {
+        return HASH_KEY.matcher(key).matches();
+    }
+
+    public String put(String key, byte[] content) throws IOException {
+        return put(key, new ByteArrayInputStream(content));
+    }
+
+    /**
+     * 저장 후 URL 경로 반환 (스트림은 호출자가 닫음)
+     */
+    public String put(String key, InputStream in) throws IOException {
+        if (key.isEmpty() || key.contains("/") || key.contains("\\") || key.startsWith(".")) {
+            throw new IllegalArgumentException("잘못된 저장 키: " + key);
+        }
+        String relative = shard(key) + "/" + key;
+        Path target = root().resolve(relative);
+        if (Files.exists(target)) {
+            return URL_PREFIX + relative;
+        }
+        Path dir = target.getParent();
+        Files.createDirectories(dir);
+        Path temp = dir.resolve(".tmp-" + UUID.randomUUID());
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE);
+                    OutputStream out = Channels.newOutputStream(channel)) {
+                in.transferTo(out);
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // 같은 내용을 동시에 저장한 쪽이 먼저 완료 (일부 파일시스템은 rename 대상이 있으면 실패)
+            log.debug("[LocalBlobStore] 이미 저장됨: {}", key);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        meterRegistry.counter("storage.local.writes").increment();
+        return URL_PREFIX + relative;
+    }
+
+    /**
+     * /uploads/... 경로의 실제 파일 (없거나 저장소 밖을 가리키면 null)
+     */
+    public Path locate(String path) {
+        if (!isLocal(path)) {
+            return null;
+        }
+        Path root = root();
+        Path file = root.resolve(path.substring(URL_PREFIX.length())).normalize();
+        if (!file.startsWith(root) || file.getFileName().toString().startsWith(".tmp-")) {
+            return null;
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return attrs.isRegularFile() ? file : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 키 삭제 (샤딩 경로 + 이전 평면 경로, 없는 키는 무시)
+     */
+    public void delete(Collection<String> keys) throws IOException {
+        Path root = root();
+        for (String key : keys) {
+            Files.deleteIfExists(root.resolve(shard(key)).resolve(key));
+            Files.deleteIfExists(root.resolve(key));
+        }
+    }
+
+    private static String shard(String key) {
+        String prefix = key.length() >= 4 && key.substring(0, 4).matches("[0-9a-f]{4}") ? key.substring(0, 4)
+                : String.format("%08x", key.hashCode()).substring(0, 4);
+        return prefix.substring(0, 2) + "/" + prefix.substring(2, 4);
+    }
+}
@@ -0,0 +1,120 @@
+package com.safeguard.service.storage;
+
+import com.safeguard.dto.StoredImage;
+import com.safeguard.entity.StoredObject;
+import com.safeguard.mapper.StoredObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * S3 장애 중 로컬(/uploads)로 저장된 업로드를 S3 복구 후 이전
+ *
+ * - 첫 업로드가 실패하면 S3 가 아직 복구되지 않은 것으로 보고 이번 회차 중단
+ * - 키는 그대로 사용 (S3 키 = 로컬 파일명) → 이전 후 남아 있는 옛 경로 요청은 UploadController 가 S3 로 리다이렉트
+ * - 저장소 행과 민원 경로를 한 트랜잭션에서 교체한 뒤 로컬 파일 삭제
+ * - 저장소(stored_object)에 없는 이전 UUID 파일은 대상 아님 (로컬에서 계속 제공)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalUploadMigrator {
+
+    private final StoredObjectMapper storedObjectMapper;
+    private final S3StorageService s3StorageService;
+    private final LocalBlobStore localBlobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${storage.local.migrate.enabled:true}")
+    private boolean enabled;
+
+    @Value("${storage.local.migrate.batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${storage.local.migrate.interval-ms:60000}",
+            initialDelayString = "${storage.local.migrate.interval-ms:60000}")
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        int migrated = 0;
+        for (StoredObject object : storedObjectMapper.selectLocal(batchSize)) {
+            StoredImage from = new StoredImage(object.getImagePath(), object.getDetailPath(),
+                    object.getThumbnailPath());
+            StoredImage to;
+            List<String> localKeys = new ArrayList<>();
+            try {
+                to = new StoredImage(moveToS3(from.getImagePath(), localKeys),
+                        moveToS3(from.getDetailPath(), localKeys),
+                        moveToS3(from.getThumbnailPath(), localKeys));
+            } catch (MissingLocalFileException e) {
+                log.warn("[LocalUploadMigrator] 로컬 파일 없음, 건너뜀: {}", e.getMessage());
+                continue;
+            } catch (Exception e) {
+                log.debug("[LocalUploadMigrator] S3 미복구 - 다음 회차에 재시도: {}", e.getMessage());
+                break;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                storedObjectMapper.updatePaths(object.getContentHash(), to);
+                storedObjectMapper.relinkComplaints(from, to);
+            });
+            try {
+                localBlobStore.delete(localKeys);
+            } catch (IOException e) {
+                log.warn("[LocalUploadMigrator] 로컬 파일 삭제 실패: {} ({})", localKeys, e.getMessage());
+            }
+            migrated++;
+        }
+        if (migrated > 0) {
+            log.info("[LocalUploadMigrator] 로컬 업로드 {}건 S3 이전", migrated);
+            meterRegistry.counter("storage.local.migrated").increment(migrated);
+        }
+    }
+
+    /**
+     * 로컬 경로면 S3 에 올리고 새 URL 반환 (이미 S3 거나 비어 있으면 그대로)
+     */
+    private String moveToS3(String path, List<String> localKeys) throws IOException {
+        if (!LocalBlobStore.isLocal(path)) {
+            return path;
+        }
+        String key = LocalBlobStore.keyOf(path);
+        if (localKeys.contains(key)) {
+            // 디코딩 불가 이미지: 상세/썸네일 경로 = 원본 경로
+            return s3StorageService.urlFor(key);
+        }
+        Path file = localBlobStore.locate(path);
+        if (file == null) {
+            throw new MissingLocalFileException(path);
+        }
+        String contentType = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+        String url;
+        try (InputStream in = Files.newInputStream(file)) {
+            url = s3StorageService.put(key, in, Files.size(file), contentType);
+        }
+        localKeys.add(key);
+        return url;
+    }
+
+    private static class MissingLocalFileException extends RuntimeException {
+        MissingLocalFileException(String path) {
+            super(path);
+        }
+    }
+}
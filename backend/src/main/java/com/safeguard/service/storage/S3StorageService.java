@@ -0,0 +1,282 @@
+package com.safeguard.service.storage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumMode;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * S3 업로드 (S3Template 대신 S3Client 직접 사용)
+ *
+ * - URL 은 SDK 유틸리티로 로컬 계산 (업로드 후 download().getURL() 왕복 없음), public-base-url 이 있으면 그 주소 사용
+ * - 길이를 아는 스트림만 받음 → SDK 가 본문을 메모리/디스크에 다시 버퍼링하지 않음
+ * - threshold 이상은 멀티파트: part-size 단위로 읽어 parallelism 개까지 동시 전송 (메모리 상한 = part-size x parallelism)
+ * - 로컬 S3 호환 서버(MinIO 등): SPRING_CLOUD_AWS_S3_ENDPOINT + SPRING_CLOUD_AWS_S3_PATH_STYLE_ACCESS_ENABLED=true
+ * - presignPut: 브라우저 직접 업로드 (UploadSessionService), head 로 완료 확인
+ * - 메트릭: storage.upload(method, outcome), storage.upload.bytes, storage.upload.throughput (bytes/s)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class S3StorageService {
+
+    // S3 멀티파트 최소 파트 크기 (마지막 파트 제외)
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Value("${storage.s3.public-base-url:}")
+    private String publicBaseUrl;
+
+    @Value("${storage.s3.multipart.threshold-bytes:8388608}")
+    private long multipartThreshold;
+
+    @Value("${storage.s3.multipart.part-size-bytes:5242880}")
+    private int partSize;
+
+    @Value("${storage.s3.multipart.parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService partUploader;
+
+    @PostConstruct
+    void init() {
+        partSize = Math.max(partSize, MIN_PART_SIZE);
+        multipartThreshold = Math.max(multipartThreshold, partSize);
+        AtomicInteger seq = new AtomicInteger();
+        partUploader = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "s3-part-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        partUploader.shutdownNow();
+    }
+
+    /**
+     * 객체 접근 URL (네트워크 호출 없음)
+     */
+    public String urlFor(String key) {
+        if (!publicBaseUrl.isBlank()) {
+            String base = publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1)
+                    : publicBaseUrl;
+            return base + "/" + URLEncoder.encode(key, StandardCharsets.UTF_8).replace("+", "%20")
+                    .replace("%2F", "/");
+        }
+        return s3Client.utilities().getUrl(b -> b.bucket(bucket).key(key)).toString();
+    }
+
+    public String put(String key, byte[] content, String contentType) {
+        return put(key, new ByteArrayInputStream(content), content.length, contentType);
+    }
+
+    /**
+     * 업로드 후 URL 반환 (length 는 정확해야 함, 스트림은 호출자가 닫음)
+     */
+    public String put(String key, InputStream in, long length, String contentType) {
+        boolean multipart = length >= multipartThreshold;
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            if (multipart) {
+                putMultipart(key, in, length, contentType);
+            } else {
+                s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(length)
+                        .build(), RequestBody.fromInputStream(in, length));
+            }
+            return urlFor(key);
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            record(multipart ? "multipart" : "single", outcome, length, start);
+        }
+    }
+
+    /**
+     * 여러 객체 삭제 (없는 키는 무시)
+     */
+    public void delete(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<ObjectIdentifier> objects = keys.stream().map(k -> ObjectIdentifier.builder().key(k).build()).toList();
+        s3Client.deleteObjects(b -> b.bucket(bucket).delete(d -> d.objects(objects).quiet(true)));
+    }
+
+    /**
+     * 브라우저 직접 업로드용 PUT URL (본문은 백엔드를 거치지 않음)
+     * - Content-Type / Content-Length / SHA-256 체크섬을 서명에 포함 → 다른 크기나 내용이면 S3 가 거부
+     */
+    public PresignedPutObjectRequest presignPut(String key, String contentType, long length, String sha256Hex,
+            Duration ttl) {
+        String checksum = Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256Hex));
+        return s3Presigner.presignPutObject(b -> b.signatureDuration(ttl)
+                .putObjectRequest(r -> r.bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(length)
+                        .checksumSHA256(checksum)));
+    }
+
+    /**
+     * 객체 메타데이터 (없으면 null)
+     */
+    public HeadObjectResponse head(String key) {
+        try {
+            return s3Client.headObject(b -> b.bucket(bucket).key(key).checksumMode(ChecksumMode.ENABLED));
+        } catch (S3Exception e) {
+            // HEAD 는 본문이 없어 NoSuchKey 대신 404 상태만 오는 경우도 있음
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 객체 전체 읽기 (직접 업로드 원본의 축소본 생성용)
+     */
+    public byte[] read(String key) {
+        return s3Client.getObjectAsBytes(b -> b.bucket(bucket).key(key)).asByteArray();
+    }
+
+    /**
+     * 객체 앞부분만 읽기 (Range GET, 형식 확인용 - 객체가 length 보다 작으면 전체)
+     */
+    public byte[] readPrefix(String key, int length) {
+        return s3Client.getObjectAsBytes(b -> b.bucket(bucket).key(key).range("bytes=0-" + (length - 1)))
+                .asByteArray();
+    }
+
+    private void putMultipart(String key, InputStream in, long length, String contentType) {
+        String uploadId = s3Client.createMultipartUpload(b -> b.bucket(bucket).key(key).contentType(contentType))
+                .uploadId();
+        int partCount = (int) ((length + partSize - 1) / partSize);
+        // 동시에 메모리에 올라가는 파트 수 제한
+        Semaphore window = new Semaphore(parallelism);
+        List<Future<CompletedPart>> parts = new ArrayList<>(partCount);
+        try {
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                int size = (int) Math.min(partSize, length - (long) (partNumber - 1) * partSize);
+                window.acquire();
+                byte[] buffer;
+                try {
+                    buffer = in.readNBytes(size);
+                } catch (IOException | RuntimeException e) {
+                    window.release();
+                    throw e;
+                }
+                if (buffer.length != size) {
+                    window.release();
+                    throw new IllegalStateException("본문이 지정한 길이보다 짧습니다: " + key);
+                }
+                int number = partNumber;
+                parts.add(partUploader.submit(() -> {
+                    try {
+                        UploadPartResponse response = s3Client.uploadPart(b -> b.bucket(bucket).key(key)
+                                .uploadId(uploadId).partNumber(number).contentLength((long) buffer.length),
+                                RequestBody.fromBytes(buffer));
+                        return CompletedPart.builder().partNumber(number).eTag(response.eTag()).build();
+                    } finally {
+                        window.release();
+                    }
+                }));
+            }
+            List<CompletedPart> completed = new ArrayList<>(partCount);
+            for (Future<CompletedPart> part : parts) {
+                completed.add(part.get());
+            }
+            s3Client.completeMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(m -> m.parts(completed)));
+            log.info("[S3] 멀티파트 업로드 완료: {} ({} bytes, {} parts)", key, length, partCount);
+        } catch (InterruptedException | ExecutionException | IOException | RuntimeException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            parts.forEach(part -> part.cancel(true));
+            abort(key, uploadId);
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("S3 멀티파트 업로드 실패: " + key, cause);
+        }
+    }
+
+    private void abort(String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+        } catch (RuntimeException e) {
+            // 미완료 업로드는 버킷 수명 주기 규칙(AbortIncompleteMultipartUpload)으로 정리
+            log.warn("[S3] 멀티파트 업로드 취소 실패: {} ({})", key, e.getMessage());
+        }
+    }
+
+    private void record(String method, String outcome, long bytes, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        Timer.builder("storage.upload")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (!"success".equals(outcome) || elapsed <= 0) {
+            return;
+        }
+        DistributionSummary.builder("storage.upload.bytes")
+                .baseUnit("bytes")
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(bytes);
+        DistributionSummary.builder("storage.upload.throughput")
+                .baseUnit("bytes_per_second")
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(bytes * 1e9 / elapsed);
+    }
+}
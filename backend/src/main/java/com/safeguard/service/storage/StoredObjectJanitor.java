@@ -0,0 +1,93 @@
+package com.safeguard.service.storage;
+
+import com.safeguard.entity.StoredObject;
+import com.safeguard.mapper.StoredObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 업로드 저장소(stored_object) 참조 수 보정 + 미사용 객체 정리
+ *
+ * - 참조 수는 민원 등록/이미지 단계에서 증가, 재시도 중복/물리 삭제 오차는 complaint.image_path 기준 재계산으로 보정
+ * - 업로드 후 grace-hours 동안 어느 민원에도 첨부되지 않은 객체는 삭제 (작성 중 이탈)
+ *   행을 먼저 지운 뒤(참조 재확인 포함) 원본/상세/썸네일 객체 삭제 → 삭제 도중 실패해도 참조 중인 객체는 지우지 않음
+ *   행은 FOR UPDATE SKIP LOCKED 로 잠근 뒤 삭제 → 민원 첨부(ComplaintServiceImpl)가 잠근 행은 이번 회차에서 건너뜀
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoredObjectJanitor {
+
+    private final StoredObjectMapper storedObjectMapper;
+    private final S3StorageService s3StorageService;
+    private final LocalBlobStore localBlobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${storage.dedup.gc.enabled:true}")
+    private boolean gcEnabled;
+
+    @Value("${storage.dedup.gc.grace-hours:24}")
+    private int graceHours;
+
+    @Value("${storage.dedup.gc.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${storage.dedup.reconcile-interval-ms:3600000}",
+            initialDelayString = "${storage.dedup.reconcile-interval-ms:3600000}")
+    public void maintain() {
+        try {
+            int changed = storedObjectMapper.reconcileRefCounts();
+            if (changed > 0) {
+                log.info("[StoredObject] 참조 수 재계산 - 보정 {}건", changed);
+            }
+            meterRegistry.counter("storage.dedup.reconciled").increment(changed);
+        } catch (Exception e) {
+            log.warn("[StoredObject] 참조 수 재계산 실패: {}", e.getMessage());
+            return;
+        }
+        if (gcEnabled) {
+            collect();
+        }
+    }
+
+    private void collect() {
+        List<StoredObject> candidates = storedObjectMapper.selectUnreferenced(graceHours, batchSize);
+        int removed = 0;
+        for (StoredObject object : candidates) {
+            Boolean deleted = transactionTemplate.execute(status ->
+                    storedObjectMapper.lockUnreferenced(object.getContentHash(), graceHours) != null
+                            && storedObjectMapper.deleteIfUnreferenced(object.getContentHash(), graceHours) > 0);
+            if (!Boolean.TRUE.equals(deleted)) {
+                continue;
+            }
+            List<String> keys = List.of(object.getObjectKey(),
+                    object.getContentHash() + "_detail.jpg",
+                    object.getContentHash() + "_thumb.jpg");
+            try {
+                // S3 장애 중 일부만 로컬로 저장됐을 수 있으므로 경로별로 확인
+                localBlobStore.delete(keys);
+                if (!LocalBlobStore.isLocal(object.getImagePath())
+                        || !LocalBlobStore.isLocal(object.getDetailPath())
+                        || !LocalBlobStore.isLocal(object.getThumbnailPath())) {
+                    s3StorageService.delete(keys);
+                }
+                removed++;
+            } catch (Exception e) {
+                // 행은 이미 삭제됨 → 남은 객체는 버킷 수명 주기 규칙/수동 정리 대상
+                log.warn("[StoredObject] 객체 삭제 실패: {} ({})", object.getObjectKey(), e.getMessage());
+            }
+        }
+        if (removed > 0) {
+            log.info("[StoredObject] 미사용 업로드 정리 {}건", removed);
+        }
+        meterRegistry.counter("storage.dedup.collected").increment(removed);
+    }
+}
@@ -0,0 +1,338 @@
+package com.safeguard.service.storage;
+
+import com.safeguard.dto.StoredImage;
+import com.safeguard.dto.UploadSessionRequest;
+import com.safeguard.dto.UploadSessionResponse;
+import com.safeguard.entity.UploadSession;
+import com.safeguard.enums.UploadSessionStatus;
+import com.safeguard.mapper.UploadSessionMapper;
+import com.safeguard.service.FileService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 브라우저 → S3 직접 업로드 (이미지 본문이 백엔드를 거치지 않음)
+ *
+ * 1. create: 브라우저가 계산한 SHA-256 으로 중복 확인 → 이미 있으면 경로 바로 반환 (STORED)
+ *    없으면 {sha256}{ext} 키의 presigned PUT URL 발급 (크기/타입/체크섬 서명 → 다른 본문은 S3 가 거부)
+ * 2. 브라우저가 uploadUrl 로 PUT (헤더 그대로)
+ * 3. complete: HEAD 로 존재/크기/체크섬 확인 + 앞부분(Range GET)의 시그니처가 선언한 이미지 형식인지 확인 후
+ *    stored_object 등록 → 민원 등록 시 imagePath 로 첨부
+ * - 객체 키 확장자는 허용 목록의 contentType 에서만 만듦 (브라우저가 보낸 파일명은 쓰지 않음)
+ *
+ * - 축소본(상세/썸네일)은 complete 응답 후 별도 스레드에서 원본을 읽어 생성 → 그 전까지는 세 경로 모두 원본
+ *   (목록/상세는 COALESCE 로 원본 표시, 그 사이 첨부된 민원도 생성 후 축소본 경로로 갱신)
+ *   큐가 넘쳐 건너뛴 객체는 같은 사진이 서버 경유로 다시 올라올 때 storeImage 가 보충
+ * - URL 만료 후에도 완료되지 않은 세션은 주기적으로 정리 (다른 세션/저장소가 쓰지 않는 객체만 삭제)
+ * - 메트릭: storage.upload.session (result = issued, deduplicated, completed, rejected, abandoned)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSessionService {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("^[0-9a-f]{64}$");
+    private static final Pattern EXTENSION = Pattern.compile("^[a-z0-9]{1,5}$");
+    // 형식 확인에 읽는 앞부분 크기 (HEIF ftyp 브랜드까지)
+    private static final int SIGNATURE_BYTES = 16;
+
+    private final UploadSessionMapper uploadSessionMapper;
+    private final FileService fileService;
+    private final S3StorageService s3StorageService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${storage.upload-session.enabled:true}")
+    private boolean enabled;
+
+    @Value("${storage.upload-session.url-ttl-seconds:300}")
+    private long urlTtlSeconds;
+
+    @Value("${storage.upload-session.max-bytes:5242880}")
+    private long maxBytes;
+
+    @Value("${storage.upload-session.allowed-types:image/jpeg,image/png,image/webp,image/gif,image/heic,image/heif}")
+    private Set<String> allowedTypes;
+
+    @Value("${storage.upload-session.abandoned-grace-minutes:10}")
+    private int abandonedGraceMinutes;
+
+    @Value("${storage.upload-session.variant-threads:2}")
+    private int variantThreads;
+
+    @Value("${storage.upload-session.variant-queue-capacity:100}")
+    private int variantQueueCapacity;
+
+    private ExecutorService variantExecutor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger seq = new AtomicInteger();
+        variantExecutor = new ThreadPoolExecutor(variantThreads, variantThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(variantQueueCapacity), r -> {
+                    Thread t = new Thread(r, "upload-variants-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        variantExecutor.shutdownNow();
+    }
+
+    public UploadSessionResponse create(UploadSessionRequest request, Long userNo) {
+        if (!enabled) {
+            // 프론트엔드는 기존 multipart 업로드로 전환
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "직접 업로드가 비활성화되어 있습니다.");
+        }
+        String hash = request.getSha256() != null ? request.getSha256().toLowerCase(Locale.ROOT) : "";
+        String contentType = request.getContentType() != null ? request.getContentType().toLowerCase(Locale.ROOT)
+                : "";
+        long size = request.getSize() != null ? request.getSize() : 0L;
+        if (!SHA256_HEX.matcher(hash).matches()) {
+            throw reject(HttpStatus.BAD_REQUEST, "sha256 형식이 올바르지 않습니다.");
+        }
+        if (!allowedTypes.contains(contentType)) {
+            throw reject(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "이미지 파일만 업로드할 수 있습니다.");
+        }
+        if (size <= 0 || size > maxBytes) {
+            throw reject(HttpStatus.PAYLOAD_TOO_LARGE, "파일 크기가 허용 범위를 벗어났습니다.");
+        }
+
+        StoredImage existing = fileService.findStored(hash);
+        if (existing != null) {
+            meterRegistry.counter("storage.upload.session", "result", "deduplicated").increment();
+            return stored(null, existing);
+        }
+
+        String objectKey = hash + extensionOf(contentType);
+        Duration ttl = Duration.ofSeconds(urlTtlSeconds);
+        PresignedPutObjectRequest presigned = s3StorageService.presignPut(objectKey, contentType, size, hash, ttl);
+
+        UploadSession session = new UploadSession();
+        session.setUploadId(UUID.randomUUID().toString());
+        session.setUserNo(userNo);
+        session.setContentHash(hash);
+        session.setObjectKey(objectKey);
+        session.setContentType(contentType);
+        session.setSizeBytes(size);
+        session.setExpiresAt(OffsetDateTime.ofInstant(presigned.expiration(), ZoneOffset.UTC));
+        uploadSessionMapper.insertUploadSession(session);
+        meterRegistry.counter("storage.upload.session", "result", "issued").increment();
+
+        return UploadSessionResponse.builder()
+                .uploadId(session.getUploadId())
+                .status("UPLOAD")
+                .uploadUrl(presigned.url().toString())
+                .method("PUT")
+                .headers(browserHeaders(presigned.signedHeaders()))
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    public UploadSessionResponse complete(String uploadId, Long userNo) {
+        UploadSession session = uploadSessionMapper.selectByUploadId(uploadId);
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        }
+        if (session.getUserNo() != null && !session.getUserNo().equals(userNo)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "본인의 업로드만 완료할 수 있습니다.");
+        }
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) {
+            // 재시도 (응답 유실 등)
+            StoredImage existing = fileService.findStored(session.getContentHash());
+            if (existing != null) {
+                return stored(uploadId, existing);
+            }
+        }
+
+        HeadObjectResponse head = s3StorageService.head(session.getObjectKey());
+        if (head == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "업로드가 아직 완료되지 않았습니다.");
+        }
+        if (!session.getSizeBytes().equals(head.contentLength())) {
+            throw reject(HttpStatus.UNPROCESSABLE_ENTITY, "업로드된 파일 크기가 요청과 다릅니다.");
+        }
+        String expectedChecksum = Base64.getEncoder()
+                .encodeToString(HexFormat.of().parseHex(session.getContentHash()));
+        if (head.checksumSHA256() != null && !head.checksumSHA256().equals(expectedChecksum)) {
+            throw reject(HttpStatus.UNPROCESSABLE_ENTITY, "업로드된 파일 내용이 요청과 다릅니다.");
+        }
+        // Content-Type 헤더는 브라우저 선언값일 뿐 → 실제 내용의 시그니처 확인 (객체는 미완료 세션 정리 때 삭제)
+        String sniffed = sniffImageType(s3StorageService.readPrefix(session.getObjectKey(), SIGNATURE_BYTES));
+        if (!sameImageType(sniffed, session.getContentType())) {
+            log.warn("[UploadSession] 형식 불일치: {} (선언 {}, 실제 {})", session.getObjectKey(),
+                    session.getContentType(), sniffed);
+            throw reject(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "이미지 파일만 업로드할 수 있습니다.");
+        }
+
+        StoredImage stored = fileService.registerUploaded(session.getContentHash(), session.getObjectKey(),
+                session.getSizeBytes());
+        uploadSessionMapper.markCompleted(uploadId);
+        meterRegistry.counter("storage.upload.session", "result", "completed").increment();
+        log.info("[UploadSession] 직접 업로드 완료: {} ({} bytes)", session.getObjectKey(), session.getSizeBytes());
+        scheduleVariants(session.getContentHash());
+        return stored(uploadId, stored);
+    }
+
+    /**
+     * 원본 다운로드 + 디코딩은 요청 스레드 밖에서 (실패/포화 시 원본 경로 유지)
+     */
+    private void scheduleVariants(String contentHash) {
+        try {
+            variantExecutor.execute(() -> {
+                try {
+                    fileService.fillVariants(contentHash);
+                    meterRegistry.counter("storage.upload.variants", "result", "done").increment();
+                } catch (Exception e) {
+                    meterRegistry.counter("storage.upload.variants", "result", "failed").increment();
+                    log.warn("[UploadSession] 축소본 생성 실패: {} - {}", contentHash, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("storage.upload.variants", "result", "skipped").increment();
+            log.warn("[UploadSession] 축소본 생성 대기열 포화, 건너뜀: {}", contentHash);
+        }
+    }
+
+    /**
+     * URL 만료 후에도 완료되지 않은 세션 정리 + 오래된 완료 세션 삭제
+     */
+    @Scheduled(fixedDelayString = "${storage.upload-session.cleanup-interval-ms:600000}",
+            initialDelayString = "${storage.upload-session.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        try {
+            List<UploadSession> abandoned = uploadSessionMapper.selectAbandoned(abandonedGraceMinutes, 100);
+            for (UploadSession session : abandoned) {
+                if (!uploadSessionMapper.isObjectInUse(session.getContentHash(), session.getUploadId())) {
+                    // PUT 만 하고 complete 를 호출하지 않은 객체 (없으면 무시됨)
+                    s3StorageService.delete(List.of(session.getObjectKey()));
+                }
+                uploadSessionMapper.deleteUploadSession(session.getUploadId());
+            }
+            if (!abandoned.isEmpty()) {
+                log.info("[UploadSession] 미완료 업로드 세션 {}건 정리", abandoned.size());
+                meterRegistry.counter("storage.upload.session", "result", "abandoned").increment(abandoned.size());
+            }
+            uploadSessionMapper.deleteCompletedBefore(24);
+        } catch (Exception e) {
+            log.warn("[UploadSession] 세션 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private ResponseStatusException reject(HttpStatus status, String message) {
+        meterRegistry.counter("storage.upload.session", "result", "rejected").increment();
+        return new ResponseStatusException(status, message);
+    }
+
+    private static UploadSessionResponse stored(String uploadId, StoredImage image) {
+        return UploadSessionResponse.builder()
+                .uploadId(uploadId)
+                .status("STORED")
+                .imagePath(image.getImagePath())
+                .detailPath(image.getDetailPath())
+                .thumbnailPath(image.getThumbnailPath())
+                .build();
+    }
+
+    /**
+     * 브라우저가 직접 보내야 하는 서명 헤더 (host, content-length 는 브라우저가 설정)
+     */
+    private static Map<String, String> browserHeaders(Map<String, List<String>> signedHeaders) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        signedHeaders.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!lower.equals("host") && !lower.equals("content-length")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return headers;
+    }
+
+    /**
+     * 허용 목록을 통과한 contentType 기준 확장자 (image/svg+xml 처럼 키에 넣기 곤란한 subtype 은 확장자 없이)
+     */
+    private static String extensionOf(String contentType) {
+        String subtype = contentType.substring(contentType.indexOf('/') + 1);
+        String extension = "jpeg".equals(subtype) ? "jpg" : subtype;
+        return EXTENSION.matcher(extension).matches() ? "." + extension : "";
+    }
+
+    /**
+     * 파일 앞부분 시그니처로 이미지 형식 판별 (모르는 형식이면 null)
+     */
+    static String sniffImageType(byte[] head) {
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(head, 0, 'G', 'I', 'F', '8') && head.length > 5 && (head[4] == '7' || head[4] == '9')
+                && head[5] == 'a') {
+            return "image/gif";
+        }
+        if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        if (startsWith(head, 4, 'f', 't', 'y', 'p') && head.length >= 12) {
+            String brand = new String(head, 8, 4, StandardCharsets.US_ASCII);
+            return switch (brand) {
+                case "heic", "heix", "hevc", "hevx", "heim", "heis" -> "image/heic";
+                case "mif1", "msf1", "heif" -> "image/heif";
+                default -> null;
+            };
+        }
+        return null;
+    }
+
+    // HEIC 는 HEIF 컨테이너라 브라우저/기기마다 두 타입을 섞어 씀 → 같은 형식으로 취급
+    private static boolean sameImageType(String sniffed, String declared) {
+        if (sniffed == null) {
+            return false;
+        }
+        return sniffed.equals(declared) || (sniffed.startsWith("image/hei") && declared.startsWith("image/hei"));
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int... signature) {
+        if (bytes == null || bytes.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((bytes[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
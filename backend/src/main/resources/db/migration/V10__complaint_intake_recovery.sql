@@ -0,0 +1,7 @@
+-- Recovery of the asynchronous complaint pipeline after a restart.
+-- The AI agency hint is written to analysis_result at intake, so agency mapping can be re-run from the row.
+-- image_pending marks an attachment that was only held in memory; a recovered job cannot upload it
+-- and records the complaint as FAILED (re-attach required) instead of COMPLETED.
+
+ALTER TABLE complaint
+ADD COLUMN IF NOT EXISTS image_pending BOOLEAN NOT NULL DEFAULT FALSE;
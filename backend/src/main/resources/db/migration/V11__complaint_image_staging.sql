@@ -0,0 +1,6 @@
+-- Durable staging of attachments for the asynchronous complaint pipeline.
+-- The uploaded bytes are written to the local blob store before the intake commits and the path is kept here
+-- until the IMAGE_UPLOAD stage stores the image, so a job recovered after a restart can still upload it.
+
+ALTER TABLE complaint
+ADD COLUMN IF NOT EXISTS image_staging_path VARCHAR(500);
@@ -0,0 +1,24 @@
+-- Per-user unread notification counter (badge), maintained incrementally by the backend
+-- and periodically reconciled against the notification table (3-day window)
+
+CREATE TABLE IF NOT EXISTS notification_unread_summary (
+    user_no BIGINT PRIMARY KEY
+        REFERENCES app_user(user_no)
+        ON DELETE CASCADE,
+    unread_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Partial index for reconcile / first-time count (unread rows only)
+CREATE INDEX IF NOT EXISTS idx_notification_unread_user_created
+    ON notification(user_no, created_at)
+    WHERE is_read = false;
+
+-- Backfill
+INSERT INTO notification_unread_summary (user_no, unread_count, updated_at)
+SELECT user_no, COUNT(*), NOW()
+FROM notification
+WHERE is_read = false
+  AND created_at >= NOW() - INTERVAL '3 DAYS'
+GROUP BY user_no
+ON CONFLICT (user_no) DO NOTHING;
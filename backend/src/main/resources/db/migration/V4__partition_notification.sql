@@ -0,0 +1,59 @@
+-- Range-partition notification by created_at (daily, UTC boundaries)
+-- Every read filters created_at >= NOW() - INTERVAL '3 DAYS', so only the last few partitions are scanned.
+-- Future partitions are created and expired ones detached/dropped by NotificationPartitionManager.
+
+ALTER TABLE notification RENAME TO notification_legacy;
+ALTER SEQUENCE notification_notification_id_seq OWNED BY NONE;
+
+CREATE TABLE notification (
+    notification_id BIGINT NOT NULL DEFAULT nextval('notification_notification_id_seq'),
+    user_no BIGINT NOT NULL
+        REFERENCES app_user(user_no)
+        ON DELETE CASCADE,
+    complaint_no BIGINT NOT NULL
+        REFERENCES complaint(complaint_no)
+        ON DELETE CASCADE,
+    type VARCHAR(30) NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    read_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- partition key must be part of the primary key
+    PRIMARY KEY (notification_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notification_notification_id_seq OWNED BY notification.notification_id;
+
+-- Partitions covering existing rows (from the oldest row's day) through 7 days ahead
+DO $$
+DECLARE
+    d DATE := COALESCE((SELECT MIN(created_at AT TIME ZONE 'UTC')::date FROM notification_legacy),
+                       (NOW() AT TIME ZONE 'UTC')::date);
+    last_day DATE := (NOW() AT TIME ZONE 'UTC')::date + 7;
+BEGIN
+    WHILE d <= last_day LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF notification FOR VALUES FROM (%L) TO (%L)',
+            'notification_p' || to_char(d, 'YYYYMMDD'),
+            d::timestamp AT TIME ZONE 'UTC',
+            (d + 1)::timestamp AT TIME ZONE 'UTC');
+        d := d + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO notification (notification_id, user_no, complaint_no, type, message, is_read, read_at, created_at)
+SELECT notification_id, user_no, complaint_no, type, message, is_read, read_at, created_at
+FROM notification_legacy;
+
+DROP TABLE notification_legacy;
+
+-- (user_no, created_at) covers the list/count queries; INCLUDE is_read lets the unread count be index-only
+CREATE INDEX idx_notification_user_created
+    ON notification(user_no, created_at DESC) INCLUDE (is_read);
+
+CREATE INDEX idx_notification_complaint_no
+    ON notification(complaint_no);
+
+CREATE INDEX idx_notification_unread_user_created
+    ON notification(user_no, created_at)
+    WHERE is_read = false;
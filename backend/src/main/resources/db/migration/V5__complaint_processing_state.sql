@@ -0,0 +1,16 @@
+-- Asynchronous complaint submission pipeline: processing state per complaint
+-- Existing rows were processed synchronously, so they start as COMPLETED.
+
+ALTER TABLE complaint
+ADD COLUMN IF NOT EXISTS processing_state VARCHAR(20) NOT NULL DEFAULT 'COMPLETED';
+
+ALTER TABLE complaint
+ADD COLUMN IF NOT EXISTS processing_error VARCHAR(500);
+
+ALTER TABLE complaint
+ADD COLUMN IF NOT EXISTS processing_updated_at TIMESTAMPTZ;
+
+-- Only unfinished rows are indexed (recovery sweep)
+CREATE INDEX IF NOT EXISTS idx_complaint_processing_pending
+    ON complaint(processing_updated_at)
+    WHERE processing_state IN ('ACCEPTED', 'PROCESSING');
@@ -0,0 +1,14 @@
+-- Persistent layer of the YOLO analysis cache (key: SHA-256 of the uploaded image bytes)
+-- Stores the raw model output only; category/agency localization is re-applied on every read.
+
+CREATE TABLE IF NOT EXISTS yolo_result_cache (
+    image_hash CHAR(64) PRIMARY KEY,
+    model_version VARCHAR(50) NOT NULL,
+    result_type VARCHAR(100) NOT NULL,
+    result_agency VARCHAR(200),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- TTL purge
+CREATE INDEX IF NOT EXISTS idx_yolo_result_cache_created
+    ON yolo_result_cache(created_at);
@@ -0,0 +1,8 @@
+-- Downscaled image variants stored next to the original (image_path)
+-- Existing rows keep NULL and fall back to image_path when read.
+
+ALTER TABLE complaint
+ADD COLUMN IF NOT EXISTS detail_path VARCHAR(500);
+
+ALTER TABLE complaint
+ADD COLUMN IF NOT EXISTS thumbnail_path VARCHAR(500);
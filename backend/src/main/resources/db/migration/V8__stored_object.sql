@@ -0,0 +1,28 @@
+-- Content-addressed upload store (key: SHA-256 of the original bytes)
+-- ref_count = number of complaint rows whose image_path points at the object.
+-- It is maintained by the application and periodically recomputed from complaint.image_path.
+
+CREATE TABLE IF NOT EXISTS stored_object (
+    content_hash CHAR(64) PRIMARY KEY,
+    object_key VARCHAR(200) NOT NULL,
+    image_path VARCHAR(500) NOT NULL,
+    detail_path VARCHAR(500),
+    thumbnail_path VARCHAR(500),
+    size_bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_uploaded_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_stored_object_image_path
+    ON stored_object(image_path);
+
+-- Garbage collection candidates (uploaded but never attached; a duplicate upload refreshes last_uploaded_at)
+CREATE INDEX IF NOT EXISTS idx_stored_object_unreferenced
+    ON stored_object(last_uploaded_at)
+    WHERE ref_count = 0;
+
+-- Reference recount joins on complaint.image_path
+CREATE INDEX IF NOT EXISTS idx_complaint_image_path
+    ON complaint(image_path)
+    WHERE image_path IS NOT NULL;
@@ -0,0 +1,23 @@
+-- Direct-to-storage uploads: the browser PUTs to a presigned URL and the backend only verifies the result.
+-- The object key is the SHA-256 the client declared; S3 rejects a body with a different checksum or length.
+
+CREATE TABLE IF NOT EXISTS upload_session (
+    upload_id VARCHAR(36) PRIMARY KEY,
+    user_no BIGINT,
+    content_hash CHAR(64) NOT NULL,
+    object_key VARCHAR(200) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMPTZ NOT NULL,
+    completed_at TIMESTAMPTZ
+);
+
+-- Cleanup of abandoned sessions (URL expired, never completed)
+CREATE INDEX IF NOT EXISTS idx_upload_session_pending_expires
+    ON upload_session(expires_at)
+    WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_upload_session_hash
+    ON upload_session(content_hash);
@@ -0,0 +1,184 @@
+package com.safeguard.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safeguard.dto.RagAnalysisRequest;
+import com.safeguard.dto.RagAnalysisResponse;
+import com.safeguard.dto.RagBatchRequest;
+import com.safeguard.dto.RagBatchResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * RAG 분류 클라이언트 부하 측정 (기본 test 에서 제외, ./gradlew loadTest 로 실행)
+ * - 스텁: 워커 2개, 호출당 고정 비용 20ms + 텍스트당 1ms (임베딩/검색을 배치로 처리하는 서버 가정)
+ * - 같은 부하로 건별 호출(/classify)과 마이크로 배치(/classify_batch)의 처리량, p50/p99 지연을 로그로 기록
+ * - 처리량은 실행 환경에 따라 흔들리므로 검증하지 않고, 상류 호출 수만 검증 (배치/캐시 동작은 RagClassifierTest)
+ */
+@Tag("load")
+class RagClassifierLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RagClassifierLoadTest.class);
+
+    private static final int CALLERS = 32;
+    private static final int REQUESTS_PER_CALLER = 20;
+    private static final int STUB_WORKERS = 2;
+    private static final long STUB_CALL_MS = 20;
+    private static final long STUB_PER_TEXT_MS = 1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger stubCalls = new AtomicInteger();
+    private final AtomicInteger stubTexts = new AtomicInteger();
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private RagClassifier classifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubExecutor = Executors.newFixedThreadPool(STUB_WORKERS);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        stub.setExecutor(stubExecutor);
+        stub.createContext("/classify", exchange -> {
+            RagAnalysisRequest request = objectMapper.readValue(exchange.getRequestBody(), RagAnalysisRequest.class);
+            simulate(1);
+            respond(exchange, answer(request.getText()));
+        });
+        stub.createContext("/classify_batch", exchange -> {
+            RagBatchRequest request = objectMapper.readValue(exchange.getRequestBody(), RagBatchRequest.class);
+            simulate(request.getTexts().size());
+            respond(exchange, new RagBatchResponse(request.getTexts().stream().map(this::answer).toList()));
+        });
+        stub.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (classifier != null) {
+            classifier.shutdown();
+        }
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void singleVersusBatchedThroughput() throws Exception {
+        classifier = newClassifier(false);
+        run("single", 0);
+        assertEquals(CALLERS * REQUESTS_PER_CALLER, stubCalls.get());
+        classifier.shutdown();
+
+        stubCalls.set(0);
+        stubTexts.set(0);
+        classifier = newClassifier(true);
+        run("batched", 1);
+        assertEquals(CALLERS * REQUESTS_PER_CALLER, stubTexts.get());
+    }
+
+    private record Result(double throughput, long p50Micros, long p99Micros) {
+    }
+
+    private Result run(String label, int round) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        long[] latencies = new long[CALLERS * REQUESTS_PER_CALLER];
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < CALLERS; c++) {
+            int caller = c;
+            futures.add(callers.submit(() -> {
+                for (int i = 0; i < REQUESTS_PER_CALLER; i++) {
+                    int n = caller * REQUESTS_PER_CALLER + i;
+                    long t = System.nanoTime();
+                    // 라운드별로 텍스트를 달리해 캐시 적중 없이 측정
+                    classifier.classify("민원 " + round + "-" + n + " 도로 파손 신고");
+                    latencies[n] = System.nanoTime() - t;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        callers.shutdownNow();
+
+        Arrays.sort(latencies);
+        Result result = new Result(latencies.length / (elapsed / 1e9),
+                latencies[latencies.length / 2] / 1_000,
+                latencies[(int) (latencies.length * 0.99)] / 1_000);
+        log.info("[RAG load] {}: requests={}, upstream calls={}, {} req/s, p50={}us, p99={}us", label,
+                latencies.length, stubCalls.get(), Math.round(result.throughput()), result.p50Micros(),
+                result.p99Micros());
+        return result;
+    }
+
+    private RagClassifier newClassifier(boolean batch) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("ai.rag.url", "http://127.0.0.1:" + stub.getAddress().getPort())
+                .withProperty("ai.rag.max-concurrent", String.valueOf(CALLERS))
+                .withProperty("ai.rag.acquire-timeout-ms", "30000")
+                .withProperty("ai.rag.read-timeout-ms", "30000");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        RagClassifier rag = new RagClassifier(new AiClientFactory(environment, meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(rag, "batchEnabled", batch);
+        ReflectionTestUtils.setField(rag, "maxBatchSize", 16);
+        ReflectionTestUtils.setField(rag, "maxWaitMs", 5L);
+        ReflectionTestUtils.setField(rag, "maxInflight", STUB_WORKERS);
+        ReflectionTestUtils.setField(rag, "queueCapacity", 1000);
+        ReflectionTestUtils.setField(rag, "callerTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(rag, "cacheEntries", 5000);
+        ReflectionTestUtils.setField(rag, "cacheTtlMs", 3_600_000L);
+        ReflectionTestUtils.setField(rag, "modelVersion", "test");
+        rag.init();
+        return rag;
+    }
+
+    private void simulate(int texts) {
+        stubCalls.incrementAndGet();
+        stubTexts.addAndGet(texts);
+        try {
+            Thread.sleep(STUB_CALL_MS + STUB_PER_TEXT_MS * texts);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RagAnalysisResponse answer(String text) {
+        return RagAnalysisResponse.builder()
+                .agencyCode(1)
+                .agencyName("경찰청")
+                .category("교통")
+                .confidence(0.9)
+                .message("Success")
+                .build();
+    }
+
+    private void respond(HttpExchange exchange, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
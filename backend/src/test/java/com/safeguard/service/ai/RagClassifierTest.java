@@ -0,0 +1,250 @@
+package com.safeguard.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.safeguard.dto.RagAnalysisRequest;
+import com.safeguard.dto.RagAnalysisResponse;
+import com.safeguard.dto.RagBatchRequest;
+import com.safeguard.dto.RagBatchResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RAG 분류 클라이언트 배치/캐시 동작 (로컬 스텁 모델 서버)
+ * - 스텁은 호출별 경로와 받은 텍스트를 기록
+ * - 첫 호출을 스텁에서 붙잡아 두고(max-inflight 1) 뒤 요청을 큐에 쌓은 뒤 풀어 배치 구성을 시간과 무관하게 고정
+ */
+class RagClassifierTest {
+
+    private static final String FAILING_TEXT = "분류 실패 민원";
+
+    private record Call(String path, List<String> texts) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Call> calls = new CopyOnWriteArrayList<>();
+
+    // 스텁 첫 호출 도착 알림 + 응답 보류 (열린 상태가 기본)
+    private volatile CountDownLatch arrived = new CountDownLatch(1);
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    private HttpServer stub;
+    private ExecutorService stubExecutor;
+    private ExecutorService callers;
+    private SimpleMeterRegistry meterRegistry;
+    private RagClassifier classifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubExecutor = Executors.newFixedThreadPool(4);
+        callers = Executors.newCachedThreadPool();
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+        stub.setExecutor(stubExecutor);
+        stub.createContext("/classify", exchange -> {
+            RagAnalysisRequest request = objectMapper.readValue(exchange.getRequestBody(), RagAnalysisRequest.class);
+            record("/classify", List.of(request.getText()));
+            respond(exchange, answer(request.getText(), false));
+        });
+        stub.createContext("/classify_batch", exchange -> {
+            RagBatchRequest request = objectMapper.readValue(exchange.getRequestBody(), RagBatchRequest.class);
+            record("/classify_batch", request.getTexts());
+            respond(exchange, new RagBatchResponse(request.getTexts().stream()
+                    .map(text -> answer(text, FAILING_TEXT.equals(text)))
+                    .toList()));
+        });
+        stub.start();
+        classifier = newClassifier();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        classifier.shutdown();
+        callers.shutdownNow();
+        stub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void queuedRequestsAreSentInBatchesOfMaxSize() throws Exception {
+        List<String> texts = List.of("민원 1", "민원 2", "민원 3", "민원 4", "민원 5", "민원 6");
+        List<Future<RagAnalysisResponse>> futures = queueBehindBlockedCall(texts);
+        for (Future<RagAnalysisResponse> future : futures) {
+            assertEquals("경찰청", future.get(10, TimeUnit.SECONDS).getAgencyName());
+        }
+
+        assertEquals(3, calls.size());
+        assertEquals(new Call("/classify", List.of("선행 민원")), calls.get(0));
+        assertEquals("/classify_batch", calls.get(1).path());
+        assertEquals(4, calls.get(1).texts().size());
+        assertEquals("/classify_batch", calls.get(2).path());
+        assertEquals(2, calls.get(2).texts().size());
+
+        Set<String> sent = new HashSet<>(calls.get(1).texts());
+        sent.addAll(calls.get(2).texts());
+        assertEquals(new HashSet<>(texts), sent);
+    }
+
+    @Test
+    void batchItemErrorFailsOnlyThatCallerAndIsNotCached() throws Exception {
+        List<Future<RagAnalysisResponse>> futures = queueBehindBlockedCall(List.of("민원 A", FAILING_TEXT, "민원 B"));
+
+        assertEquals("경찰청", futures.get(0).get(10, TimeUnit.SECONDS).getAgencyName());
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> futures.get(1).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(AiServiceException.class, failure.getCause());
+        assertEquals("경찰청", futures.get(2).get(10, TimeUnit.SECONDS).getAgencyName());
+        assertEquals(2, calls.size());
+        assertEquals(3, calls.get(1).texts().size());
+
+        // 실패 건은 캐시되지 않아 다시 요청하면 서버로 감
+        classifier.classify(FAILING_TEXT);
+        assertEquals(3, calls.size());
+        assertEquals(new Call("/classify", List.of(FAILING_TEXT)), calls.get(2));
+        assertEquals(1.0, meterRegistry.counter("ai.rag.batch.item.errors").count());
+    }
+
+    @Test
+    void normalizedTextIsServedFromCache() {
+        RagAnalysisResponse first = classifier.classify("도로에  포트홀이 생겼습니다");
+        RagAnalysisResponse second = classifier.classify("  도로에 포트홀이 생겼습니다\n");
+
+        assertEquals(first.getAgencyName(), second.getAgencyName());
+        assertEquals(List.of(new Call("/classify", List.of("도로에 포트홀이 생겼습니다"))), calls);
+        assertEquals(1.0, meterRegistry.counter("ai.rag.cache", "result", "hit").count());
+    }
+
+    @Test
+    void concurrentDuplicatesShareOneUpstreamCall() throws Exception {
+        int duplicates = 16;
+        gate = new CountDownLatch(1);
+        Future<RagAnalysisResponse> leader = callers.submit(() -> classifier.classify("가로등이 고장났습니다"));
+        assertTrue(arrived.await(10, TimeUnit.SECONDS));
+
+        List<Future<RagAnalysisResponse>> followers = new ArrayList<>();
+        for (int i = 0; i < duplicates; i++) {
+            followers.add(callers.submit(() -> classifier.classify("가로등이 고장났습니다")));
+        }
+        awaitUntil(() -> meterRegistry.counter("ai.rag.cache", "result", "coalesced").count() == duplicates);
+        gate.countDown();
+
+        assertEquals("경찰청", leader.get(10, TimeUnit.SECONDS).getAgencyName());
+        for (Future<RagAnalysisResponse> follower : followers) {
+            assertEquals("경찰청", follower.get(10, TimeUnit.SECONDS).getAgencyName());
+        }
+        assertEquals(1, calls.size());
+    }
+
+    /**
+     * 선행 요청 하나를 스텁에서 붙잡아 배치 슬롯을 막고, texts 가 모두 큐에 쌓인 뒤 풀어 줌
+     */
+    private List<Future<RagAnalysisResponse>> queueBehindBlockedCall(List<String> texts) throws Exception {
+        gate = new CountDownLatch(1);
+        callers.submit(() -> classifier.classify("선행 민원"));
+        assertTrue(arrived.await(10, TimeUnit.SECONDS));
+
+        List<Future<RagAnalysisResponse>> futures = new ArrayList<>();
+        for (String text : texts) {
+            futures.add(callers.submit(() -> classifier.classify(text)));
+        }
+        BlockingQueue<?> queue = (BlockingQueue<?>) ReflectionTestUtils.getField(classifier, "queue");
+        awaitUntil(() -> queue.size() == texts.size());
+        gate.countDown();
+        return futures;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new AssertionError("condition not reached");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private RagClassifier newClassifier() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("ai.rag.url", "http://127.0.0.1:" + stub.getAddress().getPort())
+                .withProperty("ai.rag.max-concurrent", "32")
+                .withProperty("ai.rag.acquire-timeout-ms", "30000")
+                .withProperty("ai.rag.read-timeout-ms", "30000");
+        meterRegistry = new SimpleMeterRegistry();
+
+        RagClassifier rag = new RagClassifier(new AiClientFactory(environment, meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(rag, "batchEnabled", true);
+        ReflectionTestUtils.setField(rag, "maxBatchSize", 4);
+        // 대기 없이 큐에 있는 만큼만 묶음 → 배치 구성은 큐 상태로만 결정
+        ReflectionTestUtils.setField(rag, "maxWaitMs", 0L);
+        ReflectionTestUtils.setField(rag, "maxInflight", 1);
+        ReflectionTestUtils.setField(rag, "queueCapacity", 100);
+        ReflectionTestUtils.setField(rag, "callerTimeoutMs", 30_000L);
+        ReflectionTestUtils.setField(rag, "cacheEntries", 100);
+        ReflectionTestUtils.setField(rag, "cacheTtlMs", 3_600_000L);
+        ReflectionTestUtils.setField(rag, "modelVersion", "test");
+        rag.init();
+        return rag;
+    }
+
+    private void record(String path, List<String> texts) {
+        calls.add(new Call(path, List.copyOf(texts)));
+        arrived.countDown();
+        try {
+            gate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RagAnalysisResponse answer(String text, boolean failed) {
+        if (failed) {
+            return RagAnalysisResponse.builder()
+                    .agencyCode(0)
+                    .agencyName("")
+                    .message("Error")
+                    .error("milvus search failed")
+                    .build();
+        }
+        return RagAnalysisResponse.builder()
+                .agencyCode(1)
+                .agencyName("경찰청")
+                .category("교통")
+                .confidence(0.9)
+                .message("Success")
+                .build();
+    }
+
+    private void respond(HttpExchange exchange, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.safeguard.service.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * SSE 연결 레지스트리 부하 측정 (기본 test 에서 제외, ./gradlew loadTest 로 실행)
+ * - 5만 연결 등록 시 연결당 힙 사용량(SseEmitter 포함)과 유휴 연결 하트비트 순회 비용을 로그로 기록
+ * - 힙 측정값은 GC 시점에 따라 흔들리므로 검증하지 않고, 등록/해제/하트비트 적재 수만 검증
+ */
+@Tag("load")
+class SseConnectionManagerLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SseConnectionManagerLoadTest.class);
+
+    private static final int CONNECTIONS = 50_000;
+    // 사용자당 평균 탭 수 (1.25개)
+    private static final int USERS = 40_000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SseDispatcher dispatcher;
+    private SseConnectionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        dispatcher = new SseDispatcher(meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 64);
+        ReflectionTestUtils.setField(dispatcher, "dispatchThreads", 1);
+        ReflectionTestUtils.setField(dispatcher, "maxConsecutiveDrops", 16);
+        ReflectionTestUtils.setField(dispatcher, "stallTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(dispatcher, "sendThreads", 4);
+        dispatcher.init();
+
+        manager = new SseConnectionManager(dispatcher, meterRegistry);
+        ReflectionTestUtils.setField(manager, "timeoutMs", 1_800_000L);
+        ReflectionTestUtils.setField(manager, "timeoutJitter", 0.2);
+        // 테스트 중 스케줄러가 돌지 않도록 충분히 길게
+        ReflectionTestUtils.setField(manager, "heartbeatIntervalMs", 3_600_000L);
+        manager.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void perConnectionFootprint() {
+        List<SseConnection> holder = new ArrayList<>(CONNECTIONS);
+        long before = usedHeap();
+
+        for (int i = 0; i < CONNECTIONS; i++) {
+            holder.add(manager.create((long) (i % USERS)));
+        }
+
+        long after = usedHeap();
+        log.info("[SSE load] connections={}, users={}, ~{} bytes/connection", manager.connectionCount(), USERS,
+                (after - before) / CONNECTIONS);
+        assertEquals(CONNECTIONS, manager.connectionCount());
+
+        // 해제 시 레지스트리에서 모두 제거되는지 확인
+        for (SseConnection connection : holder) {
+            dispatcher.release(connection);
+        }
+        assertEquals(0, manager.connectionCount());
+    }
+
+    @Test
+    void heartbeatSweepOverIdleConnections() throws InterruptedException {
+        for (int i = 0; i < CONNECTIONS; i++) {
+            manager.create((long) (i % USERS));
+        }
+        // 스케줄러는 이미 긴 주기로 예약됨 → 순회 판단 기준만 줄여 모든 연결을 유휴 상태로 만듦
+        ReflectionTestUtils.setField(manager, "heartbeatIntervalMs", 1L);
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        long sweepStart = System.nanoTime();
+        manager.sendHeartbeats();
+        long sweepMicros = (System.nanoTime() - sweepStart) / 1_000;
+
+        log.info("[SSE load] idle connections={}, heartbeat sweep={}us", CONNECTIONS, sweepMicros);
+        assertEquals(CONNECTIONS, (long) meterRegistry.counter("notification.sse.heartbeats").count());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,193 @@
+package com.safeguard.service.storage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * S3 업로드 테스트 (로컬 S3 호환 서버 필요, 미설정 시 건너뜀)
+ * - docker compose up minio 후 S3_TEST_ENDPOINT=http://localhost:9000 (계정 기본값 minioadmin)
+ * - 단일 PUT / 병렬 멀티파트 업로드 결과를 다시 내려받아 비교, 업로드 메트릭 기록 확인
+ * - presigned PUT: 백엔드 없이 올린 객체 확인, 서명한 체크섬과 다른 본문은 거부
+ */
+@EnabledIfEnvironmentVariable(named = "S3_TEST_ENDPOINT", matches = ".+")
+class S3StorageServiceTest {
+
+    private static final String BUCKET = "safeguard-test";
+
+    private final String endpoint = System.getenv("S3_TEST_ENDPOINT");
+    private S3Client s3Client;
+    private S3Presigner s3Presigner;
+    private SimpleMeterRegistry meterRegistry;
+    private S3StorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        StaticCredentialsProvider credentials = StaticCredentialsProvider.create(AwsBasicCredentials.create(
+                env("S3_TEST_ACCESS_KEY", "minioadmin"), env("S3_TEST_SECRET_KEY", "minioadmin")));
+        s3Client = S3Client.builder()
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.AP_NORTHEAST_2)
+                .forcePathStyle(true)
+                .credentialsProvider(credentials)
+                .build();
+        s3Presigner = S3Presigner.builder()
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.AP_NORTHEAST_2)
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .credentialsProvider(credentials)
+                .build();
+        try {
+            s3Client.createBucket(b -> b.bucket(BUCKET));
+        } catch (BucketAlreadyOwnedByYouException ignored) {
+            // 이전 실행에서 생성됨
+        }
+
+        meterRegistry = new SimpleMeterRegistry();
+        storage = new S3StorageService(s3Client, s3Presigner, meterRegistry);
+        ReflectionTestUtils.setField(storage, "bucket", BUCKET);
+        ReflectionTestUtils.setField(storage, "publicBaseUrl", "");
+        ReflectionTestUtils.setField(storage, "multipartThreshold", 8L * 1024 * 1024);
+        ReflectionTestUtils.setField(storage, "partSize", 5 * 1024 * 1024);
+        ReflectionTestUtils.setField(storage, "parallelism", 4);
+        storage.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.shutdown();
+        s3Presigner.close();
+        s3Client.close();
+    }
+
+    @Test
+    void smallObjectIsSinglePutWithDeterministicUrl() {
+        byte[] content = randomBytes(200 * 1024);
+        String key = UUID.randomUUID() + ".jpg";
+
+        String url = storage.put(key, content, "image/jpeg");
+
+        assertEquals(endpoint + "/" + BUCKET + "/" + key, url);
+        assertArrayEquals(content, s3Client.getObjectAsBytes(b -> b.bucket(BUCKET).key(key)).asByteArray());
+        assertEquals("image/jpeg", s3Client.headObject(b -> b.bucket(BUCKET).key(key)).contentType());
+        assertEquals(1, meterRegistry.get("storage.upload").tag("method", "single").timer().count());
+    }
+
+    @Test
+    void largeObjectIsParallelMultipart() {
+        byte[] content = randomBytes(23 * 1024 * 1024);
+        String key = UUID.randomUUID() + ".bin";
+
+        storage.put(key, new ByteArrayInputStream(content), content.length, "application/octet-stream");
+
+        assertArrayEquals(content, s3Client.getObjectAsBytes(b -> b.bucket(BUCKET).key(key)).asByteArray());
+        assertEquals(1, meterRegistry.get("storage.upload").tag("method", "multipart").timer().count());
+        DistributionSummary throughput = meterRegistry.get("storage.upload.throughput").summary();
+        assertEquals(1, throughput.count());
+    }
+
+    @Test
+    void publicBaseUrlOverridesEndpoint() {
+        ReflectionTestUtils.setField(storage, "publicBaseUrl", "https://cdn.example.com/");
+        assertEquals("https://cdn.example.com/a%20b/c.jpg", storage.urlFor("a b/c.jpg"));
+    }
+
+    @Test
+    void presignedPutUploadsWithoutBackendAndVerifiesChecksum() throws Exception {
+        byte[] content = randomBytes(300 * 1024);
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        String key = sha256 + ".jpg";
+
+        assertNull(storage.head(key));
+        PresignedPutObjectRequest presigned = storage.presignPut(key, "image/jpeg", content.length, sha256,
+                Duration.ofMinutes(5));
+        assertEquals(200, browserPut(presigned, content));
+
+        HeadObjectResponse head = storage.head(key);
+        assertNotNull(head);
+        assertEquals(content.length, head.contentLength());
+        assertArrayEquals(content, s3Client.getObjectAsBytes(b -> b.bucket(BUCKET).key(key)).asByteArray());
+    }
+
+    @Test
+    void readPrefixReturnsLeadingBytesOnly() {
+        byte[] content = randomBytes(64 * 1024);
+        String key = UUID.randomUUID() + ".jpg";
+        storage.put(key, content, "image/jpeg");
+
+        assertArrayEquals(Arrays.copyOf(content, 16), storage.readPrefix(key, 16));
+    }
+
+    @Test
+    void presignedPutRejectsDifferentContent() throws Exception {
+        byte[] content = randomBytes(64 * 1024);
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        String key = UUID.randomUUID() + ".jpg";
+        PresignedPutObjectRequest presigned = storage.presignPut(key, "image/jpeg", content.length, sha256,
+                Duration.ofMinutes(5));
+
+        byte[] tampered = content.clone();
+        tampered[0] ^= 1;
+        int status = browserPut(presigned, tampered);
+
+        assertTrue(status >= 400, "status=" + status);
+        assertNull(storage.head(key));
+    }
+
+    /**
+     * 브라우저와 같은 방식으로 PUT (서명 헤더 그대로, Host/Content-Length 는 클라이언트가 설정)
+     */
+    private static int browserPut(PresignedPutObjectRequest presigned, byte[] body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(presigned.url().toURI())
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(body));
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("host") && !name.equalsIgnoreCase("content-length")) {
+                request.header(name, String.join(",", values));
+            }
+        });
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
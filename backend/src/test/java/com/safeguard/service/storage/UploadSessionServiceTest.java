@@ -0,0 +1,46 @@
+package com.safeguard.service.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 직접 업로드 완료 시 형식 확인 (파일 앞부분 시그니처)
+ */
+class UploadSessionServiceTest {
+
+    @Test
+    void sniffsAllowedImageSignatures() {
+        assertEquals("image/jpeg", UploadSessionService.sniffImageType(bytes(0xFF, 0xD8, 0xFF, 0xE0, 0, 0x10)));
+        assertEquals("image/png",
+                UploadSessionService.sniffImageType(bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0)));
+        assertEquals("image/gif", UploadSessionService.sniffImageType(ascii("GIF89a\u0001\u0000")));
+        assertEquals("image/webp", UploadSessionService.sniffImageType(ascii("RIFF\u0000\u0000\u0000\u0000WEBPVP8 ")));
+        assertEquals("image/heic", UploadSessionService.sniffImageType(ascii("\u0000\u0000\u0000\u0018ftypheic")));
+        assertEquals("image/heif", UploadSessionService.sniffImageType(ascii("\u0000\u0000\u0000\u0018ftypmif1")));
+    }
+
+    @Test
+    void rejectsNonImageContent() {
+        assertNull(UploadSessionService.sniffImageType(ascii("<svg xmlns=\"http://www.w3.org/2000/svg\">")));
+        assertNull(UploadSessionService.sniffImageType(ascii("%PDF-1.7\n")));
+        assertNull(UploadSessionService.sniffImageType(ascii("\u0000\u0000\u0000\u0018ftypisom")));
+        assertNull(UploadSessionService.sniffImageType(bytes(0xFF, 0xD8)));
+        assertNull(UploadSessionService.sniffImageType(new byte[0]));
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] out = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = (byte) values[i];
+        }
+        return out;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -161,6 +161,12 @@ const getTitleAndDesc = (notif: Notification) => {
         description = "";
     }
 
+    // Coalesced digest: "latest | ... | oldest" events for the same complaint
+    const digestCount = (notif.message || "").split(" | ").length;
+    if (digestCount > 1) {
+        description = `${description} (이 민원의 알림 ${digestCount}건)`.trim();
+    }
+
     return { title, description };
 };
 
@@ -233,7 +233,7 @@ function ApplyImage() {
                 content: formData.content,
                 isPublic: formData.isPublic,
                 location: formData.location,
-                imagePath: imagePath, // 저장된 경로 전달
+                imagePath: imagePath, // 저장된 경로 전달 (축소본 경로는 서버가 저장소 기록에서 찾음)
                 agencyName: aiResult?.agency || null
             };
 
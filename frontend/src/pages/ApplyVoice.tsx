@@ -62,6 +62,7 @@ function ApplyVoice() {
     const mediaRecorderRef = useRef(null);
     const chunksRef = useRef([]);
     const recognitionRef = useRef(null);
+    const streamRef = useRef<any>(null); // 스트리밍 음성 인식 세션 (녹음 조각 전송 + 부분 결과 SSE)
 
     /** 녹음 타이머 */
     useEffect(() => {
@@ -122,6 +123,11 @@ function ApplyVoice() {
         recognitionRef.current = recognition;
     }, []);
 
+    /** 페이지 이탈 시 진행 중인 스트리밍 세션 취소 */
+    useEffect(() => {
+        return () => streamRef.current?.cancel();
+    }, []);
+
     /** 🎤 녹음 시작 / 종료 */
     const handleToggleRecord = async () => {
         if (isRecording) {
@@ -150,10 +156,22 @@ function ApplyVoice() {
             chunksRef.current = [];
 
             mediaRecorder.ondataavailable = (e) => {
-                if (e.data.size > 0) chunksRef.current.push(e.data);
+                if (e.data.size > 0) {
+                    chunksRef.current.push(e.data);
+                    // 스트리밍 세션이면 조각을 바로 서버로 전달
+                    streamRef.current?.send(e.data);
+                }
             };
 
             mediaRecorder.onstop = async () => {
+                if (streamRef.current) {
+                    // 스트리밍 세션: 마지막 구간 인식 + 기관 분류 결과는 final 이벤트로 수신
+                    setIsTranscribing(true);
+                    streamRef.current.finish();
+                    stream.getTracks().forEach(t => t.stop());
+                    return;
+                }
+
                 const audioBlob = new Blob(chunksRef.current, { type: options.mimeType || 'audio/wav' });
 
                 // [UX fix] 텍스트가 비어있거나(무음/필터링됨), 공백뿐이라면 서버 요청 스킵
@@ -204,8 +222,36 @@ function ApplyVoice() {
             const currentContent = formData.content || '';
             accumulatedTextRef.current = currentContent + (currentContent && !currentContent.endsWith(' ') ? ' ' : '');
 
-            mediaRecorder.start();
-            if (recognitionRef.current) {
+            // 스트리밍 인식 세션 시작 (실패 시 기존 방식: 브라우저 미리보기 + 녹음 종료 후 파일 업로드)
+            const baseText = accumulatedTextRef.current;
+            try {
+                streamRef.current = await sttAPI.openStream(options.mimeType || mediaRecorder.mimeType || 'audio/webm', {
+                    onPartial: (text) => {
+                        const fullText = baseText + text;
+                        setPreviewText(fullText);
+                        previewTextRef.current = fullText;
+                        setFormData(prev => ({ ...prev, content: fullText }));
+                    },
+                    onFinal: (result) => {
+                        const finalText = result?.original_text || result?.stt_text || '';
+                        setFormData(prev => ({ ...prev, content: baseText + finalText }));
+                        setIsTranscribing(false);
+                        streamRef.current = null;
+                    },
+                    onError: (message) => {
+                        setIsTranscribing(false);
+                        streamRef.current = null;
+                        showAlert('오류', '음성 인식에 실패했습니다: ' + message);
+                    }
+                });
+            } catch (err) {
+                console.warn('STT stream unavailable, falling back to upload:', err);
+                streamRef.current = null;
+            }
+
+            // 스트리밍 시 250ms 단위로 조각 생성
+            mediaRecorder.start(streamRef.current ? 250 : undefined);
+            if (recognitionRef.current && !streamRef.current) {
                 // [Fix] 중요: 세션이 새로 시작되므로 브라우저 내부 상태 초기화됨
                 // 따라서 accumulatedTextRef를 위에서 동기화해주는 것이 핵심
                 recognitionRef.current.start();
@@ -537,7 +537,7 @@ function Detail() {
                         {/* Complaint Content Grid */}
                         <div style={{ display: 'grid', gridTemplateColumns: '1fr 1.5fr', gap: '40px', marginBottom: '60px' }}>
                             <div style={{ width: '100%', aspectRatio: '4/3', backgroundColor: '#f8fafc', borderRadius: '16px', overflow: 'hidden', border: '1px solid #f1f5f9', display: 'flex', alignItems: 'center', justifyContent: 'center' }}>
-                                <ImageDisplay src={report.imagePath} />
+                                <ImageDisplay src={report.detailPath || report.imagePath} />
                             </div>
 
                             <div>
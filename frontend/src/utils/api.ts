@@ -120,6 +120,30 @@ export const authAPI = {
     getMe: () => apiRequest('/auth/me'),
 };
 
+/**
+ * 저장소 직접 업로드 (백엔드는 URL 발급/검증만 하고 이미지 본문은 거치지 않음)
+ * - SHA-256 계산에 crypto.subtle 필요 (https 또는 localhost), 없으면 null → 서버 경유 업로드
+ * - 같은 사진이 이미 저장되어 있으면 업로드 없이 경로만 받음 (status: STORED)
+ */
+const uploadImageDirect = async (file: File) => {
+    if (!window.crypto?.subtle || !file.type) return null;
+
+    const digest = await crypto.subtle.digest('SHA-256', await file.arrayBuffer());
+    const sha256 = Array.from(new Uint8Array(digest)).map((b) => b.toString(16).padStart(2, '0')).join('');
+
+    const session = await apiRequest('/complaints/images/sessions', {
+        method: 'POST',
+        body: JSON.stringify({ filename: file.name, contentType: file.type, size: file.size, sha256 }),
+    });
+    if (session.status === 'STORED') return session;
+
+    // 서명된 헤더(Content-Type, 체크섬)를 그대로 실어야 저장소가 받아들임
+    const put = await fetch(session.uploadUrl, { method: session.method, headers: session.headers, body: file });
+    if (!put.ok) throw new Error(`저장소 업로드 실패 (${put.status})`);
+
+    return apiRequest(`/complaints/images/sessions/${session.uploadId}/complete`, { method: 'POST' });
+};
+
 /**
  * 민원(Complaints) 처리 관련 API
  */
@@ -259,8 +283,15 @@ export const complaintsAPI = {
         body: JSON.stringify({ answer }),
     }),
 
-    // 이미지 단독 업로드 (경로 반환)
+    // 이미지 단독 업로드 (경로 반환): 저장소 직접 업로드 우선, 실패 시 서버 경유 업로드
     uploadImage: async (file: File) => {
+        try {
+            const direct = await uploadImageDirect(file);
+            if (direct) return direct;
+        } catch (e) {
+            console.warn('[이미지 업로드] 직접 업로드 실패, 서버 경유 업로드로 전환:', e);
+        }
+
         const formData = new FormData();
         formData.append('image', file);
 
@@ -366,6 +397,82 @@ export const sttAPI = {
         const data = await response.json();
         if (!response.ok) throw new Error(data.message || '음성 인식 실패');
         return data;
+    },
+
+    /**
+     * 스트리밍 음성 인식 세션 시작
+     * - send: 녹음 조각을 도착 순서대로 백엔드에 전달 (이전 전송이 끝난 뒤 다음 조각 전송)
+     *   서버가 지연 중(503)이면 같은 seq 로 잠시 후 재전송 (최대 CHUNK_RETRIES 회)
+     * - finish: 녹음 종료 알림 → 서버가 남은 구간 인식 후 final 이벤트 전송
+     * - 부분 인식 결과(partial)와 최종 결과(final)는 SSE 로 수신
+     */
+    openStream: async (mimeType: string, handlers: {
+        onPartial?: (text: string) => void;
+        onFinal?: (result: any) => void;
+        onError?: (message: string) => void;
+    }) => {
+        const response = await fetch(`${API_BASE}/voice/stream?contentType=${encodeURIComponent(mimeType)}`, {
+            method: 'POST'
+        });
+        const data = await response.json().catch(() => ({}));
+        if (!response.ok || !data.sessionId) throw new Error(data.message || '음성 스트림 시작 실패');
+
+        const base = `${API_BASE}/voice/stream/${data.sessionId}`;
+        const events = new EventSource(`${base}/events`);
+        let done = false;
+        const fail = (message: string) => {
+            if (done) return;
+            done = true;
+            events.close();
+            handlers.onError?.(message);
+        };
+
+        events.addEventListener('partial', (e) => handlers.onPartial?.(JSON.parse((e as MessageEvent).data).text));
+        events.addEventListener('final', (e) => {
+            done = true;
+            events.close();
+            handlers.onFinal?.(JSON.parse((e as MessageEvent).data));
+        });
+        events.addEventListener('error', (e) => {
+            // 서버가 보낸 error 이벤트만 처리 (연결 끊김은 EventSource 가 자동 재연결, 결과는 서버가 재전송)
+            const payload = (e as MessageEvent).data;
+            if (payload) fail(JSON.parse(payload).message || '음성 인식 실패');
+            else if (events.readyState === EventSource.CLOSED) fail('음성 인식 연결이 끊어졌습니다.');
+        });
+
+        const CHUNK_RETRIES = 3;
+        let seq = 0;
+        let chain: Promise<void> = Promise.resolve();
+        const post = (body: Blob, last: boolean) => {
+            const current = seq++;
+            chain = chain
+                .then(async () => {
+                    for (let attempt = 0; ; attempt++) {
+                        if (done) return;
+                        const res = await fetch(`${base}/chunks?seq=${current}&last=${last}`, {
+                            method: 'POST',
+                            body,
+                            headers: { 'Content-Type': 'application/octet-stream' }
+                        });
+                        if (res.ok) return;
+                        // 503: 업스트림 전송 대기열이 가득 참 → 조각은 반영되지 않았으므로 같은 seq 로 재전송
+                        if (res.status !== 503 || attempt >= CHUNK_RETRIES) throw new Error('음성 전송 실패');
+                        await new Promise((resolve) => setTimeout(resolve, 500 * (attempt + 1)));
+                    }
+                })
+                .catch((err) => fail(err.message));
+            return chain;
+        };
+
+        return {
+            send: (chunk: Blob) => post(chunk, false),
+            finish: () => post(new Blob([]), true),
+            cancel: () => {
+                done = true;
+                events.close();
+                fetch(base, { method: 'DELETE' }).catch(() => undefined);
+            }
+        };
     }
 };
 
@@ -37,6 +37,10 @@ ON complaint(is_public, status, created_date DESC);
 CREATE INDEX IF NOT EXISTS idx_complaint_user_created_desc
 ON complaint(user_no, created_date DESC);
 
+-- (선택) 지도 사이드 목록 keyset 페이지네이션: (created_date, complaint_no) 순서 그대로 스캔
+CREATE INDEX IF NOT EXISTS idx_complaint_created_no_desc
+ON complaint(created_date DESC, complaint_no DESC);
+
 -- 4) complaint_like: UNIQUE(complaint_no, user_no)는 인덱스가 이미 생김.
 -- 하지만 "특정 유저가 누른 좋아요/싫어요 목록", "민원별 좋아요 목록"도 흔함
 CREATE INDEX IF NOT EXISTS idx_complaint_like_user_no ON complaint_like(user_no);
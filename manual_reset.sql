@@ -10,7 +10,11 @@ DROP TABLE IF EXISTS complaint_agency CASCADE;
 DROP TABLE IF EXISTS complaint CASCADE;
 DROP TABLE IF EXISTS app_user CASCADE;
 DROP TABLE IF EXISTS agency CASCADE;
+DROP TABLE IF EXISTS notification_unread_summary CASCADE;
 DROP TABLE IF EXISTS notification CASCADE;
+DROP TABLE IF EXISTS yolo_result_cache CASCADE;
+DROP TABLE IF EXISTS stored_object CASCADE;
+DROP TABLE IF EXISTS upload_session CASCADE;
 
 -- 2. 테이블 재생성
 
@@ -47,6 +51,8 @@ CREATE TABLE complaint (
     latitude DOUBLE PRECISION,
     longitude DOUBLE PRECISION,
     image_path VARCHAR(500),
+    detail_path VARCHAR(500),
+    thumbnail_path VARCHAR(500),
     analysis_result JSONB,
     status VARCHAR(20) NOT NULL DEFAULT 'UNPROCESSED',
     is_public BOOLEAN NOT NULL DEFAULT TRUE,
@@ -55,9 +61,20 @@ CREATE TABLE complaint (
     completed_date TIMESTAMPTZ,
     user_no BIGINT NOT NULL REFERENCES app_user(user_no) ON DELETE CASCADE,
     like_count INTEGER DEFAULT 0,
-    answer TEXT
+    answer TEXT,
+    -- 접수 후 비동기 처리 상태 (ACCEPTED, PROCESSING, COMPLETED, FAILED)
+    processing_state VARCHAR(20) NOT NULL DEFAULT 'COMPLETED',
+    processing_error VARCHAR(500),
+    processing_updated_at TIMESTAMPTZ,
+    -- 첨부 이미지가 아직 업로드되지 않음 (보관본 image_staging_path 로 복구, 보관본이 없으면 재첨부 필요)
+    image_pending BOOLEAN NOT NULL DEFAULT FALSE,
+    image_staging_path VARCHAR(500)
 );
 
+CREATE INDEX idx_complaint_processing_pending
+    ON complaint(processing_updated_at)
+    WHERE processing_state IN ('ACCEPTED', 'PROCESSING');
+
 -- Complaint Like (좋아요 / 싫어요)
 CREATE TABLE complaint_like (
     like_id BIGSERIAL PRIMARY KEY,
@@ -152,7 +169,7 @@ SELECT 'Reset Complete' as status;
 -- ================================
 
 CREATE TABLE notification (
-    notification_id BIGSERIAL PRIMARY KEY,
+    notification_id BIGSERIAL,
 
     -- 알림 수신자 (민원 작성자)
     user_no BIGINT NOT NULL
@@ -177,16 +194,88 @@ CREATE TABLE notification (
     -- 읽은 시각
     read_at TIMESTAMPTZ,
 
-    -- 알림 생성 시각
-    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
+    -- 알림 생성 시각 (파티션 키)
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
 
--- 조회 성능을 위한 인덱스
-CREATE INDEX idx_notification_user_no
-    ON notification(user_no);
+    PRIMARY KEY (notification_id, created_at)
+) PARTITION BY RANGE (created_at);
 
-CREATE INDEX idx_notification_user_no_is_read
-    ON notification(user_no, is_read);
+-- 일 단위 파티션 (UTC). 이후 생성/만료는 백엔드 NotificationPartitionManager 가 담당
+DO $$
+DECLARE
+    d DATE := (NOW() AT TIME ZONE 'UTC')::date - 3;
+BEGIN
+    WHILE d <= (NOW() AT TIME ZONE 'UTC')::date + 7 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF notification FOR VALUES FROM (%L) TO (%L)',
+            'notification_p' || to_char(d, 'YYYYMMDD'),
+            d::timestamp AT TIME ZONE 'UTC',
+            (d + 1)::timestamp AT TIME ZONE 'UTC');
+        d := d + 1;
+    END LOOP;
+END $$;
+
+-- 조회 성능을 위한 인덱스 (목록/미확인 수는 (user_no, created_at) 로 파티션 내 index-only)
+CREATE INDEX idx_notification_user_created
+    ON notification(user_no, created_at DESC) INCLUDE (is_read);
 
 CREATE INDEX idx_notification_complaint_no
     ON notification(complaint_no);
+
+CREATE INDEX idx_notification_unread_user_created
+    ON notification(user_no, created_at)
+    WHERE is_read = false;
+
+-- 사용자별 미확인 알림 수 (배지용 요약, 백엔드가 증감 + 주기적 재계산)
+CREATE TABLE notification_unread_summary (
+    user_no BIGINT PRIMARY KEY
+        REFERENCES app_user(user_no)
+        ON DELETE CASCADE,
+    unread_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- YOLO 분석 결과 캐시 (이미지 SHA-256 기준, 모델 원본 결과만 저장)
+CREATE TABLE yolo_result_cache (
+    image_hash CHAR(64) PRIMARY KEY,
+    model_version VARCHAR(50) NOT NULL,
+    result_type VARCHAR(100) NOT NULL,
+    result_agency VARCHAR(200),
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_yolo_result_cache_created ON yolo_result_cache(created_at);
+
+-- 업로드 파일 저장소 (원본 SHA-256 기준 중복 제거, ref_count = 참조하는 민원 수)
+CREATE TABLE stored_object (
+    content_hash CHAR(64) PRIMARY KEY,
+    object_key VARCHAR(200) NOT NULL,
+    image_path VARCHAR(500) NOT NULL,
+    detail_path VARCHAR(500),
+    thumbnail_path VARCHAR(500),
+    size_bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_uploaded_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx_stored_object_image_path ON stored_object(image_path);
+CREATE INDEX idx_stored_object_unreferenced ON stored_object(last_uploaded_at) WHERE ref_count = 0;
+CREATE INDEX idx_complaint_image_path ON complaint(image_path) WHERE image_path IS NOT NULL;
+
+-- 브라우저 직접 업로드 세션 (presigned PUT, 완료 시 크기/체크섬 확인 후 stored_object 등록)
+CREATE TABLE upload_session (
+    upload_id VARCHAR(36) PRIMARY KEY,
+    user_no BIGINT,
+    content_hash CHAR(64) NOT NULL,
+    object_key VARCHAR(200) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMPTZ NOT NULL,
+    completed_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_upload_session_pending_expires ON upload_session(expires_at) WHERE status = 'PENDING';
+CREATE INDEX idx_upload_session_hash ON upload_session(content_hash);